@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# CDS(Class Data Sharing) 아카이브 만들기. 한 번 만들어 두면 클래스 로딩/검증을 건너뛰어 시작이 빨라진다.
+#
+#   ./gradlew bootJar && scripts/cds-train.sh
+#   java -XX:SharedArchiveFile=build/cds/app.jsa -Dspring.profiles.active=faststart -jar build/cds/app.jar
+#
+# - 학습 실행은 컨텍스트를 띄운 뒤(onRefresh) 바로 끝난다. 시작 시 대기열 복구 쿼리가 돌므로 DB 접속 설정이 필요하다.
+# - 아카이브는 JDK 버전 / jar 내용에 묶여 있으니 빌드할 때마다 다시 만든다.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+JAR=${JAR:-$(ls build/libs/*.jar | grep -v -- '-plain' | head -1)}
+OUT=build/cds
+PROFILES=${PROFILES:-faststart}
+
+rm -rf "$OUT"
+# Spring Boot 3.3+: 실행 가능한 jar를 CDS에 맞는 구조(app.jar + lib/)로 풀기
+java -Djarmode=tools -jar "$JAR" extract --destination "$OUT" --application-filename app.jar
+
+echo "CDS 학습 실행 (profiles=$PROFILES)"
+java -XX:ArchiveClassesAtExit="$OUT/app.jsa" \
+     -Dspring.context.exit=onRefresh \
+     -Dspring.profiles.active="$PROFILES" \
+     -jar "$OUT/app.jar"
+
+ls -lh "$OUT/app.jsa"
@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+# 시작 시간 측정: 서버 프로세스를 새로 띄워서 GET /api/me 첫 성공 응답까지 걸린 시간(JVM 시작 포함)을 잰다.
+#
+#   scripts/startup-bench.sh [default|faststart|cds] [횟수=5]
+#
+# - default: 기본 설정 / faststart: faststart 프로필 / cds: faststart + CDS 아카이브 (scripts/cds-train.sh 먼저)
+# - ME_COOKIE="JSESSIONID=..." 를 주면 200 응답을 성공으로 본다. 세션을 디스크에 저장(server.servlet.session.persistent)하므로
+#   한 번 띄운 상태에서 브라우저로 http://localhost:$PORT 에 로그인하고 쿠키를 복사해 두면 재시작 후에도 그대로 쓸 수 있다.
+#   쿠키가 없으면 로그인 리다이렉트(302/401)라도 응답이 오면 성공으로 본다 (보안 필터까지만 측정).
+# - DB 등 접속 설정은 평소 실행과 같다 (application.properties / 환경 변수).
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+MODE=${1:-default}
+RUNS=${2:-5}
+PORT=${PORT:-8080}
+JAR=${JAR:-$(ls build/libs/*.jar | grep -v -- '-plain' | head -1)}
+WORK=build/startup-bench
+mkdir -p "$WORK/sessions"
+
+JAVA_OPTS=()
+APP_JAR="$JAR"
+case "$MODE" in
+  default)   ;;
+  faststart) JAVA_OPTS+=(-Dspring.profiles.active=faststart) ;;
+  cds)       [[ -f build/cds/app.jsa ]] || { echo "build/cds/app.jsa 없음: scripts/cds-train.sh 먼저 실행" >&2; exit 1; }
+             JAVA_OPTS+=(-XX:SharedArchiveFile=build/cds/app.jsa -Dspring.profiles.active=faststart)
+             APP_JAR=build/cds/app.jar ;;
+  *)         echo "모드: default | faststart | cds" >&2; exit 1 ;;
+esac
+
+if [[ -n "${ME_COOKIE:-}" ]]; then ok='^200$'; else ok='^[1-5][0-9][0-9]$'; fi
+
+now_ms() { date +%s%3N; }
+
+results=()
+for i in $(seq 1 "$RUNS"); do
+  log="$WORK/run-$MODE-$i.log"
+  start=$(now_ms)
+  java "${JAVA_OPTS[@]}" \
+       -Dserver.port="$PORT" \
+       -Dserver.servlet.session.persistent=true \
+       -Dserver.servlet.session.store-dir="$WORK/sessions" \
+       -jar "$APP_JAR" > "$log" 2>&1 &
+  pid=$!
+
+  elapsed=""
+  while kill -0 "$pid" 2>/dev/null; do
+    code=$(curl -s -o /dev/null -w '%{http_code}' --max-time 2 \
+           ${ME_COOKIE:+-H "Cookie: $ME_COOKIE"} "http://localhost:$PORT/api/me" || true)
+    if [[ "$code" =~ $ok ]]; then
+      elapsed=$(( $(now_ms) - start ))
+      break
+    fi
+    sleep 0.05
+  done
+
+  started=$(grep -o 'Started GamePotApplication in [0-9.]* seconds' "$log" | grep -o '[0-9.]*' | head -1 || true)
+  kill "$pid" 2>/dev/null || true   # SIGTERM: 세션 저장 후 종료
+  wait "$pid" 2>/dev/null || true
+
+  if [[ -z "$elapsed" ]]; then
+    echo "[$MODE #$i] 서버가 응답 전에 종료됨. 로그: $log" >&2
+    exit 1
+  fi
+  echo "[$MODE #$i] 첫 /api/me 응답(${code}): ${elapsed}ms  (Spring 로그 기준 시작: ${started:-?}s)"
+  results+=("$elapsed")
+done
+
+sorted=($(printf '%s\n' "${results[@]}" | sort -n))
+echo "[$MODE] 중앙값 ${sorted[$(( RUNS / 2 ))]}ms, 최소 ${sorted[0]}ms, 최대 ${sorted[$(( RUNS - 1 ))]}ms (${RUNS}회)"
@@ -0,0 +1,70 @@
+package pbl_game_pot.game_pot.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pbl_game_pot.game_pot.service.GameIndex;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 게임 인덱스: 자동완성(트라이), 접두어/오타 검색, 확정(resolve).
+ * 카탈로그 크기는 내장 목록 수준(1k)부터 스팀 전체 앱 목록 수준(200k)까지.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameIndexBenchmark {
+
+    @Param({"1000", "200000"})
+    public int catalogSize;
+
+    private GameIndex index;
+
+    @Setup
+    public void setUp() {
+        GameIndex.Builder builder = GameIndex.builder()
+                .add(578080L, "PUBG: BATTLEGROUNDS", "배그", "배틀그라운드")
+                .add(1245620L, "ELDEN RING", "엘든링")
+                .add(1966720L, "Lethal Company", "리썰", "리썰컴퍼니");
+        Random random = new Random(42);
+        for (int i = 0; i < catalogSize; i++) {
+            builder.add(10_000_000L + i, randomName(random));
+        }
+        index = builder.build();
+    }
+
+    private static String randomName(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int words = 1 + random.nextInt(3);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) sb.append(' ');
+            int len = 3 + random.nextInt(7);
+            for (int c = 0; c < len; c++) sb.append((char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public List<GameIndex.Hit> suggestShortPrefix() {
+        return index.suggest("le", 8);
+    }
+
+    @Benchmark
+    public List<GameIndex.Hit> suggestLongPrefix() {
+        return index.suggest("lethal comp", 8);
+    }
+
+    @Benchmark
+    public List<GameIndex.Hit> searchWithTypo() {
+        return index.search("elden rnig", 8);
+    }
+
+    @Benchmark
+    public GameIndex.Entry resolveKoreanAlias() {
+        return index.resolve("배그");
+    }
+}
@@ -0,0 +1,80 @@
+package pbl_game_pot.game_pot.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+import pbl_game_pot.game_pot.db.GameAliasRepository;
+import pbl_game_pot.game_pot.service.GameIndexService;
+import pbl_game_pot.game_pot.service.SteamApiService;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 게임 이름 → 스팀 게임 찾기 경로. HTTP 계층은 바로 응답하는 stub이라 순수하게 우리 코드 비용만 잰다.
+ *
+ * - cachedHit: 1차 캐시 적중 (대부분의 /api/match/start)
+ * - missResolvedBySteam: 매번 새 이름 → 캐시 miss → 인덱스/별명 테이블 miss → (stub) 스팀 응답 파싱
+ * - normalize: 입력 정규화
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameNameResolutionBenchmark {
+
+    private static final String STEAM_JSON = "{\"total\":1,\"items\":[{\"id\":578080,\"name\":\"PUBG: BATTLEGROUNDS\"}]}";
+
+    private SteamApiService service;
+    private final AtomicLong missSeq = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        RestTemplate steam = new RestTemplate() {
+            @Override
+            public <T> ResponseEntity<T> exchange(URI url, HttpMethod method, HttpEntity<?> requestEntity, Class<T> responseType) {
+                return ResponseEntity.ok(responseType.cast(STEAM_JSON));
+            }
+        };
+        GameAliasRepository aliases = mock(GameAliasRepository.class);
+        when(aliases.findById(anyString())).thenReturn(Optional.empty());
+
+        service = new SteamApiService(steam, new ObjectMapper(), aliases, mock(GameIndexService.class),
+                new SimpleMeterRegistry(), 1_000_000, Duration.ofHours(1), Duration.ofMinutes(1),
+                "http://localhost/api/storesearch/", false);
+        service.findGameOnSteam("배그");
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public SteamApiService.SteamGameInfo cachedHit() {
+        return service.findGameOnSteam("  배그 ");
+    }
+
+    @Benchmark
+    public SteamApiService.SteamGameInfo missResolvedBySteam() {
+        return service.findGameOnSteam("pubg variant " + missSeq.incrementAndGet());
+    }
+
+    @Benchmark
+    public String normalize() {
+        return SteamApiService.normalize("  PUBG:   BATTLEGROUNDS  ");
+    }
+}
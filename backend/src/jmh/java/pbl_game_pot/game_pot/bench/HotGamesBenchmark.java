@@ -0,0 +1,76 @@
+package pbl_game_pot.game_pot.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pbl_game_pot.game_pot.service.HotGame;
+import pbl_game_pot.game_pot.service.MatchingQueueJournal;
+import pbl_game_pot.game_pot.service.MatchmakingEngine;
+import pbl_game_pot.game_pot.service.QueueEntry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 인기 게임 순위: 게임 수만 개에 참가/이동이 계속 몰리는 동안 상위 10개 조회.
+ * 순위를 유지하는 비용(참가 처리량)과, 매번 전체 게임을 훑어 정렬하는 방식 대비 조회 비용을 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HotGamesBenchmark {
+
+    private static final int USERS = 200_000;
+    private static final int GAMES = 50_000;
+
+    private MatchmakingEngine engine;
+
+    @Setup
+    public void setUp() {
+        engine = new MatchmakingEngine(mock(MatchingQueueJournal.class), event -> {});
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (long u = 0; u < USERS; u++) {
+            engine.join(u, pickGame(random), "d" + u, "user" + u, "User " + u, null, null);
+        }
+    }
+
+    // 인기 게임에 몰리도록 치우친 분포 (앞쪽 게임일수록 자주 뽑힘)
+    private static long pickGame(ThreadLocalRandom random) {
+        double r = random.nextDouble();
+        return (long) (GAMES * r * r * r);
+    }
+
+    // 임의의 유저가 다른 게임으로 이동 (순위 갱신 두 번 포함)
+    @Benchmark
+    @Threads(4)
+    public QueueEntry churn() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long user = random.nextLong(USERS);
+        return engine.join(user, pickGame(random), "d" + user, "user" + user, "User " + user, null, null);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<HotGame> topTen() {
+        return engine.hotGames(10);
+    }
+
+    // 비교용: 순위 없이 활성 게임 전체를 훑어 정렬
+    @Benchmark
+    @Threads(4)
+    public List<HotGame> topTenByScan() {
+        List<HotGame> all = new ArrayList<>();
+        for (Long gameId : engine.activeGameIds()) {
+            int waiting = engine.size(gameId);
+            if (waiting > 0) all.add(new HotGame(gameId, waiting));
+        }
+        all.sort(Comparator.comparingInt(HotGame::waiting).reversed().thenComparing(HotGame::gameId));
+        return all.subList(0, Math.min(10, all.size()));
+    }
+}
@@ -0,0 +1,77 @@
+package pbl_game_pot.game_pot.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import pbl_game_pot.game_pot.config.InMemoryClusterBroker;
+import pbl_game_pot.game_pot.controller.MatchingController;
+import pbl_game_pot.game_pot.service.ClusterCoordinator;
+import pbl_game_pot.game_pot.service.MatchingQueueJournal;
+import pbl_game_pot.game_pot.service.MatchmakingEngine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * GET /api/match/status/{gameId}: 메모리 대기열 스냅샷 → MatchUserDto 변환, 그리고 JSON 직렬화까지.
+ * 압축 형식(view=compact)과 마지막 10명 참가분만 받는 since 응답도 같이 잰다.
+ * 컨트롤러는 엔진(+ 단일 노드 코디네이터)만 실제 객체로 넣고 나머지 의존성은 쓰지 않으므로 null.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchingStatusBenchmark {
+
+    private static final Long GAME_ID = 1L;
+
+    @Param({"10", "1000", "100000"})
+    public int queueSize;
+
+    private MatchingController controller;
+    private long sinceVersion;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Setup
+    public void setUp() {
+        MatchmakingEngine engine = new MatchmakingEngine(mock(MatchingQueueJournal.class), event -> {});
+        for (long u = 0; u < queueSize; u++) {
+            if (u == Math.max(0, queueSize - 10)) sinceVersion = engine.slice(GAME_ID, 0, 0).version();
+            engine.join(u, GAME_ID, "d" + u, "user" + u, "User " + u, "u" + u + "@example.com",
+                    "https://cdn.discordapp.com/avatars/" + u + "/a.png");
+        }
+        // 서버 1대 구성: 모든 게임을 이 노드가 담당하므로 브로커를 거치지 않는다
+        ClusterCoordinator coordinator = new ClusterCoordinator(new InMemoryClusterBroker(), engine,
+                mock(MatchingQueueJournal.class), null, null, null, objectMapper, "bench",
+                1000, Duration.ofSeconds(5), Duration.ofSeconds(2), false);
+        controller = new MatchingController(null, null, coordinator, null, null, null, null, null);
+    }
+
+    @Benchmark
+    public Object statusMapping() {
+        ResponseEntity<?> response = controller.getMatchingStatus(GAME_ID, 0, 100, "full", null, null);
+        return response.getBody();
+    }
+
+    @Benchmark
+    public byte[] statusMappingAndJson() throws Exception {
+        return objectMapper.writeValueAsBytes(
+                controller.getMatchingStatus(GAME_ID, 0, 100, "full", null, null).getBody());
+    }
+
+    @Benchmark
+    public byte[] compactJson() throws Exception {
+        return objectMapper.writeValueAsBytes(
+                controller.getMatchingStatus(GAME_ID, 0, 100, "compact", null, null).getBody());
+    }
+
+    @Benchmark
+    public byte[] deltaJson() throws Exception {
+        return objectMapper.writeValueAsBytes(
+                controller.getMatchingStatus(GAME_ID, 0, 100, "full", sinceVersion, null).getBody());
+    }
+}
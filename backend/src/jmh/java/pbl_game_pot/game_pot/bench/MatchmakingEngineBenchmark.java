@@ -0,0 +1,64 @@
+package pbl_game_pot.game_pot.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pbl_game_pot.game_pot.service.MatchingQueueJournal;
+import pbl_game_pot.game_pot.service.MatchmakingEngine;
+import pbl_game_pot.game_pot.service.QueueEntry;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 메모리 매칭 엔진: 참가/이탈(게임 이동 포함)과 파티 꺼내기. 여러 스레드가 동시에 호출하는 상황도 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchmakingEngineBenchmark {
+
+    private static final int USERS = 100_000;
+    private static final int GAMES = 500;
+
+    private MatchmakingEngine engine;
+
+    @Setup
+    public void setUp() {
+        engine = new MatchmakingEngine(mock(MatchingQueueJournal.class), event -> {});
+        for (long u = 0; u < USERS; u++) {
+            engine.join(u, u % GAMES, "d" + u, "user" + u, "User " + u, null, null);
+        }
+    }
+
+    // 임의의 유저가 임의의 게임으로 (다시) 참가: 기존 대기열에서 빠지고 새 대기열로
+    @Benchmark
+    @Threads(4)
+    public QueueEntry joinMovesBetweenGames() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long user = random.nextLong(USERS);
+        return engine.join(user, random.nextLong(GAMES), "d" + user, "user" + user, "User " + user, null, null);
+    }
+
+    // 파티 꺼내고 바로 되돌려 놓기 (대기열 크기 유지)
+    @Benchmark
+    @Threads(4)
+    public List<QueueEntry> pollPartyAndRequeue() {
+        List<QueueEntry> party = engine.pollParty(ThreadLocalRandom.current().nextLong(GAMES), 5);
+        engine.requeue(party);
+        return party;
+    }
+
+    @Benchmark
+    public int activeGameScan() {
+        int waiting = 0;
+        for (Long gameId : engine.activeGameIds()) {
+            waiting += engine.size(gameId);
+        }
+        return waiting;
+    }
+}
@@ -0,0 +1,204 @@
+package pbl_game_pot.game_pot.bench;
+
+import org.openjdk.jmh.annotations.*;
+import pbl_game_pot.game_pot.service.MatchAttributes;
+import pbl_game_pot.game_pot.service.MatchPolicy;
+import pbl_game_pot.game_pot.service.MatchingQueueJournal;
+import pbl_game_pot.game_pot.service.MatchmakingEngine;
+import pbl_game_pot.game_pot.service.QueueEntry;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * 매칭 조건 시뮬레이션: 가상 시계로 10만 명 도착 스트림을 재생하면서 2초마다 파티를 꺼낸다.
+ * 실행(SingleShot) 한 번 = 시뮬레이션 한 번이고, 매칭률 / 대기 시간 분포 / 매칭 1건당 CPU 시간은
+ * {@link Outcome} 보조 카운터로 JMH 결과(-rf json 결과 파일 포함)에 함께 남는다.
+ *
+ * - none: 조건 없음 (기존 FIFO와 같은 결과여야 함)
+ * - attributes: 랭크(0~20, 가운데 몰림) / 지역 4곳 / 언어 30% 지정 / 희망 인원 20% 지정
+ *
+ * ./gradlew jmh -PjmhIncludes=MatchmakingSimulation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class MatchmakingSimulationBenchmark {
+
+    private static final int PLAYERS = 100_000;
+    private static final int GAMES = 20;
+    private static final int PARTY_SIZE = 5;
+    private static final double ARRIVALS_PER_SECOND = 50;
+    private static final Duration TICK = Duration.ofSeconds(2);
+    private static final Duration GIVE_UP_AFTER = Duration.ofMinutes(10);
+    private static final String[] REGIONS = {"kr", "kr", "kr", "jp", "na", "eu"};
+    private static final String[] LANGUAGES = {"ko", "ja", "en"};
+
+    @Param({"none", "attributes"})
+    public String mode;
+
+    /** 시뮬레이션 결과. 대기 시간은 가상 시간(초). */
+    public record Result(int arrived, int matched, int gaveUp, int parties, long cpuNanos, long[] waits) {
+        long percentile(double p) {
+            if (waits.length == 0) return 0;
+            return waits[Math.min(waits.length - 1, (int) Math.ceil(p * waits.length) - 1)];
+        }
+    }
+
+    /**
+     * 시뮬레이션 한 번의 결과를 JMH 보조 카운터로 내보낸다 (replayArrivals:matched 같은 이름으로 표에 붙음).
+     * 시드가 고정이라 반복마다 값이 같으므로 누적하지 않고 덮어쓴다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+        public long arrived;
+        public long matched;
+        public long gaveUp;
+        public long parties;
+        public long waitP50Sec;
+        public long waitP90Sec;
+        public long waitP99Sec;
+        public long waitMaxSec;
+        public long cpuPerMatchNanos;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            arrived = matched = gaveUp = parties = 0;
+            waitP50Sec = waitP90Sec = waitP99Sec = waitMaxSec = cpuPerMatchNanos = 0;
+        }
+
+        public double matchedPercent() {
+            return arrived == 0 ? 0 : 100.0 * matched / arrived;
+        }
+
+        void record(Result result) {
+            arrived = result.arrived();
+            matched = result.matched();
+            gaveUp = result.gaveUp();
+            parties = result.parties();
+            waitP50Sec = result.percentile(0.5);
+            waitP90Sec = result.percentile(0.9);
+            waitP99Sec = result.percentile(0.99);
+            waitMaxSec = result.percentile(1.0);
+            cpuPerMatchNanos = result.parties() == 0 ? 0 : result.cpuNanos() / result.parties();
+        }
+    }
+
+    @Benchmark
+    public Result replayArrivals(Outcome outcome) {
+        Result result = simulate("attributes".equals(mode), new Random(42));
+        outcome.record(result);
+        return result;
+    }
+
+    static Result simulate(boolean withAttributes, Random random) {
+        SimClock clock = new SimClock(Instant.parse("2025-01-01T00:00:00Z"));
+        MatchmakingEngine engine = new MatchmakingEngine(mock(MatchingQueueJournal.class), event -> {},
+                clock, MatchPolicy.DEFAULT);
+        ThreadMXBean cpu = ManagementFactory.getThreadMXBean();
+
+        long[] waits = new long[PLAYERS];
+        int matched = 0;
+        int gaveUp = 0;
+        int parties = 0;
+        long cpuNanos = 0;
+
+        long arrivalIntervalNanos = (long) (1_000_000_000L / ARRIVALS_PER_SECOND);
+        int next = 0;
+        while (next < PLAYERS || engine.totalWaiting() > 0) {
+            long cpuStart = cpu.getCurrentThreadCpuTime();
+
+            // 이번 tick 동안 도착한 인원 (인기 게임에 몰리도록 두 난수 중 작은 쪽)
+            long arrivals = TICK.toNanos() / arrivalIntervalNanos;
+            for (long i = 0; i < arrivals && next < PLAYERS; i++, next++) {
+                long gameId = Math.min(random.nextInt(GAMES), random.nextInt(GAMES));
+                engine.join((long) next, gameId, "d" + next, "user" + next, "User " + next, null, null,
+                        withAttributes ? randomAttributes(random) : MatchAttributes.NONE);
+            }
+            clock.advance(TICK);
+            LocalDateTime now = LocalDateTime.now(clock);
+
+            for (Long gameId : engine.activeGameIds()) {
+                while (true) {
+                    List<QueueEntry> party = engine.pollParty(gameId, PARTY_SIZE);
+                    if (party.isEmpty()) break;
+                    parties++;
+                    for (QueueEntry e : party) {
+                        waits[matched++] = Duration.between(e.createdAt(), now).toSeconds();
+                    }
+                }
+            }
+
+            // 너무 오래 기다린 인원은 포기 (만료)
+            LocalDateTime giveUpBefore = now.minus(GIVE_UP_AFTER);
+            List<QueueEntry> stale = new ArrayList<>();
+            for (Long gameId : engine.activeGameIds()) {
+                for (QueueEntry e : engine.snapshot(gameId, 0, 64)) {
+                    if (e.createdAt().isBefore(giveUpBefore)) stale.add(e);
+                }
+            }
+            for (QueueEntry e : stale) {
+                if (engine.expire(e)) gaveUp++;
+            }
+            cpuNanos += cpu.getCurrentThreadCpuTime() - cpuStart;
+        }
+
+        long[] sorted = Arrays.copyOf(waits, matched);
+        Arrays.sort(sorted);
+        return new Result(PLAYERS, matched, gaveUp, parties, cpuNanos, sorted);
+    }
+
+    private static MatchAttributes randomAttributes(Random random) {
+        // 0~20, 10 근처에 몰림
+        int rank = (random.nextInt(11) + random.nextInt(11));
+        String region = REGIONS[random.nextInt(REGIONS.length)];
+        String language = random.nextInt(10) < 3 ? LANGUAGES[random.nextInt(LANGUAGES.length)] : null;
+        Integer partySize = random.nextInt(10) < 2 ? 2 + random.nextInt(2) : null;
+        return new MatchAttributes(rank, region, language, partySize);
+    }
+
+    /** 시뮬레이션 시간을 직접 넘기는 시계. */
+    static final class SimClock extends Clock {
+        private Instant now;
+
+        SimClock(Instant start) {
+            this.now = start;
+        }
+
+        void advance(Duration d) {
+            now = now.plus(d);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
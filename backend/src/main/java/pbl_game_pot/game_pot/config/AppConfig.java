@@ -1,13 +1,81 @@
 package pbl_game_pot.game_pot.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 외부 호출용 RestTemplate. 대상(스팀 / 봇 서버)마다 커넥션 풀, 타임아웃, bulkhead를 따로 둔다.
+ * 주입받을 때는 파라미터/필드 이름으로 구분한다 (steamRestTemplate, botRestTemplate).
+ */
 @Configuration
 public class AppConfig {
+
+    private static final OutboundTarget STEAM_DEFAULTS = new OutboundTarget("steam",
+            Duration.ofSeconds(2), Duration.ofSeconds(5), 20, 16, Duration.ofMillis(200), 2, Duration.ofMillis(200), 5);
+
+    // Render 무료 인스턴스는 깨어나는 데 오래 걸려서 읽기 타임아웃을 길게, 대신 동시 요청 수는 작게
+    private static final OutboundTarget BOT_DEFAULTS = new OutboundTarget("bot",
+            Duration.ofSeconds(5), Duration.ofSeconds(30), 8, 4, Duration.ZERO, 1, Duration.ofSeconds(1), 0);
+
+    private final List<CloseableHttpClient> clients = new CopyOnWriteArrayList<>();
+
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate steamRestTemplate(Environment env, MeterRegistry registry) {
+        return pooledRestTemplate(OutboundTarget.from(env, STEAM_DEFAULTS), registry);
+    }
+
+    @Bean
+    public RestTemplate botRestTemplate(Environment env, MeterRegistry registry) {
+        return pooledRestTemplate(OutboundTarget.from(env, BOT_DEFAULTS), registry);
+    }
+
+    private RestTemplate pooledRestTemplate(OutboundTarget target, MeterRegistry registry) {
+        CloseableHttpClient client = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(target.maxConnections())
+                        .setMaxConnPerRoute(target.maxConnections())
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.of(target.connectTimeout()))
+                                .setSocketTimeout(Timeout.of(target.readTimeout()))
+                                .setTimeToLive(TimeValue.ofMinutes(5))
+                                .build())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // 풀에서 커넥션을 못 얻으면 오래 기다리지 않는다 (bulkhead가 먼저 걸러줌)
+                        .setConnectionRequestTimeout(Timeout.ofSeconds(1))
+                        .setResponseTimeout(Timeout.of(target.readTimeout()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .disableAutomaticRetries() // 재시도는 OutboundRequestInterceptor에서만
+                .build();
+        clients.add(client);
+
+        RestTemplate restTemplate = new RestTemplate(new HttpComponentsClientHttpRequestFactory(client));
+        restTemplate.getInterceptors().add(new OutboundRequestInterceptor(target, registry));
+        return restTemplate;
+    }
+
+    @PreDestroy
+    public void closeClients() throws IOException {
+        for (CloseableHttpClient client : clients) {
+            client.close();
+        }
     }
-}
\ No newline at end of file
+}
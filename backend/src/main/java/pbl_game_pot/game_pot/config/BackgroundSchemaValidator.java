@@ -0,0 +1,76 @@
+package pbl_game_pot.game_pot.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.tool.hbm2ddl.SchemaValidator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ddl-auto=validate를 시작 경로에서 빼고, 서버가 요청을 받기 시작한 뒤 별도 스레드에서 같은 검증을 한다.
+ * (app.startup.schema-validation=background, faststart 프로필에서 켬. 이때 ddl-auto는 none)
+ *
+ * Hibernate가 만든 매핑 정보(Metadata)를 Integrator로 받아 두었다가 {@link SchemaValidator}에 넘긴다.
+ * 결과는 /actuator/health의 backgroundSchemaValidator 항목 (검증 전 UNKNOWN, 불일치면 DOWN).
+ */
+@Component
+@ConditionalOnProperty(name = "app.startup.schema-validation", havingValue = "background")
+@Slf4j
+public class BackgroundSchemaValidator implements Integrator, HibernatePropertiesCustomizer, HealthIndicator {
+
+    private volatile Metadata metadata;
+    private volatile ServiceRegistry serviceRegistry;
+    private volatile Health health = Health.unknown().withDetail("schema", "검증 전").build();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        // JpaSettings.INTEGRATOR_PROVIDER
+        hibernateProperties.put("hibernate.integrator_provider", (IntegratorProvider) () -> List.of(this));
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        this.metadata = metadata;
+        this.serviceRegistry = sessionFactory.getServiceRegistry();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void validateInBackground() {
+        Thread.ofPlatform().name("schema-validation").daemon().start(this::validate);
+    }
+
+    void validate() {
+        if (metadata == null) {
+            log.warn("Hibernate 매핑 정보를 받지 못해 스키마 검증을 건너뜀");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            new SchemaValidator().validate(metadata, serviceRegistry);
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            health = Health.up().withDetail("schema", "일치").withDetail("tookMs", ms).build();
+            log.info("DB 스키마 검증 완료 ({}ms)", ms);
+        } catch (Exception e) {
+            health = Health.down(e).withDetail("schema", "불일치").build();
+            log.error("DB 스키마가 엔티티와 다릅니다. dosc/db-migration.md를 확인하세요.", e);
+        }
+    }
+
+    @Override
+    public Health health() {
+        return health;
+    }
+}
@@ -0,0 +1,18 @@
+package pbl_game_pot.game_pot.config;
+
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * 대상 서버로 나가는 동시 요청 수(또는 초당 요청 수)가 한도에 걸려 요청을 보내지 않았을 때.
+ * ResourceAccessException이라서 기존의 "접속 불가" 처리(대기열 복귀, 503)를 그대로 탄다.
+ */
+public class BulkheadFullException extends ResourceAccessException {
+
+    public BulkheadFullException(String target) {
+        this(target, "동시 요청 한도 초과");
+    }
+
+    public BulkheadFullException(String target, String reason) {
+        super(reason + ": " + target);
+    }
+}
@@ -0,0 +1,18 @@
+package pbl_game_pot.game_pot.config;
+
+import java.util.function.Consumer;
+
+/**
+ * 노드 간 메시지 채널 (pub/sub). 보낸 메시지는 보낸 노드를 포함해 구독 중인 모든 노드에 전달된다.
+ * 순서는 한 노드가 보낸 메시지끼리만 보장되고, 전달은 최대 1번(at-most-once)이다.
+ */
+public interface ClusterBroker extends AutoCloseable {
+
+    void publish(String message);
+
+    void subscribe(Consumer<String> listener);
+
+    @Override
+    default void close() {
+    }
+}
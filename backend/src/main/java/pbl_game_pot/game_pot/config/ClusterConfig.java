@@ -0,0 +1,27 @@
+package pbl_game_pot.game_pot.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 노드 간 메시지 브로커 선택. app.cluster.broker=redis 면 Redis pub/sub, 아니면 같은 JVM 안에서만 전달 (서버 1대).
+ */
+@Configuration
+public class ClusterConfig {
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.cluster.broker", havingValue = "redis")
+    public ClusterBroker redisClusterBroker(
+            @Value("${app.cluster.redis.url:redis://localhost:6379}") String redisUrl,
+            @Value("${app.cluster.redis.channel:game-pot:cluster}") String channel) {
+        return new RedisClusterBroker(redisUrl, channel);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.cluster.broker", havingValue = "local", matchIfMissing = true)
+    public ClusterBroker localClusterBroker() {
+        return new InMemoryClusterBroker();
+    }
+}
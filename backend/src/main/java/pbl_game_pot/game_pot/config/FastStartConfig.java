@@ -0,0 +1,45 @@
+package pbl_game_pot.game_pot.config;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
+
+/**
+ * faststart 프로필(spring.main.lazy-initialization=true)에서도 바로 만들어야 하는 빈을 고른다.
+ *
+ * 지연 생성하면 아무도 부르지 않아 영영 안 도는 빈(@Scheduled, 이벤트 리스너, 시작 시 스레드를 띄우는 @PostConstruct,
+ * 대기열 복구 같은 SmartInitializingSingleton)은 즉시 만들고, 나머지(컨트롤러, 스팀 검색, 외부 호출 RestTemplate 등)는
+ * 첫 요청에서 만든다. lazy-initialization이 꺼져 있으면 이 필터는 쓰이지 않는다.
+ */
+@Configuration(proxyBeanMethods = false)
+public class FastStartConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter backgroundWorkBeans() {
+        return (beanName, beanDefinition, beanType) -> needsEagerInit(beanType);
+    }
+
+    static boolean needsEagerInit(Class<?> beanType) {
+        if (beanType == null) return false;
+        if (SmartInitializingSingleton.class.isAssignableFrom(beanType)
+                || ApplicationListener.class.isAssignableFrom(beanType)) return true;
+        boolean[] found = new boolean[1];
+        ReflectionUtils.doWithMethods(beanType, method -> found[0] = true, FastStartConfig::startsBackgroundWork);
+        return found[0];
+    }
+
+    private static boolean startsBackgroundWork(Method method) {
+        return AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                || AnnotatedElementUtils.hasAnnotation(method, EventListener.class)
+                || AnnotatedElementUtils.hasAnnotation(method, PostConstruct.class);
+    }
+}
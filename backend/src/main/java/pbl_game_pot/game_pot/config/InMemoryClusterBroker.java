@@ -0,0 +1,47 @@
+package pbl_game_pot.game_pot.config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * 같은 JVM 안에서만 도는 브로커. 단일 서버 운영(기본값)과, 여러 노드를 한 프로세스에 띄우는 테스트용.
+ * Redis pub/sub처럼 보낸 쪽 스레드가 아닌 별도 스레드 1개에서 순서대로 전달한다.
+ */
+@Slf4j
+public class InMemoryClusterBroker implements ClusterBroker {
+
+    private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+    private final ExecutorService delivery = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cluster-broker");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Override
+    public void publish(String message) {
+        delivery.execute(() -> {
+            for (Consumer<String> listener : listeners) {
+                try {
+                    listener.accept(message);
+                } catch (Exception e) {
+                    log.warn("클러스터 메시지 처리 실패", e);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void close() {
+        delivery.shutdownNow();
+    }
+}
@@ -0,0 +1,157 @@
+package pbl_game_pot.game_pot.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 외부 호출 대상 하나에 붙는 인터셉터: 초당 요청 수 제한 + bulkhead(동시 요청 수 제한) + 재시도 + 지연 시간 측정.
+ *
+ * - bulkhead는 대상별 세마포어라서 봇 서버가 느려져도 스팀 검색 자리는 남는다.
+ * - 초당 요청 수 제한은 재시도를 포함한 실제 전송마다 토큰 1개. 상대 서버가 우리 IP를 막지 않도록 한다.
+ * - GET은 네트워크 오류 / 502·503·504면 재시도. POST 등은 요청이 아예 안 나간 연결 실패일 때만 재시도 (중복 생성 방지).
+ * - 메트릭: outbound.requests{target, method, outcome} (히스토그램), outbound.bulkhead.rejected{target},
+ *   outbound.ratelimit.rejected{target}
+ */
+@Slf4j
+public class OutboundRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Set<Integer> RETRYABLE_STATUS = Set.of(502, 503, 504);
+    private static final long MAX_BACKOFF_MS = 5_000;
+
+    private final OutboundTarget target;
+    private final Semaphore bulkhead;
+    private final MeterRegistry registry;
+    private final Counter rejected;
+    private final TokenBucket rateLimit;    // null = 제한 없음
+    private final Counter rateLimited;
+
+    public OutboundRequestInterceptor(OutboundTarget target, MeterRegistry registry) {
+        this.target = target;
+        this.bulkhead = new Semaphore(target.maxConcurrent());
+        this.registry = registry;
+        this.rejected = Counter.builder("outbound.bulkhead.rejected")
+                .tag("target", target.name())
+                .register(registry);
+        this.rateLimit = target.maxPerSecond() > 0
+                ? new TokenBucket(target.maxPerSecond(), (int) Math.max(1, Math.ceil(target.maxPerSecond())))
+                : null;
+        this.rateLimited = Counter.builder("outbound.ratelimit.rejected")
+                .tag("target", target.name())
+                .register(registry);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        acquire();
+        try {
+            return executeWithRetry(request, body, execution);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            if (!bulkhead.tryAcquire(target.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new BulkheadFullException(target.name());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadFullException(target.name());
+        }
+    }
+
+    private ClientHttpResponse executeWithRetry(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        boolean idempotent = request.getMethod() == HttpMethod.GET || request.getMethod() == HttpMethod.HEAD;
+
+        for (int attempt = 0; ; attempt++) {
+            boolean last = attempt >= target.retries();
+            awaitRateLimit();
+            long start = System.nanoTime();
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                int status = response.getStatusCode().value();
+                record(request, start, String.valueOf(status));
+
+                if (idempotent && !last && RETRYABLE_STATUS.contains(status)) {
+                    response.close();
+                    log.warn("{} 응답 {}, 재시도 {}/{}: {}", target.name(), status, attempt + 1, target.retries(), request.getURI().getPath());
+                    sleepBackoff(attempt);
+                    continue;
+                }
+                return response;
+            } catch (IOException e) {
+                record(request, start, e instanceof InterruptedIOException ? "TIMEOUT" : "IO_ERROR");
+                if (last || !(idempotent || notSent(e))) throw e;
+                log.warn("{} 호출 실패({}), 재시도 {}/{}: {}", target.name(), e.getClass().getSimpleName(),
+                        attempt + 1, target.retries(), request.getURI().getPath());
+                sleepBackoff(attempt);
+            }
+        }
+    }
+
+    // 토큰이 acquireTimeout 안에 생기면 기다렸다가 보내고, 아니면 보내지 않고 실패
+    private void awaitRateLimit() {
+        if (rateLimit == null) return;
+        long deadline = System.nanoTime() + target.acquireTimeout().toNanos();
+        while (true) {
+            long wait = rateLimit.tryAcquire();
+            if (wait == 0) return;
+            if (System.nanoTime() + wait - deadline > 0) {
+                rateLimited.increment();
+                throw new BulkheadFullException(target.name(), "초당 요청 한도 초과");
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new BulkheadFullException(target.name(), "초당 요청 한도 초과");
+            }
+        }
+    }
+
+    // 연결 자체가 안 된 경우 = 서버가 요청을 받지 못했으므로 POST도 다시 보내도 안전
+    private static boolean notSent(IOException e) {
+        return e instanceof ConnectException || e instanceof ConnectTimeoutException;
+    }
+
+    private void sleepBackoff(int attempt) throws InterruptedIOException {
+        long base = Math.min(target.backoff().toMillis() << attempt, MAX_BACKOFF_MS);
+        long delay = (long) (base * (0.5 + ThreadLocalRandom.current().nextDouble()));
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("재시도 대기 중 인터럽트");
+        }
+    }
+
+    private void record(HttpRequest request, long startNanos, String outcome) {
+        Timer.builder("outbound.requests")
+                .tag("target", target.name())
+                .tag("method", request.getMethod().name())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+}
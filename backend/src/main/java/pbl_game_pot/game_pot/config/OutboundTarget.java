@@ -0,0 +1,41 @@
+package pbl_game_pot.game_pot.config;
+
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * 외부 호출 대상(스팀, 봇 서버)별 연결 설정. app.http.{name}.* 값이 없으면 주어진 기본값을 쓴다.
+ *
+ * @param maxConnections 커넥션 풀 크기 (keep-alive로 재사용)
+ * @param maxConcurrent  동시에 나갈 수 있는 요청 수 (bulkhead). 다른 대상과 따로 센다.
+ * @param acquireTimeout bulkhead 자리가 날 때까지 기다리는 최대 시간 (0 = 바로 실패)
+ * @param retries        재시도 횟수 (첫 시도 제외)
+ * @param backoff        첫 재시도 대기 시간. 이후 2배씩 늘리고 ±50% 흔든다.
+ * @param maxPerSecond   초당 내보내는 요청 수 한도 (토큰 버킷, 1초치까지 몰아서 허용). 0 이하면 제한 없음.
+ *                       자리가 날 때까지 acquireTimeout만큼 기다리고, 그래도 없으면 보내지 않는다.
+ */
+public record OutboundTarget(String name,
+                             Duration connectTimeout,
+                             Duration readTimeout,
+                             int maxConnections,
+                             int maxConcurrent,
+                             Duration acquireTimeout,
+                             int retries,
+                             Duration backoff,
+                             double maxPerSecond) {
+
+    static OutboundTarget from(Environment env, OutboundTarget defaults) {
+        String prefix = "app.http." + defaults.name() + ".";
+        return new OutboundTarget(
+                defaults.name(),
+                env.getProperty(prefix + "connect-timeout", Duration.class, defaults.connectTimeout()),
+                env.getProperty(prefix + "read-timeout", Duration.class, defaults.readTimeout()),
+                env.getProperty(prefix + "max-connections", Integer.class, defaults.maxConnections()),
+                env.getProperty(prefix + "max-concurrent", Integer.class, defaults.maxConcurrent()),
+                env.getProperty(prefix + "acquire-timeout", Duration.class, defaults.acquireTimeout()),
+                env.getProperty(prefix + "retries", Integer.class, defaults.retries()),
+                env.getProperty(prefix + "backoff", Duration.class, defaults.backoff()),
+                env.getProperty(prefix + "max-per-second", Double.class, defaults.maxPerSecond()));
+    }
+}
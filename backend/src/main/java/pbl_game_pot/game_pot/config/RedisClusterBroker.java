@@ -0,0 +1,61 @@
+package pbl_game_pot.game_pot.config;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.Consumer;
+
+/**
+ * Redis pub/sub 채널 하나로 노드 간 메시지를 주고받는다 (Redis 호환 서버면 무엇이든).
+ * 발행용 연결과 구독용 연결을 따로 쓴다 (구독 모드 연결로는 PUBLISH를 못 보냄).
+ */
+@Slf4j
+public class RedisClusterBroker implements ClusterBroker {
+
+    private final RedisClient client;
+    private final StatefulRedisConnection<String, String> publisher;
+    private final StatefulRedisPubSubConnection<String, String> subscriber;
+    private final String channel;
+
+    public RedisClusterBroker(String redisUrl, String channel) {
+        this.client = RedisClient.create(redisUrl);
+        this.publisher = client.connect();
+        this.subscriber = client.connectPubSub();
+        this.channel = channel;
+    }
+
+    @Override
+    public void publish(String message) {
+        // 비동기 발행: 요청 스레드가 Redis 왕복을 기다리지 않는다
+        publisher.async().publish(channel, message).exceptionally(e -> {
+            log.warn("클러스터 메시지 발행 실패", e);
+            return 0L;
+        });
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        subscriber.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void message(String ch, String message) {
+                if (!channel.equals(ch)) return;
+                try {
+                    listener.accept(message);
+                } catch (Exception e) {
+                    log.warn("클러스터 메시지 처리 실패", e);
+                }
+            }
+        });
+        subscriber.sync().subscribe(channel);
+    }
+
+    @Override
+    public void close() {
+        subscriber.close();
+        publisher.close();
+        client.shutdown();
+    }
+}
@@ -0,0 +1,55 @@
+package pbl_game_pot.game_pot.config;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 초당 ratePerSecond개씩 채워지고 최대 burst개까지 쌓이는 토큰 버킷.
+ *
+ * 토큰 수 대신 "다음 토큰이 생기는 이론상 시각" 하나만 AtomicLong으로 들고 CAS로 갱신한다 (GCRA와 같은 계산).
+ * 락이 없어서 가상 스레드가 고정되지 않고, 유저마다 하나씩 만들어도 객체 하나 크기다.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;   // 토큰 1개가 채워지는 시간
+    private final long toleranceNanos;  // burst만큼 미리 당겨 쓸 수 있는 시간
+    private final LongSupplier clock;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, int burst, LongSupplier clock) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate는 0보다, burst는 1 이상이어야 합니다.");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = intervalNanos * (burst - 1);
+        this.clock = clock;
+        this.theoreticalArrival = new AtomicLong(clock.getAsLong());
+    }
+
+    /**
+     * 토큰 1개를 가져간다.
+     *
+     * @return 0이면 성공, 아니면 다음 토큰까지 남은 시간(ns). 실패하면 아무것도 소비하지 않는다.
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = clock.getAsLong();
+            long tat = theoreticalArrival.get();
+            long allowAt = tat - toleranceNanos;
+            if (now - allowAt < 0) return allowAt - now;
+            long next = Math.max(tat, now) + intervalNanos;
+            if (theoreticalArrival.compareAndSet(tat, next)) return 0;
+        }
+    }
+
+    /**
+     * 방금 가져간 토큰 1개를 돌려준다 (뒤따르는 다른 검사에서 요청이 거절된 경우). burst를 넘겨 쌓이지는 않는다.
+     */
+    public void release() {
+        theoreticalArrival.updateAndGet(tat -> Math.max(tat - intervalNanos, clock.getAsLong()));
+    }
+}
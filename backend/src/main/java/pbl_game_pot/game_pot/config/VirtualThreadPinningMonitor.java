@@ -0,0 +1,99 @@
+package pbl_game_pot.game_pot.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * 가상 스레드 모드에서 carrier 스레드 고정(pinning)을 감지한다.
+ * JFR jdk.VirtualThreadPinned 이벤트를 실시간으로 받아서 위치(스택)를 로그로 남기고 메트릭으로 센다.
+ *
+ * 가상 스레드가 synchronized 블록 안에서 I/O 등으로 멈추면 carrier(플랫폼) 스레드까지 같이 멈춘다.
+ * 로그에 찍힌 위치를 ReentrantLock으로 바꾸거나 I/O를 잠금 밖으로 빼서 고친다.
+ *
+ * 메트릭: jvm.threads.virtual.pinned{site} (고정된 시간 히스토그램)
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APP_PACKAGE = "pbl_game_pot.";
+    private static final int LOGGED_FRAMES = 12;
+    private static final long LOG_INTERVAL_MS = 60_000;
+
+    private final MeterRegistry registry;
+    private final Duration threshold;
+    private final Map<String, Long> lastLogged = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry registry,
+                                       @Value("${app.vthreads.pinned-threshold:20ms}") Duration threshold) {
+        this.registry = registry;
+        this.threshold = threshold;
+    }
+
+    @PostConstruct
+    void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("가상 스레드 pinning 감지 시작 (기준 {} ms)", threshold.toMillis());
+    }
+
+    void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = siteOf(frames);
+
+        Timer.builder("jvm.threads.virtual.pinned")
+                .tag("site", site)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(event.getDuration());
+
+        // 같은 위치는 1분에 한 번만 스택을 남긴다
+        long now = System.currentTimeMillis();
+        Long last = lastLogged.get(site);
+        if (last != null && now - last < LOG_INTERVAL_MS) return;
+        lastLogged.put(site, now);
+
+        String stack = frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(f -> "    at " + f.getMethod().getType().getName() + "." + f.getMethod().getName()
+                        + "(line " + f.getLineNumber() + ")")
+                .collect(Collectors.joining("\n"));
+        log.warn("가상 스레드 pinning {} ms, 위치: {}\n{}", event.getDuration().toMillis(), site, stack);
+    }
+
+    // 스택에서 처음 나오는 우리 코드 위치 (없으면 맨 위 프레임)
+    private static String siteOf(List<RecordedFrame> frames) {
+        RecordedFrame pick = frames.stream()
+                .filter(f -> f.getMethod().getType().getName().startsWith(APP_PACKAGE))
+                .findFirst()
+                .orElse(frames.isEmpty() ? null : frames.get(0));
+        if (pick == null) return "unknown";
+        String type = pick.getMethod().getType().getName();
+        return type.substring(type.lastIndexOf('.') + 1) + "." + pick.getMethod().getName();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (stream != null) stream.close();
+    }
+}
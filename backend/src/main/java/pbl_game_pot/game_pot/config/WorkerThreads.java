@@ -0,0 +1,34 @@
+package pbl_game_pot.game_pot.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 서비스들이 직접 만드는 작업 스레드풀. spring.threads.virtual.enabled=true 이면 작업마다 가상 스레드를 쓴다.
+ * (가상 스레드 모드에서는 동시 실행 수를 스레드 수가 아니라 HTTP bulkhead / 커넥션 풀이 제한한다)
+ */
+public final class WorkerThreads {
+
+    private WorkerThreads() {
+    }
+
+    /**
+     * @param platformThreads 플랫폼 스레드 모드의 스레드 수. 0 이하면 필요할 때마다 늘어나는 풀.
+     */
+    public static ExecutorService newPool(String namePrefix, int platformThreads, boolean virtual) {
+        if (virtual) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 1).factory());
+        }
+        AtomicInteger seq = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread t = new Thread(r, namePrefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        return platformThreads > 0
+                ? Executors.newFixedThreadPool(platformThreads, factory)
+                : Executors.newCachedThreadPool(factory);
+    }
+}
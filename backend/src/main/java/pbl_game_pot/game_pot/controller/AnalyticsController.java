@@ -0,0 +1,66 @@
+package pbl_game_pot.game_pot.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pbl_game_pot.game_pot.db.MatchingRollupId.Granularity;
+import pbl_game_pot.game_pot.service.MatchingAnalyticsService;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
+
+// 대기열 분석 차트 (집계 테이블만 읽음)
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private static final int MAX_MINUTE_HOURS = 24;       // 분 단위는 최대 1440개
+    private static final int MAX_HOUR_HOURS = 24 * 90;
+    private static final int MAX_DAYS = 90;
+    private static final CacheControl CACHE = CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate();
+
+    private final MatchingAnalyticsService analyticsService;
+
+    // 최근 hours시간의 분/시간 단위 추이 (참가, 매칭, 이탈, 만료, 파티, 평균 대기, 매칭률)
+    @GetMapping("/games/{gameId}/timeline")
+    public ResponseEntity<?> timeline(@PathVariable Long gameId,
+                                      @RequestParam(defaultValue = "hour") String granularity,
+                                      @RequestParam(defaultValue = "24") int hours) {
+        Granularity g;
+        try {
+            g = Granularity.valueOf(granularity.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "granularity는 minute 또는 hour입니다."));
+        }
+        int max = g == Granularity.MINUTE ? MAX_MINUTE_HOURS : MAX_HOUR_HOURS;
+        if (hours < 1 || hours > max) {
+            return ResponseEntity.badRequest().body(Map.of("error", "hours는 1~" + max + " 사이여야 합니다."));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime to = g == Granularity.MINUTE ? now.plusMinutes(1) : now.plusHours(1);
+        return ResponseEntity.ok()
+                .cacheControl(CACHE)
+                .body(analyticsService.timeline(gameId, g, to.minusHours(hours), to));
+    }
+
+    // 시간대(0~23시)별 하루 평균 참가 수 / 평균 대기 / 매칭률
+    @GetMapping("/games/{gameId}/peak-hours")
+    public ResponseEntity<?> peakHours(@PathVariable Long gameId,
+                                       @RequestParam(defaultValue = "14") int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "days는 1~" + MAX_DAYS + " 사이여야 합니다."));
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CACHE)
+                .body(analyticsService.peakHours(gameId, days, LocalDateTime.now()));
+    }
+}
@@ -7,14 +7,14 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
-import pbl_game_pot.game_pot.db.UserRepository;
-import pbl_game_pot.game_pot.db.UserTable;
+import pbl_game_pot.game_pot.service.UserIdentity;
+import pbl_game_pot.game_pot.service.UserIdentityCache;
 
 
 @RestController
 @RequiredArgsConstructor
 public class DiscordLoginController {
-    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
 
     record MeDto(String username, String email, String id, String displayName, Long dbId, String avatarUrl) {}
 
@@ -22,16 +22,16 @@ public class DiscordLoginController {
     public ResponseEntity<?> me(@AuthenticationPrincipal OAuth2User principal) {
         if (principal == null) return ResponseEntity.status(401).build();
         String discordId = String.valueOf(principal.getAttributes().get("id"));
-        UserTable u = userRepository.findByDiscordId(discordId).orElse(null);
+        UserIdentity u = userIdentityCache.find(discordId).orElse(null);
         if (u == null) return ResponseEntity.status(404).build();
 
         return ResponseEntity.ok(new MeDto(
-                u.getUsername(),
-                u.getEmail(),
-                u.getDiscordId(),
-                u.getDisplayName(),
-                u.getId(),
-                u.getAvatarUrl()
+                u.username(),
+                u.email(),
+                u.discordId(),
+                u.displayName(),
+                u.id(),
+                u.avatarUrl()
         ));
     }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package pbl_game_pot.game_pot.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pbl_game_pot.game_pot.db.Game;
+import pbl_game_pot.game_pot.service.ClusterCoordinator;
+import pbl_game_pot.game_pot.service.GameIndexService;
+import pbl_game_pot.game_pot.service.GameMetadataService;
+import pbl_game_pot.game_pot.service.HotGame;
+import pbl_game_pot.game_pot.service.PartyMatcher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/games")
+@RequiredArgsConstructor
+public class GameController {
+
+    private static final int MAX_LIMIT = 20;
+
+    private final GameIndexService gameIndexService;
+    private final ClusterCoordinator clusterCoordinator;
+    private final GameMetadataService gameMetadataService;
+    private final PartyMatcher partyMatcher;
+
+    // gameId는 한 번이라도 매칭된 게임만 있음 (없으면 null, waiting 0)
+    public record GameSuggestionDto(Long steamAppId, Long gameId, String name, double score, int waiting) {}
+
+    // ready=false면 아직 스팀에서 가져오는 중 (이미지/장르 없이 이름과 파티 인원만)
+    public record GameMetaDto(Long gameId, Long steamAppId, String name, String headerImage, List<String> genres,
+                              Integer maxPartySize, int partySize, boolean ready) {}
+
+    // headerImage는 게임 정보 캐시에 있을 때만
+    public record HotGameDto(Long gameId, Long steamAppId, String name, String headerImage, int waiting) {}
+
+    // 게임 이름 자동완성 (한글 별명 / 영문 / 오타 허용). 키 입력마다 호출되므로 메모리 인덱스만 사용한다.
+    @GetMapping("/suggest")
+    public ResponseEntity<List<GameSuggestionDto>> suggest(@RequestParam("q") String query,
+                                                           @RequestParam(defaultValue = "8") int limit) {
+        List<GameSuggestionDto> result = gameIndexService.suggest(query, Math.min(Math.max(limit, 1), MAX_LIMIT))
+                .stream()
+                .map(h -> {
+                    Long gameId = gameIndexService.gameIdOf(h.entry().steamAppId());
+                    int waiting = gameId == null ? 0 : clusterCoordinator.size(gameId);
+                    return new GameSuggestionDto(h.entry().steamAppId(), gameId, h.entry().name(), h.score(), waiting);
+                })
+                .toList();
+        return ResponseEntity.ok(result);
+    }
+
+    // 지금 대기 인원이 많은 게임. 메모리 순위에서 앞쪽 limit개만 읽는다 (DB 집계 없음)
+    @GetMapping("/hot")
+    public ResponseEntity<List<HotGameDto>> hot(@RequestParam(defaultValue = "10") int limit) {
+        List<HotGameDto> result = new ArrayList<>();
+        for (HotGame h : clusterCoordinator.hotGames(Math.min(Math.max(limit, 1), ClusterCoordinator.MAX_HOT_GAMES))) {
+            Game game = gameMetadataService.findGame(h.gameId()).orElse(null);
+            if (game == null) continue;
+            GameMetadataService.GameMeta meta = gameMetadataService.peek(game.getSteamAppId());
+            result.add(new HotGameDto(h.gameId(), game.getSteamAppId(), game.getName(),
+                    meta == null ? null : meta.headerImage(), h.waiting()));
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(5)).cachePrivate())
+                .body(result);
+    }
+
+    // 대기열/로비 화면용 게임 정보. 메모리 캐시만 보고 바로 응답하며, 준비 전이면 202
+    @GetMapping("/{gameId}/meta")
+    public ResponseEntity<?> meta(@PathVariable Long gameId) {
+        Game game = gameMetadataService.findGame(gameId).orElse(null);
+        if (game == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "게임을 찾을 수 없습니다."));
+        }
+        int partySize = partyMatcher.partySizeOf(gameId);
+        GameMetadataService.GameMeta meta = gameMetadataService.peek(game.getSteamAppId());
+        if (meta == null) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .cacheControl(CacheControl.noStore())
+                    .body(new GameMetaDto(gameId, game.getSteamAppId(), game.getName(), null, List.of(),
+                            null, partySize, false));
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofMinutes(10)).cachePrivate())
+                .body(new GameMetaDto(gameId, game.getSteamAppId(), game.getName(), meta.headerImage(),
+                        meta.genres(), meta.maxPartySize(), partySize, true));
+    }
+}
@@ -1,23 +1,36 @@
 package pbl_game_pot.game_pot.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.*;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.core.user.OAuth2User;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.HttpServerErrorException;
-import org.springframework.web.client.ResourceAccessException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import pbl_game_pot.game_pot.db.*;
+import pbl_game_pot.game_pot.service.ClusterCoordinator;
+import pbl_game_pot.game_pot.service.GameRegisteredEvent;
+import pbl_game_pot.game_pot.service.MatchAttributes;
+import pbl_game_pot.game_pot.service.MatchingStatusBroadcaster;
+import pbl_game_pot.game_pot.service.PartyOutboxService;
+import pbl_game_pot.game_pot.service.QueueChanges;
+import pbl_game_pot.game_pot.service.QueueEntry;
+import pbl_game_pot.game_pot.service.QueueSlice;
 import pbl_game_pot.game_pot.service.SteamApiService;
+import pbl_game_pot.game_pot.service.UserIdentity;
+import pbl_game_pot.game_pot.service.UserIdentityCache;
 
+import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
@@ -26,23 +39,33 @@ import java.util.stream.Collectors;
 @Slf4j
 public class MatchingController {
 
-    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
     private final GameRepository gameRepository;
-    private final MatchingQueueRepository matchingQueueRepository;
+    private final ClusterCoordinator clusterCoordinator;
     private final SteamApiService steamApiService;
-    private final RestTemplate restTemplate;
+    private final MatchingStatusBroadcaster statusBroadcaster;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PartyOutboxService partyOutboxService;
+    private final ObjectMapper objectMapper;
 
-    // 팀원이 만든 Render 봇 서버 주소
-    private static final String BOT_API_URL = "https://game-pot.onrender.com/api/create-party";
+    private static final int MAX_STATUS_PAGE_SIZE = 500;
+    // 스팀 검색 한도(초당 요청 수 / 동시 요청 수)는 1초 안에 다시 풀린다
+    private static final String GAME_SEARCH_RETRY_AFTER_SECONDS = "1";
 
-    public record MatchRequestDto(String gameName) {}
+    // rank/region/language/partySize는 선택 (비우면 상관없음)
+    public record MatchRequestDto(String gameName, Integer rank, String region, String language, Integer partySize) {}
     public record MatchResponseDto(Long gameId, String gameName, String status) {}
     public record MatchUserDto(String username, String displayName, String email, String avatarUrl) {}
+    // 압축 형식: 유저 1명 = [username, displayName, avatarUrl] (필드 이름과 이메일 없이)
+    public record CompactStatusDto(long v, int total, List<List<String>> users) {}
+    // since 이후 변경분. reset이면 join이 현재 대기열 전체이므로 받는 쪽 목록을 통째로 바꾼다
+    public record StatusDeltaDto(long v, boolean reset, int total, List<List<String>> join, List<String> leave) {}
     public record PartyRequestDto(Long gameId) {}
+    public record PartyStatusDto(String partyId, Long gameId, String status, List<String> usernames,
+                                 int attempts, Object botResponse, String error) {}
 
 
     @PostMapping("/start")
-    @Transactional
     public ResponseEntity<?> startMatching(
             @AuthenticationPrincipal OAuth2User principal,
             @RequestBody MatchRequestDto request) {
@@ -50,16 +73,29 @@ public class MatchingController {
         try {
             if (principal == null) return ResponseEntity.status(401).build();
             String discordId = String.valueOf(principal.getAttributes().get("id"));
-            UserTable user = userRepository.findByDiscordId(discordId)
+            UserIdentity user = userIdentityCache.find(discordId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
             String inputGameName = request.gameName();
             if (inputGameName == null || inputGameName.trim().isEmpty()) {
                 return ResponseEntity.badRequest().body(Map.of("error", "게임 이름을 입력해주세요."));
             }
+            MatchAttributes attributes;
+            try {
+                attributes = new MatchAttributes(request.rank(), request.region(), request.language(), request.partySize());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            }
 
-            // 1. 게임 검색
-            SteamApiService.SteamGameInfo gameInfo = steamApiService.findGameOnSteam(inputGameName);
+            // 1. 게임 검색. 스팀 호출 한도 초과 / 통신 실패는 "못 찾음"이 아니므로 503 + Retry-After
+            SteamApiService.SteamGameInfo gameInfo;
+            try {
+                gameInfo = steamApiService.findGameOnSteam(inputGameName);
+            } catch (RestClientException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, GAME_SEARCH_RETRY_AFTER_SECONDS)
+                        .body(Map.of("error", "게임 검색이 잠시 밀리고 있습니다. 잠시 후 다시 시도해주세요."));
+            }
 
             if (gameInfo == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -67,25 +103,20 @@ public class MatchingController {
             }
 
             // 2. 게임 정보 저장/조회
-            Game game = gameRepository.findBySteamAppId(gameInfo.steamAppId())
-                    .orElseGet(() -> {
-                        Game newGame = Game.builder()
-                                .steamAppId(gameInfo.steamAppId())
-                                .name(gameInfo.name())
-                                .build();
-                        return gameRepository.save(newGame);
-                    });
-
-            // 3. [핵심 수정] 기존 매칭 삭제 후 '즉시 반영(flush)' (500 에러 방지)
-            matchingQueueRepository.deleteByUser(user);
-            matchingQueueRepository.flush(); // <--- 이게 없으면 재매칭 시 에러 날 수 있음
-
-            // 4. 새 매칭 등록
-            MatchingQueue newMatch = MatchingQueue.builder()
-                    .user(user)
-                    .game(game)
-                    .build();
-            matchingQueueRepository.save(newMatch);
+            Game game = gameRepository.findBySteamAppId(gameInfo.steamAppId()).orElse(null);
+            if (game == null) {
+                game = gameRepository.save(Game.builder()
+                        .steamAppId(gameInfo.steamAppId())
+                        .name(gameInfo.name())
+                        .build());
+                // 자동완성 인덱스에 새 게임 반영 (재빌드는 다른 스레드에서)
+                eventPublisher.publishEvent(new GameRegisteredEvent(game.getId(), game.getSteamAppId(), game.getName()));
+            }
+
+            // 3. 메모리 대기열에 등록 (기존 대기열은 엔진이 알아서 빠지게 함, DB 기록은 비동기 저널)
+            //    서버가 여러 대면 이 게임 담당 노드의 대기열로 들어간다
+            clusterCoordinator.join(user.id(), game.getId(), user.discordId(), user.username(),
+                    user.displayName(), user.email(), user.avatarUrl(), attributes);
 
             return ResponseEntity.ok(new MatchResponseDto(game.getId(), game.getName(), "Matching started"));
 
@@ -96,31 +127,120 @@ public class MatchingController {
         }
     }
 
+    /**
+     * 대기열 현황. 대기 순서대로 page 단위 조회하고 전체 인원은 X-Total-Count 헤더로 전달.
+     * ETag(대기열 버전)가 If-None-Match와 같으면 본문 없이 304.
+     * view=compact 이면 유저를 배열로 줄인 형식, since=버전 이면 그 뒤의 참가/빠짐만 (page/size 무시).
+     */
     @GetMapping("/status/{gameId}")
-    public ResponseEntity<?> getMatchingStatus(@PathVariable Long gameId) {
-        List<MatchingQueue> queue = matchingQueueRepository.findByGameId(gameId);
-
-        List<MatchUserDto> usersInQueue = queue.stream()
-                .map(mq -> mq.getUser())
-                .map(u -> new MatchUserDto(
-                        u.getUsername(),
-                        u.getDisplayName(),
-                        u.getEmail(),
-                        u.getAvatarUrl()
-                ))
+    public ResponseEntity<?> getMatchingStatus(@PathVariable Long gameId,
+                                               @RequestParam(defaultValue = "0") int page,
+                                               @RequestParam(defaultValue = "100") int size,
+                                               @RequestParam(defaultValue = "full") String view,
+                                               @RequestParam(required = false) Long since,
+                                               @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                               String ifNoneMatch) {
+        if (page < 0 || size < 1 || size > MAX_STATUS_PAGE_SIZE) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("error", "page는 0 이상, size는 1~" + MAX_STATUS_PAGE_SIZE + " 사이여야 합니다."));
+        }
+        if (!view.equals("full") && !view.equals("compact")) {
+            return ResponseEntity.badRequest().body(Map.of("error", "view는 full 또는 compact 입니다."));
+        }
+
+        if (since != null) {
+            QueueChanges changes = clusterCoordinator.changesSince(gameId, since);
+            if (!changes.reset() && changes.joined().isEmpty() && changes.left().isEmpty()) {
+                return notModified(changes.version(), changes.total());
+            }
+            return statusResponse(changes.version(), changes.total()).body(new StatusDeltaDto(
+                    changes.version(), changes.reset(), changes.total(),
+                    changes.joined().stream().map(MatchingController::toCompactUser).collect(Collectors.toList()),
+                    changes.left().stream().map(QueueEntry::username).collect(Collectors.toList())));
+        }
+
+        QueueSlice slice = clusterCoordinator.snapshot(gameId, page * size, size);
+        if (etagMatches(ifNoneMatch, slice.version())) {
+            return notModified(slice.version(), slice.total());
+        }
+        if (view.equals("compact")) {
+            return statusResponse(slice.version(), slice.total()).body(new CompactStatusDto(
+                    slice.version(), slice.total(),
+                    slice.entries().stream().map(MatchingController::toCompactUser).collect(Collectors.toList())));
+        }
+        List<MatchUserDto> users = slice.entries().stream()
+                .map(MatchingController::toMatchUser)
+                .collect(Collectors.toList());
+        return statusResponse(slice.version(), slice.total()).body(users);
+    }
+
+    // 브라우저 캐시가 매번 If-None-Match로 재검증하도록 no-cache (기존 폴링 코드도 304 혜택을 받는다)
+    private static ResponseEntity.BodyBuilder statusResponse(long version, int total) {
+        return ResponseEntity.ok()
+                .eTag(etagOf(version))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header("X-Total-Count", String.valueOf(total));
+    }
+
+    private static ResponseEntity<?> notModified(long version, int total) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etagOf(version))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .header("X-Total-Count", String.valueOf(total))
+                .build();
+    }
+
+    // gzip 압축 시 Tomcat이 강한 ETag를 약하게 바꾸므로 처음부터 약한 ETag
+    private static String etagOf(long version) {
+        return "W/\"" + version + "\"";
+    }
+
+    static boolean etagMatches(String ifNoneMatch, long version) {
+        if (ifNoneMatch == null) return false;
+        String tag = "\"" + version + "\"";
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals(tag) || c.equals("*")) return true;
+        }
+        return false;
+    }
+
+    // 폴링 대신 SSE로 대기열 변경(join/leave)을 받는다. 첫 이벤트는 현재 대기열 스냅샷.
+    // 스냅샷은 구독을 건 뒤에 읽으므로 그 사이의 변경도 빠지지 않는다.
+    @GetMapping(value = "/stream/{gameId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamMatchingStatus(@PathVariable Long gameId) {
+        return statusBroadcaster.subscribe(gameId, () -> loadQueueUsers(gameId));
+    }
+
+    private List<MatchUserDto> loadQueueUsers(Long gameId) {
+        return clusterCoordinator.snapshot(gameId, 0, Integer.MAX_VALUE).entries().stream()
+                .map(MatchingController::toMatchUser)
                 .collect(Collectors.toList());
+    }
 
-        return ResponseEntity.ok(usersInQueue);
+    // null이 섞일 수 있어 List.of 대신 Arrays.asList
+    private static List<String> toCompactUser(QueueEntry e) {
+        return Arrays.asList(e.username(), e.displayName(), e.avatarUrl());
+    }
+
+    private static MatchUserDto toMatchUser(QueueEntry e) {
+        return new MatchUserDto(
+                e.username(),
+                e.displayName(),
+                e.email(),
+                e.avatarUrl()
+        );
     }
 
     @PostMapping("/stop")
     public ResponseEntity<?> stopMatching(@AuthenticationPrincipal OAuth2User principal) {
         if (principal == null) return ResponseEntity.status(401).build();
         String discordId = String.valueOf(principal.getAttributes().get("id"));
-        UserTable user = userRepository.findByDiscordId(discordId)
+        UserIdentity user = userIdentityCache.find(discordId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
 
-        matchingQueueRepository.deleteByUser(user);
+        clusterCoordinator.leave(user.id());
         return ResponseEntity.ok(Map.of("status", "matching stopped"));
     }
 
@@ -130,44 +250,51 @@ public class MatchingController {
 
         if (principal == null) return ResponseEntity.status(401).build();
 
-        List<MatchingQueue> queue = matchingQueueRepository.findByGameId(request.gameId());
-
-        if (queue.isEmpty()) {
-            return ResponseEntity.badRequest().body(Map.of("error", "매칭 중인 유저가 없습니다."));
-        }
-
-        List<String> memberIds = queue.stream()
-                .map(mq -> mq.getUser().getDiscordId())
-                .collect(Collectors.toList());
-
-        log.info("봇 서버로 요청 전송 시작. URL: {}, IDs: {}", BOT_API_URL, memberIds);
-
+        // 수동 파티 생성: 대기열 앞에서부터 파티 인원만큼 꺼내 outbox에 넣고 바로 응답 (봇 호출은 백그라운드)
+        // 꺼내기/저장은 게임 담당 노드에서 실행되고, 여기서는 저장된 outbox를 읽어 응답한다
         try {
-            Map<String, Object> botRequest = Map.of("memberIds", memberIds);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(botRequest, headers);
-
-            ResponseEntity<Map> response = restTemplate.postForEntity(BOT_API_URL, entity, Map.class);
-
-            return ResponseEntity.ok(response.getBody());
-
-        } catch (HttpClientErrorException | HttpServerErrorException e) {
-            log.error("봇 서버 응답 에러. 상태코드: {}, 내용: {}", e.getStatusCode(), e.getResponseBodyAsString());
-            return ResponseEntity.status(e.getStatusCode())
-                    .body(Map.of("error", "봇 서버 거절 (" + e.getStatusCode() + "): " + e.getResponseBodyAsString()));
-
-        } catch (ResourceAccessException e) {
-            log.error("봇 서버 접속 불가", e);
-            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
-                    .body(Map.of("error", "봇 서버에 접속할 수 없습니다. (서버가 자고 있거나 주소가 틀림)"));
+            Optional<PartyOutbox> created = clusterCoordinator.createParty(request.gameId())
+                    .flatMap(partyOutboxService::find);
+            if (created.isEmpty()) {
+                return ResponseEntity.badRequest().body(Map.of("error", "매칭 중인 유저가 없습니다."));
+            }
+            PartyOutbox outbox = created.get();
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/match/party/" + outbox.getId()))
+                    .body(toPartyStatus(outbox));
 
         } catch (Exception e) {
-            log.error("알 수 없는 에러 발생", e);
+            log.error("파티 요청 저장 실패", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(Map.of("error", "알 수 없는 에러: " + e.getMessage()));
+                    .body(Map.of("error", "파티 요청 저장 실패: " + e.getMessage()));
+        }
+    }
+
+    // 파티 생성 진행 상황 조회 (PENDING → SENT / FAILED). SENT면 botResponse에 초대 링크
+    @GetMapping("/party/{partyId}")
+    public ResponseEntity<?> getPartyStatus(@PathVariable String partyId) {
+        return partyOutboxService.find(partyId)
+                .<ResponseEntity<?>>map(outbox -> ResponseEntity.ok(toPartyStatus(outbox)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(Map.of("error", "파티 요청을 찾을 수 없습니다.")));
+    }
+
+    private PartyStatusDto toPartyStatus(PartyOutbox outbox) {
+        Object botResponse = null;
+        if (outbox.getBotResponse() != null) {
+            try {
+                botResponse = objectMapper.readValue(outbox.getBotResponse(), Map.class);
+            } catch (JsonProcessingException e) {
+                botResponse = outbox.getBotResponse();
+            }
         }
+        return new PartyStatusDto(
+                outbox.getId(),
+                outbox.getGameId(),
+                outbox.getStatus().name(),
+                Arrays.asList(outbox.getUsernames().split(",")),
+                outbox.getAttempts(),
+                botResponse,
+                outbox.getLastError());
     }
-}
\ No newline at end of file
+}
@@ -11,8 +11,11 @@ import lombok.*;
 @AllArgsConstructor
 @Builder
 public class Game {
+    // IDENTITY는 insert마다 DB가 id를 정해야 해서 JDBC batch가 꺼진다 → id_sequences 테이블에서 50개씩 받아 씀
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "games_id")
+    @TableGenerator(name = "games_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "games", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -20,4 +23,10 @@ public class Game {
 
     @Column(nullable = false)
     private String name;       // 게임 이름
+
+    @Column(name = "party_size")
+    private Integer partySize; // 한 파티 인원 (null이면 기본값 사용)
+
+    @Column(name = "queue_ttl_minutes")
+    private Integer queueTtlMinutes; // 대기열 최대 대기 시간(분) (null이면 기본값 사용)
 }
\ No newline at end of file
@@ -0,0 +1,34 @@
+package pbl_game_pot.game_pot.db;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 사용자가 입력한 게임 이름(정규화) → 스팀 검색 결과.
+ * 서버가 재시작돼도 같은 검색어로 스팀 API를 다시 부르지 않도록 저장해 둔다.
+ */
+@Entity
+@Table(name = "game_aliases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameAlias {
+    @Id
+    @Column(length = 100)
+    private String alias;       // 정규화된 입력값 (소문자, 공백 정리)
+
+    @Column(nullable = false)
+    private Long steamAppId;    // 스팀 앱 ID
+
+    @Column(nullable = false)
+    private String name;        // 스팀 공식 명칭
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
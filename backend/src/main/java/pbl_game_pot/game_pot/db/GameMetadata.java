@@ -0,0 +1,31 @@
+package pbl_game_pot.game_pot.db;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 스팀 appdetails에서 가져온 게임 정보 중 화면에 쓰는 것만 저장 (게임당 1행).
+ * 장르는 별도 테이블 없이 "|"로 이어 한 칸에 넣는다.
+ */
+@Entity
+@Table(name = "game_metadata")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameMetadata {
+    @Id
+    private Long steamAppId;        // 스팀 앱 ID (games.steamAppId)
+
+    @Column(name = "header_image", length = 300)
+    private String headerImage;     // 스팀 헤더 이미지 URL (없으면 null)
+
+    @Column(length = 200)
+    private String genres;          // 장르 이름 ("액션|RPG", 없으면 null)
+
+    @Column(name = "fetched_at", nullable = false)
+    private LocalDateTime fetchedAt; // 스팀에서 마지막으로 가져온 시각
+}
@@ -0,0 +1,6 @@
+package pbl_game_pot.game_pot.db;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface GameMetadataRepository extends JpaRepository<GameMetadata, Long> {
+}
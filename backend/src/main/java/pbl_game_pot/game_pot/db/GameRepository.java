@@ -1,9 +1,19 @@
 package pbl_game_pot.game_pot.db;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface GameRepository extends JpaRepository<Game, Long> {
     // SteamAppId로 게임을 찾는 기능
     Optional<Game> findBySteamAppId(Long steamAppId);
+
+    // 게임별 대기 시간 설정 중 가장 긴 값 (DB 잔여 행 정리 기준)
+    @Query("select max(g.queueTtlMinutes) from Game g")
+    Integer findMaxQueueTtlMinutes();
+
+    // 대기 시간을 따로 정한 게임만 (만료 스케줄러가 미리 읽어 둠)
+    List<Game> findByQueueTtlMinutesIsNotNull();
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package pbl_game_pot.game_pot.db;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대기열/파티 이벤트 기록 (추가만 하고 고치지 않음). 분석용 집계는 {@link MatchingRollup}에서 읽고,
+ * 이 테이블은 집계를 다시 만들거나 따로 분석할 때만 본다. 행은 MatchingEventBatchRepository로 묶어서 넣는다.
+ */
+@Entity
+// 보관 기간 지난 행 정리용 occurred_at 인덱스만 둔다 (쓰기 비용 최소화)
+@Table(name = "matching_events", indexes = @Index(name = "idx_matching_events_occurred", columnList = "occurred_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MatchingEvent {
+
+    public enum Type { JOIN, LEAVE, MATCHED, EXPIRE, PARTY }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private Type type;
+
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;        // games.id (FK 없음: 기록은 게임 행과 관계없이 남김)
+
+    @Column(name = "user_id")
+    private Long userId;        // PARTY면 null
+
+    @Column(name = "wait_ms")
+    private Integer waitMs;     // 대기열에서 빠질 때까지 기다린 시간 (JOIN / PARTY는 null)
+
+    @Column(name = "party_size")
+    private Integer partySize;  // PARTY만
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
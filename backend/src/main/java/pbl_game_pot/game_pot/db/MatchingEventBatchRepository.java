@@ -0,0 +1,11 @@
+package pbl_game_pot.game_pot.db;
+
+import java.util.List;
+
+/**
+ * matching_events 묶음 insert (JDBC batch 1번).
+ */
+public interface MatchingEventBatchRepository {
+
+    void appendAll(List<MatchingEvent> events);
+}
@@ -0,0 +1,30 @@
+package pbl_game_pot.game_pot.db;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.List;
+
+// 호출하는 쪽 트랜잭션(JpaTransactionManager)의 커넥션을 그대로 쓴다
+@RequiredArgsConstructor
+public class MatchingEventBatchRepositoryImpl implements MatchingEventBatchRepository {
+
+    private static final String INSERT = "insert into matching_events "
+            + "(type, game_id, user_id, wait_ms, party_size, occurred_at) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void appendAll(List<MatchingEvent> events) {
+        if (events.isEmpty()) return;
+        jdbcTemplate.batchUpdate(INSERT, events, events.size(), (ps, e) -> {
+            ps.setString(1, e.getType().name());
+            ps.setLong(2, e.getGameId());
+            ps.setObject(3, e.getUserId(), Types.BIGINT);
+            ps.setObject(4, e.getWaitMs(), Types.INTEGER);
+            ps.setObject(5, e.getPartySize(), Types.INTEGER);
+            ps.setObject(6, e.getOccurredAt());
+        });
+    }
+}
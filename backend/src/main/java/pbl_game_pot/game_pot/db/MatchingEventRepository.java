@@ -0,0 +1,18 @@
+package pbl_game_pot.game_pot.db;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+public interface MatchingEventRepository extends JpaRepository<MatchingEvent, Long>, MatchingEventBatchRepository {
+
+    // 보관 기간 정리용: LIMIT으로 한 번에 지우는 행 수를 제한
+    @Transactional
+    @Modifying
+    @Query(value = "delete from matching_events where occurred_at < :cutoff limit :limit", nativeQuery = true)
+    int deleteBatchOccurredBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
@@ -7,9 +7,13 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-// 한 유저가 한 게임에만 대기열을 걸 수 있도록 유니크 제약
+// 한 유저는 대기열 행 1개만 가질 수 있도록 user_id 유니크 제약 (참가/이동은 이 키로 upsert)
+// 게임별 대기 순서 조회용 복합 인덱스 (game_id, created_at), 오래된 행 정리용 created_at 인덱스
 @Table(name = "matching_queue", uniqueConstraints = {
-        @UniqueConstraint(columnNames = {"user_id", "game_id"})
+        @UniqueConstraint(name = "uk_matching_queue_user", columnNames = {"user_id"})
+}, indexes = {
+        @Index(name = "idx_matching_queue_game_created", columnList = "game_id, created_at"),
+        @Index(name = "idx_matching_queue_created", columnList = "created_at")
 })
 @Getter
 @Setter
@@ -17,6 +21,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Builder
 public class MatchingQueue {
+    // 행은 네이티브 upsert(MatchingQueueBatchRepository)로만 넣으므로 AUTO_INCREMENT 유지
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -30,6 +35,14 @@ public class MatchingQueue {
     private Game game;       // 매칭하려는 게임 (FK)
 
     @CreationTimestamp
-    @Column(nullable = false, updatable = false)
+    @Column(nullable = false)
     private LocalDateTime createdAt; // 매칭 시작 시간
+
+    // 선택 매칭 조건 (NULL = 상관없음)
+    private Integer rankBand;        // 랭크 구간
+    @Column(length = 16)
+    private String region;           // 서버 지역
+    @Column(length = 16)
+    private String voiceLanguage;    // 음성 채팅 언어
+    private Integer partySize;       // 희망 파티 인원
 }
\ No newline at end of file
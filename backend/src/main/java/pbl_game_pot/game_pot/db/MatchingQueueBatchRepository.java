@@ -0,0 +1,22 @@
+package pbl_game_pot.game_pot.db;
+
+import java.util.List;
+
+/**
+ * matching_queue 묶음 쓰기 (MatchingQueueRepository에 붙는 커스텀 구현).
+ */
+public interface MatchingQueueBatchRepository {
+
+    /**
+     * 참가/게임 이동 여러 건을 JDBC batch 1번으로 upsert (user_id 유니크 키 충돌 시 기존 행 갱신).
+     * 기존 행이 더 나중에 줄 선 기록이면(다른 노드가 먼저 반영한 게임 이동) 덮어쓰지 않는다.
+     * MySQL 드라이버는 rewriteBatchedStatements=true 면 다중 VALUES 한 문장으로 보낸다.
+     */
+    void upsertAll(List<QueueUpsertRow> rows);
+
+    /**
+     * 이탈 여러 건을 JDBC batch 1번으로 삭제. 행이 아직 이탈한 게임일 때만 지운다
+     * (그 사이 다른 노드가 새 게임으로 바꿔 둔 행은 그대로 둠).
+     */
+    void deleteAllInGame(List<QueueLeaveRow> rows);
+}
@@ -0,0 +1,53 @@
+package pbl_game_pot.game_pot.db;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Types;
+import java.util.List;
+
+// 호출하는 쪽 트랜잭션(JpaTransactionManager)의 커넥션을 그대로 쓴다
+@RequiredArgsConstructor
+public class MatchingQueueBatchRepositoryImpl implements MatchingQueueBatchRepository {
+
+    private static final String UPSERT = "insert into matching_queue "
+            + "(user_id, game_id, created_at, rank_band, region, voice_language, party_size) "
+            + "values (?, ?, ?, ?, ?, ?, ?) "
+            + "on duplicate key update "
+            + ifNewer("game_id") + ", " + ifNewer("rank_band") + ", " + ifNewer("region") + ", "
+            + ifNewer("voice_language") + ", " + ifNewer("party_size") + ", "
+            // MySQL은 앞 컬럼부터 차례로 바꾸므로 비교 기준인 created_at은 마지막에
+            + "created_at = greatest(created_at, values(created_at))";
+
+    private static final String DELETE_IN_GAME = "delete from matching_queue where user_id = ? and game_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertAll(List<QueueUpsertRow> rows) {
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(UPSERT, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.userId());
+            ps.setLong(2, row.gameId());
+            ps.setObject(3, row.createdAt());
+            ps.setObject(4, row.rankBand(), Types.INTEGER);
+            ps.setString(5, row.region());
+            ps.setString(6, row.voiceLanguage());
+            ps.setObject(7, row.partySize(), Types.INTEGER);
+        });
+    }
+
+    @Override
+    public void deleteAllInGame(List<QueueLeaveRow> rows) {
+        if (rows.isEmpty()) return;
+        jdbcTemplate.batchUpdate(DELETE_IN_GAME, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.userId());
+            ps.setLong(2, row.gameId());
+        });
+    }
+
+    // 새로 줄 선 기록(created_at이 같거나 나중)일 때만 값을 바꾼다
+    private static String ifNewer(String column) {
+        return column + " = case when values(created_at) >= created_at then values(" + column + ") else " + column + " end";
+    }
+}
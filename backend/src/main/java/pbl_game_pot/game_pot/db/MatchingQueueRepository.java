@@ -1,25 +1,38 @@
 package pbl_game_pot.game_pot.db;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
-import pbl_game_pot.game_pot.db.UserTable;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
-public interface MatchingQueueRepository extends JpaRepository<MatchingQueue, Long> {
+public interface MatchingQueueRepository extends JpaRepository<MatchingQueue, Long>, MatchingQueueBatchRepository {
 
-    // 특정 게임의 대기열에 있는 모든 매칭 상태 찾기 (매칭 현황판용)
-    List<MatchingQueue> findByGameId(Long gameId);
+    // 서버 시작 시 메모리 대기열 복구용. DTO로 바로 받아서 유저 수와 관계없이 페이지당 쿼리 1번.
+    // (createdAt, id) 기준 keyset 페이징: 앞 페이지의 마지막 행 다음부터
+    @Query("select new pbl_game_pot.game_pot.db.QueueReplayRow("
+            + "mq.id, u.id, mq.game.id, u.discordId, u.username, u.displayName, u.email, u.avatarUrl, mq.createdAt, "
+            + "mq.rankBand, mq.region, mq.voiceLanguage, mq.partySize) "
+            + "from MatchingQueue mq join mq.user u "
+            + "where mq.createdAt > :afterCreatedAt or (mq.createdAt = :afterCreatedAt and mq.id > :afterId) "
+            + "order by mq.createdAt, mq.id")
+    List<QueueReplayRow> findReplayPage(@Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                        @Param("afterId") Long afterId,
+                                        Pageable pageable);
 
-    // 특정 유저 ID로 매칭 상태 찾기
-    Optional<MatchingQueue> findByUserId(Long userId);
+    // 파티 저장용: 엔티티 로딩 없이 여러 유저를 한 문장으로 삭제
+    @Modifying
+    @Query("delete from MatchingQueue mq where mq.user.id in :userIds")
+    int deleteAllByUserIdIn(@Param("userIds") Collection<Long> userIds);
 
-    // 특정 유저가 대기 중인 모든 매칭 상태 삭제 (매칭 시작 시 이전 매칭 취소용)
+    // 잔여 행 정리용: LIMIT으로 한 번에 지우는 행 수를 제한해서 트랜잭션/락을 짧게 유지
     @Transactional
-    void deleteByUser(UserTable user);
-
-    @Transactional
-    int deleteByCreatedAtBefore(LocalDateTime timestamp);
-}
\ No newline at end of file
+    @Modifying
+    @Query(value = "delete from matching_queue where created_at < :cutoff limit :limit", nativeQuery = true)
+    int deleteBatchCreatedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+}
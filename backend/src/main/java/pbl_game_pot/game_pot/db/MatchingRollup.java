@@ -0,0 +1,39 @@
+package pbl_game_pot.game_pot.db;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 게임별 분/시간 단위 대기열 집계. 서버가 이벤트를 받을 때마다 메모리에서 더해 두었다가
+ * 주기적으로 증분만 upsert한다 (MatchingRollupBatchRepository). 분석 API는 이 테이블만 읽는다.
+ */
+@Entity
+@Table(name = "matching_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MatchingRollup {
+
+    @EmbeddedId
+    private MatchingRollupId id;
+
+    @Column(nullable = false)
+    private int arrivals;       // 대기열 참가 수
+
+    @Column(nullable = false)
+    private int matched;        // 파티로 매칭되어 빠진 수
+
+    @Column(name = "left_count", nullable = false)
+    private int leftCount;      // 스스로 나간 수
+
+    @Column(nullable = false)
+    private int expired;        // 대기 시간 초과로 빠진 수
+
+    @Column(nullable = false)
+    private int parties;        // 초대 링크까지 만든 파티 수
+
+    @Column(name = "wait_sum_ms", nullable = false)
+    private long waitSumMs;     // 매칭까지 기다린 시간 합 (평균 = waitSumMs / matched)
+}
@@ -0,0 +1,11 @@
+package pbl_game_pot.game_pot.db;
+
+import java.util.List;
+
+/**
+ * 집계 증분 반영. 같은 (게임, 단위, 구간) 행이 있으면 값을 더한다 (여러 서버 / 재시작 후에도 누적).
+ */
+public interface MatchingRollupBatchRepository {
+
+    void addAll(List<MatchingRollup> deltas);
+}
@@ -0,0 +1,36 @@
+package pbl_game_pot.game_pot.db;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+// 호출하는 쪽 트랜잭션(JpaTransactionManager)의 커넥션을 그대로 쓴다
+@RequiredArgsConstructor
+public class MatchingRollupBatchRepositoryImpl implements MatchingRollupBatchRepository {
+
+    private static final String ADD = "insert into matching_rollups "
+            + "(game_id, granularity, bucket_start, arrivals, matched, left_count, expired, parties, wait_sum_ms) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "on duplicate key update arrivals = arrivals + values(arrivals), matched = matched + values(matched), "
+            + "left_count = left_count + values(left_count), expired = expired + values(expired), "
+            + "parties = parties + values(parties), wait_sum_ms = wait_sum_ms + values(wait_sum_ms)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void addAll(List<MatchingRollup> deltas) {
+        if (deltas.isEmpty()) return;
+        jdbcTemplate.batchUpdate(ADD, deltas, deltas.size(), (ps, r) -> {
+            ps.setLong(1, r.getId().getGameId());
+            ps.setString(2, r.getId().getGranularity().name());
+            ps.setObject(3, r.getId().getBucketStart());
+            ps.setInt(4, r.getArrivals());
+            ps.setInt(5, r.getMatched());
+            ps.setInt(6, r.getLeftCount());
+            ps.setInt(7, r.getExpired());
+            ps.setInt(8, r.getParties());
+            ps.setLong(9, r.getWaitSumMs());
+        });
+    }
+}
@@ -0,0 +1,27 @@
+package pbl_game_pot.game_pot.db;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Embeddable
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class MatchingRollupId implements Serializable {
+
+    public enum Granularity { MINUTE, HOUR }
+
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 6)
+    private Granularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart; // 구간 시작 시각 (분/시 단위로 자른 서버 시각)
+}
@@ -0,0 +1,29 @@
+package pbl_game_pot.game_pot.db;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface MatchingRollupRepository extends JpaRepository<MatchingRollup, MatchingRollupId>, MatchingRollupBatchRepository {
+
+    // 기본 키 (game_id, granularity, bucket_start) 순서 그대로라 구간 조회는 인덱스 범위 스캔
+    @Query("select r from MatchingRollup r where r.id.gameId = :gameId and r.id.granularity = :granularity "
+            + "and r.id.bucketStart >= :from and r.id.bucketStart < :to order by r.id.bucketStart")
+    List<MatchingRollup> findRange(@Param("gameId") Long gameId,
+                                   @Param("granularity") MatchingRollupId.Granularity granularity,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to);
+
+    // 보관 기간 정리용: LIMIT으로 한 번에 지우는 행 수를 제한
+    @Transactional
+    @Modifying
+    @Query(value = "delete from matching_rollups where granularity = :granularity and bucket_start < :cutoff limit :limit",
+            nativeQuery = true)
+    int deleteBatchBefore(@Param("granularity") String granularity, @Param("cutoff") LocalDateTime cutoff,
+                          @Param("limit") int limit);
+}
@@ -0,0 +1,88 @@
+package pbl_game_pot.game_pot.db;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 봇 서버로 보낼 파티 생성 요청 (outbox).
+ * 대기열에서 인원을 꺼낸 트랜잭션에서 같이 저장하고, 실제 전송은 PartyOutboxDispatcher가 나중에 한다.
+ * id는 클라이언트가 조회하는 파티 ID이자 봇 서버에 보내는 Idempotency-Key.
+ * id를 직접 정하므로 Persistable로 새 행임을 알려 save()가 merge(SELECT 후 INSERT) 대신 바로 persist 하게 한다.
+ */
+@Entity
+@Table(name = "party_outbox", indexes = @Index(name = "idx_party_outbox_due", columnList = "status, next_attempt_at"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PartyOutbox implements Persistable<String> {
+
+    public enum Status { PENDING, SENT, FAILED }
+
+    @Id
+    @Column(length = 36)
+    private String id;              // UUID
+
+    @Column(name = "game_id", nullable = false)
+    private Long gameId;
+
+    @Column(name = "user_ids", nullable = false, columnDefinition = "TEXT")
+    private String userIds;         // 쉼표 구분 (실패 시 대기열 복귀용)
+
+    @Column(name = "member_ids", nullable = false, columnDefinition = "TEXT")
+    private String memberIds;       // 쉼표 구분 디스코드 ID (봇 요청 본문)
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String usernames;       // 쉼표 구분
+
+    @Column(name = "joined_ats", columnDefinition = "TEXT")
+    private String joinedAts;       // 쉼표 구분 멤버별 원래 참가 시각, user_ids와 같은 순서 (대기열 복귀 / 매칭 통계용)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "bot_response", columnDefinition = "TEXT")
+    private String botResponse;     // 봇 응답 JSON (초대 링크 등)
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    // 빌더로 만든 객체 = 아직 저장 전. DB에서 읽었거나 저장한 뒤에는 false
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean fresh = true;
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        fresh = false;
+    }
+}
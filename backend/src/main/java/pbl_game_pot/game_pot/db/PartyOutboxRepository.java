@@ -0,0 +1,13 @@
+package pbl_game_pot.game_pot.db;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PartyOutboxRepository extends JpaRepository<PartyOutbox, String> {
+    // 전송할 차례가 된 요청 (오래된 것부터)
+    List<PartyOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByCreatedAt(
+            PartyOutbox.Status status, LocalDateTime now, Pageable pageable);
+}
@@ -0,0 +1,8 @@
+package pbl_game_pot.game_pot.db;
+
+/**
+ * 대기열 저널이 matching_queue에서 지울 이탈 1건 ({@link MatchingQueueBatchRepository#deleteAllInGame}).
+ * 행이 아직 gameId 게임일 때만 지운다.
+ */
+public record QueueLeaveRow(Long userId, Long gameId) {
+}
@@ -0,0 +1,21 @@
+package pbl_game_pot.game_pot.db;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대기열 복구용 읽기 전용 행. 엔티티/연관관계 로딩 없이 matching_queue + users 조인 한 번으로 채운다.
+ */
+public record QueueReplayRow(Long id,
+                             Long userId,
+                             Long gameId,
+                             String discordId,
+                             String username,
+                             String displayName,
+                             String email,
+                             String avatarUrl,
+                             LocalDateTime createdAt,
+                             Integer rankBand,
+                             String region,
+                             String voiceLanguage,
+                             Integer partySize) {
+}
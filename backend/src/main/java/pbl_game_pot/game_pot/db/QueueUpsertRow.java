@@ -0,0 +1,15 @@
+package pbl_game_pot.game_pot.db;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대기열 저널이 matching_queue에 반영할 참가/게임 이동 1건 ({@link MatchingQueueBatchRepository#upsertAll}).
+ */
+public record QueueUpsertRow(Long userId,
+                             Long gameId,
+                             LocalDateTime createdAt,
+                             Integer rankBand,
+                             String region,
+                             String voiceLanguage,
+                             Integer partySize) {
+}
@@ -7,7 +7,11 @@ import lombok.*;
 @Table(name = "users", indexes = @Index(name="idx_users_discord_id", columnList="discordId", unique=true))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class UserTable {
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // id_sequences 테이블에서 50개씩 받아 씀 (Game과 같은 이유, batch insert 가능)
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "users_id")
+    @TableGenerator(name = "users_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "users", allocationSize = 50)
     private Long id;                 // pk
 
     @Column(nullable=false, unique=true, length=32)
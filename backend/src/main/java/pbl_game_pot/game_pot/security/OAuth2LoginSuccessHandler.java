@@ -9,8 +9,8 @@ import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.UriComponentsBuilder;
-import pbl_game_pot.game_pot.db.UserRepository;
-import pbl_game_pot.game_pot.db.UserTable;
+import pbl_game_pot.game_pot.service.UserIdentity;
+import pbl_game_pot.game_pot.service.UserIdentityCache;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -19,7 +19,7 @@ import java.nio.charset.StandardCharsets;
 @RequiredArgsConstructor
 public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
 
-    private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
 
     @Value("${app.frontend.success-redirect}")
     private String successRedirectUrl;
@@ -32,15 +32,16 @@ public class OAuth2LoginSuccessHandler implements AuthenticationSuccessHandler {
         OAuth2User principal = (OAuth2User) authentication.getPrincipal();
         String discordId = String.valueOf(principal.getAttributes().get("id"));
 
-        UserTable user = userRepository.findByDiscordId(discordId)
+        // loadUser에서 방금 저장한 값이 캐시에 있으므로 보통 DB 조회 없음
+        UserIdentity user = userIdentityCache.find(discordId)
                 .orElseThrow(() -> new IllegalStateException("OAuth2 로그인 후 DB에서 사용자를 찾을 수 없습니다."));
 
         String targetUrl = UriComponentsBuilder.fromUriString(successRedirectUrl)
-                .queryParam("id", user.getId())
-                .queryParam("discordId", user.getDiscordId())
-                .queryParam("username", user.getUsername())
-                .queryParam("displayName", user.getDisplayName() != null ? user.getDisplayName() : "")
-                .queryParam("email", user.getEmail() != null ? user.getEmail() : "")
+                .queryParam("id", user.id())
+                .queryParam("discordId", user.discordId())
+                .queryParam("username", user.username())
+                .queryParam("displayName", user.displayName() != null ? user.displayName() : "")
+                .queryParam("email", user.email() != null ? user.email() : "")
                 .build()
                 .encode(StandardCharsets.UTF_8)
                 .toUriString();
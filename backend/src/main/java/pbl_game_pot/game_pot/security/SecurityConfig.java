@@ -42,6 +42,8 @@ public class SecurityConfig {
                         .requestMatchers("/", "/index.html", "/favicon.*", "/manifest.*",
                                 "/assets/**", "/css/**", "/js/**", "/images/**").permitAll()
                         .requestMatchers("/oauth2/**", "/login/**").permitAll()
+                        // 헬스체크 / Prometheus 수집 (외부 노출은 프록시나 방화벽에서 막을 것)
+                        .requestMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/public/**").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/me").authenticated()
                         .requestMatchers("/api/match/**").authenticated()
@@ -0,0 +1,51 @@
+package pbl_game_pot.game_pot.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 디스코드 봇 서버(Render) 호출 담당. 파티 1개 = 호출 1번.
+ * HTTP 오류는 RestTemplate 예외 그대로 던진다 (호출하는 쪽에서 상태코드별로 처리).
+ * 봇 전용 RestTemplate(타임아웃/bulkhead 분리)을 쓰므로 봇이 느려도 스팀 검색에는 영향이 없다.
+ */
+@Service
+@Slf4j
+public class BotApiClient {
+
+    private final RestTemplate restTemplate;
+    private final String botApiUrl;
+
+    // 기본값은 팀원이 만든 Render 봇 서버 주소
+    public BotApiClient(RestTemplate botRestTemplate,
+                        @Value("${app.bot.api-url:https://game-pot.onrender.com/api/create-party}") String botApiUrl) {
+        this.restTemplate = botRestTemplate;
+        this.botApiUrl = botApiUrl;
+    }
+
+    /**
+     * @param idempotencyKey 같은 파티 요청을 다시 보낼 때 봇 서버가 중복을 알아볼 수 있는 키 (party_outbox.id)
+     */
+    public Map<?, ?> createParty(List<String> memberIds, String idempotencyKey) {
+        log.info("봇 서버로 요청 전송 시작. URL: {}, IDs: {}, key: {}", botApiUrl, memberIds, idempotencyKey);
+
+        Map<String, Object> botRequest = Map.of("memberIds", memberIds);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("Idempotency-Key", idempotencyKey);
+
+        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(botRequest, headers);
+
+        ResponseEntity<Map> response = restTemplate.postForEntity(botApiUrl, entity, Map.class);
+        return response.getBody();
+    }
+}
@@ -0,0 +1,434 @@
+package pbl_game_pot.game_pot.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pbl_game_pot.game_pot.config.ClusterBroker;
+import pbl_game_pot.game_pot.config.WorkerThreads;
+import pbl_game_pot.game_pot.db.PartyOutbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 서버를 여러 대 띄웠을 때 게임 대기열을 노드끼리 나눠 맡게 한다.
+ *
+ * - 게임마다 담당 노드가 하나 ({@link GamePartitioner}, rendezvous hashing). 대기열 상태는 담당 노드의 {@link MatchmakingEngine}에만 있다.
+ * - 다른 노드로 들어온 참가 요청은 담당 노드로 넘기고, 나머지 노드에는 "이 유저를 다른 게임에서 빼라"를 알린다.
+ *   옮기면서 빠지는 쪽은 저널/이탈 이벤트 없이 메모리에서만 뺀다 (저널 행은 새 담당 노드가 새 게임으로 바꿈).
+ * - 대기열 변경/파티 이벤트는 모든 노드로 퍼뜨려서 어느 노드에 SSE로 붙어 있든 같은 내용을 받는다.
+ * - 로그인으로 바뀐 유저 프로필은 다른 노드의 {@link UserIdentityCache}에서 지우게 알린다.
+ * - 노드 목록은 heartbeat로 관리. 노드가 늘거나 줄면 담당이 바뀐 게임 대기열을 새 담당 노드로 넘긴다(handoff).
+ *   죽은 노드의 대기열은 새 담당 노드가 저널 테이블(matching_queue)에서 다시 읽어 온다.
+ *
+ * 서버 1대(기본값, 같은 JVM 브로커)일 때는 모든 게임을 직접 담당하므로 기존과 똑같이 동작한다.
+ */
+@Service
+@Slf4j
+public class ClusterCoordinator implements GameOwnership {
+
+    public static final int MAX_HOT_GAMES = 50;
+
+    enum Type { HEARTBEAT, JOIN, LEAVE, HANDOFF, QUEUE_EVENT, PARTY_EVENT, USER_CHANGED,
+        SNAPSHOT_REQUEST, CHANGES_REQUEST, PARTY_REQUEST, REPLY }
+
+    // to == null 이면 모든 노드에게
+    record ClusterMessage(Type type, String from, String to, String requestId, JsonNode payload) {}
+
+    record Heartbeat(Map<Long, Integer> sizes) {}
+
+    // exceptGameId 대기열에 있는 경우만 빼고 제거 (null이면 무조건 제거)
+    record Leave(Long userId, Long exceptGameId) {}
+
+    record SnapshotRequest(Long gameId, int offset, int limit) {}
+
+    record ChangesRequest(Long gameId, long since) {}
+
+    record Reply(JsonNode body, String error) {}
+
+    private final ClusterBroker broker;
+    private final MatchmakingEngine matchmakingEngine;
+    private final MatchingQueueJournal journal;
+    private final PartyMatcher partyMatcher;
+    private final MatchingStatusBroadcaster statusBroadcaster;
+    private final UserIdentityCache userIdentityCache;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+    private final long heartbeatMs;
+    private final long nodeTimeoutNanos;
+    private final Duration requestTimeout;
+
+    private final Map<String, Long> lastSeen = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, Integer>> remoteSizes = new ConcurrentHashMap<>();
+    // 노드별 대기 인원 상위 게임 (heartbeat 받을 때 한 번 계산해 둠)
+    private final Map<String, List<HotGame>> remoteHotGames = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Reply>> pendingReplies = new ConcurrentHashMap<>();
+    private volatile List<String> members;
+
+    // 같은 노드가 보낸 메시지의 순서를 지키려고 일반 메시지는 스레드 1개, 응답이 필요한 요청은 별도 풀에서 처리
+    private final ExecutorService inbound = WorkerThreads.newPool("cluster-inbound-", 1, false);
+    private final ExecutorService requests;
+    // heartbeat는 공용 @Scheduled 스레드와 분리 (다른 작업이 오래 걸려도 heartbeat가 밀려 죽은 노드로 판정되지 않게)
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "cluster-heartbeat");
+        t.setDaemon(true);
+        return t;
+    });
+    // 죽은 노드 대기열 복구(저널 전체 읽기)는 heartbeat / 메시지 처리 스레드를 막지 않게 따로
+    private final ExecutorService recovery = WorkerThreads.newPool("cluster-recovery-", 1, false);
+
+    public ClusterCoordinator(ClusterBroker broker,
+                              MatchmakingEngine matchmakingEngine,
+                              MatchingQueueJournal journal,
+                              PartyMatcher partyMatcher,
+                              MatchingStatusBroadcaster statusBroadcaster,
+                              UserIdentityCache userIdentityCache,
+                              ObjectMapper objectMapper,
+                              @Value("${app.cluster.node-id:}") String nodeId,
+                              @Value("${app.cluster.heartbeat-ms:1000}") long heartbeatMs,
+                              @Value("${app.cluster.node-timeout:5s}") Duration nodeTimeout,
+                              @Value("${app.cluster.request-timeout:2s}") Duration requestTimeout,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.broker = broker;
+        this.matchmakingEngine = matchmakingEngine;
+        this.journal = journal;
+        this.partyMatcher = partyMatcher;
+        this.statusBroadcaster = statusBroadcaster;
+        this.userIdentityCache = userIdentityCache;
+        this.objectMapper = objectMapper;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString().substring(0, 8) : nodeId;
+        this.heartbeatMs = heartbeatMs;
+        this.nodeTimeoutNanos = nodeTimeout.toNanos();
+        this.requestTimeout = requestTimeout;
+        this.members = List.of(this.nodeId);
+        this.requests = WorkerThreads.newPool("cluster-request-", 4, virtualThreads);
+    }
+
+    @PostConstruct
+    void start() {
+        broker.subscribe(this::onMessage);
+        heartbeat();
+        heartbeats.scheduleWithFixedDelay(() -> {
+            try {
+                heartbeat();
+            } catch (RuntimeException e) {
+                log.warn("heartbeat 실패", e);   // 예외로 끝나면 이후 주기가 취소되므로 여기서 삼킨다
+            }
+        }, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        log.info("클러스터 노드 시작: {}", nodeId);
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    public List<String> members() {
+        return members;
+    }
+
+    public String ownerOf(Long gameId) {
+        return GamePartitioner.ownerOf(gameId, members);
+    }
+
+    @Override
+    public boolean ownsGame(Long gameId) {
+        return nodeId.equals(ownerOf(gameId));
+    }
+
+    // ===== 컨트롤러에서 쓰는 진입점 (담당 노드가 어디든 같은 결과) =====
+
+    public void join(Long userId, Long gameId, String discordId, String username,
+                     String displayName, String email, String avatarUrl) {
+        join(userId, gameId, discordId, username, displayName, email, avatarUrl, MatchAttributes.NONE);
+    }
+
+    public void join(Long userId, Long gameId, String discordId, String username,
+                     String displayName, String email, String avatarUrl, MatchAttributes attributes) {
+        String owner = ownerOf(gameId);
+        if (owner.equals(nodeId)) {
+            matchmakingEngine.join(userId, gameId, discordId, username, displayName, email, avatarUrl, attributes);
+        } else {
+            matchmakingEngine.evict(userId, null);
+            send(Type.JOIN, owner, null, new QueueEntry(0, userId, gameId, discordId, username,
+                    displayName, email, avatarUrl, LocalDateTime.now(), attributes));
+        }
+        if (members.size() > 1) send(Type.LEAVE, null, null, new Leave(userId, gameId));
+    }
+
+    public void leave(Long userId) {
+        matchmakingEngine.leave(userId);
+        if (members.size() > 1) send(Type.LEAVE, null, null, new Leave(userId, null));
+    }
+
+    public QueueSlice snapshot(Long gameId, int offset, int limit) {
+        String owner = ownerOf(gameId);
+        if (owner.equals(nodeId)) return localSlice(gameId, offset, limit);
+        try {
+            return objectMapper.treeToValue(
+                    request(Type.SNAPSHOT_REQUEST, owner, new SnapshotRequest(gameId, offset, limit)), QueueSlice.class);
+        } catch (Exception e) {
+            log.warn("다른 노드 대기열 조회 실패. gameId: {}, 담당: {}", gameId, owner, e);
+            return localSlice(gameId, offset, limit);
+        }
+    }
+
+    public QueueChanges changesSince(Long gameId, long since) {
+        String owner = ownerOf(gameId);
+        if (owner.equals(nodeId)) return matchmakingEngine.changesSince(gameId, since);
+        try {
+            return objectMapper.treeToValue(
+                    request(Type.CHANGES_REQUEST, owner, new ChangesRequest(gameId, since)), QueueChanges.class);
+        } catch (Exception e) {
+            log.warn("다른 노드 대기열 변경분 조회 실패. gameId: {}, 담당: {}", gameId, owner, e);
+            return matchmakingEngine.changesSince(gameId, since);
+        }
+    }
+
+    public int size(Long gameId) {
+        String owner = ownerOf(gameId);
+        if (owner.equals(nodeId)) return matchmakingEngine.size(gameId);
+        // 다른 노드 대기열 인원은 heartbeat에 실려 온 값 (최대 heartbeat 주기만큼 늦음)
+        return remoteSizes.getOrDefault(owner, Map.of()).getOrDefault(gameId, 0);
+    }
+
+    /**
+     * 클러스터 전체에서 대기 인원이 많은 게임 상위 limit개 (limit은 {@link #MAX_HOT_GAMES}까지).
+     * 이 노드 순위 + 다른 노드가 heartbeat로 보낸 인원에서 미리 뽑아 둔 상위 목록을 합친다.
+     */
+    public List<HotGame> hotGames(int limit) {
+        List<HotGame> local = matchmakingEngine.hotGames(limit);
+        if (remoteHotGames.isEmpty()) return local;
+        List<List<HotGame>> lists = new ArrayList<>(remoteHotGames.values());
+        lists.add(local);
+        return HotGamesRanking.merge(lists, limit);
+    }
+
+    /**
+     * 수동 파티 생성. 담당 노드에서 대기열을 꺼내 outbox에 저장하고 파티 ID를 돌려준다.
+     */
+    public Optional<String> createParty(Long gameId) {
+        String owner = ownerOf(gameId);
+        if (owner.equals(nodeId)) return partyMatcher.formManualParty(gameId).map(PartyOutbox::getId);
+        JsonNode body = request(Type.PARTY_REQUEST, owner, gameId);
+        return body == null || body.isNull() ? Optional.empty() : Optional.of(body.asText());
+    }
+
+    // ===== 로컬 이벤트 → 다른 노드 SSE 구독자 =====
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQueueEvent(MatchingQueueEvent event) {
+        if (members.size() > 1) send(Type.QUEUE_EVENT, null, null, event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartyEvent(MatchingPartyEvent event) {
+        if (members.size() > 1) send(Type.PARTY_EVENT, null, null, event);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserProfileChanged(UserProfileChangedEvent event) {
+        if (members.size() > 1) send(Type.USER_CHANGED, null, null, event);
+    }
+
+    // ===== 노드 목록 =====
+
+    public void heartbeat() {
+        Map<Long, Integer> sizes = new HashMap<>();
+        for (Long gameId : matchmakingEngine.activeGameIds()) {
+            sizes.put(gameId, matchmakingEngine.size(gameId));
+        }
+        send(Type.HEARTBEAT, null, null, new Heartbeat(sizes));
+
+        long now = System.nanoTime();
+        List<String> dead = lastSeen.entrySet().stream()
+                .filter(e -> now - e.getValue() > nodeTimeoutNanos)
+                .map(Map.Entry::getKey)
+                .toList();
+        if (!dead.isEmpty()) {
+            dead.forEach(node -> {
+                lastSeen.remove(node);
+                remoteSizes.remove(node);
+                remoteHotGames.remove(node);
+            });
+            log.warn("응답 없는 노드 제외: {}", dead);
+            updateMembers(true);
+        }
+    }
+
+    private synchronized void updateMembers(boolean nodeLost) {
+        TreeSet<String> next = new TreeSet<>(lastSeen.keySet());
+        next.add(nodeId);
+        List<String> updated = List.copyOf(next);
+        if (updated.equals(members)) return;
+        members = updated;
+        log.info("클러스터 노드 변경: {}", updated);
+
+        // 담당이 바뀐 게임은 새 담당 노드로 (저널/이벤트 없이 메모리에서만 빼서 넘김)
+        for (Long gameId : matchmakingEngine.activeGameIds()) {
+            String owner = ownerOf(gameId);
+            if (owner.equals(nodeId)) continue;
+            List<QueueEntry> entries = matchmakingEngine.handOff(gameId);
+            if (!entries.isEmpty()) send(Type.HANDOFF, owner, null, entries);
+        }
+
+        if (nodeLost) recovery.execute(this::recoverOrphans);
+    }
+
+    // 죽은 노드가 맡던 게임 중 이제 내 담당인 것은 저널 테이블에서 복구 (이미 대기 중인 유저는 requeue가 건너뜀)
+    private void recoverOrphans() {
+        try {
+            List<QueueEntry> orphaned = journal.loadAll().stream()
+                    .filter(e -> ownsGame(e.gameId()))
+                    .toList();
+            matchmakingEngine.requeue(orphaned);
+        } catch (RuntimeException e) {
+            log.error("죽은 노드 대기열 복구 실패", e);
+        }
+    }
+
+    // ===== 메시지 송수신 =====
+
+    private void onMessage(String raw) {
+        ClusterMessage msg;
+        try {
+            msg = objectMapper.readValue(raw, ClusterMessage.class);
+        } catch (JsonProcessingException e) {
+            log.warn("클러스터 메시지 해석 실패: {}", raw, e);
+            return;
+        }
+        if (nodeId.equals(msg.from())) return;
+        if (msg.to() != null && !nodeId.equals(msg.to())) return;
+
+        boolean needsReply = msg.type() == Type.SNAPSHOT_REQUEST || msg.type() == Type.CHANGES_REQUEST
+                || msg.type() == Type.PARTY_REQUEST;
+        (needsReply ? requests : inbound).execute(() -> handle(msg));
+    }
+
+    private void handle(ClusterMessage msg) {
+        try {
+            switch (msg.type()) {
+                case HEARTBEAT -> {
+                    boolean joined = lastSeen.put(msg.from(), System.nanoTime()) == null;
+                    Map<Long, Integer> sizes = read(msg, Heartbeat.class).sizes();
+                    remoteSizes.put(msg.from(), sizes);
+                    remoteHotGames.put(msg.from(), HotGamesRanking.topOf(sizes, MAX_HOT_GAMES));
+                    if (joined) {
+                        updateMembers(false);
+                        heartbeat();   // 새 노드가 나를 바로 알 수 있도록
+                    }
+                }
+                case JOIN -> {
+                    QueueEntry e = read(msg, QueueEntry.class);
+                    matchmakingEngine.join(e.userId(), e.gameId(), e.discordId(), e.username(),
+                            e.displayName(), e.email(), e.avatarUrl(), e.attributes());
+                }
+                case LEAVE -> {
+                    Leave leave = read(msg, Leave.class);
+                    if (leave.exceptGameId() == null) {
+                        matchmakingEngine.findByUser(leave.userId()).ifPresent(matchmakingEngine::remove);
+                    } else {
+                        matchmakingEngine.evict(leave.userId(), leave.exceptGameId());
+                    }
+                }
+                case HANDOFF -> matchmakingEngine.requeue(List.of(
+                        objectMapper.treeToValue(msg.payload(), QueueEntry[].class)));
+                case QUEUE_EVENT -> statusBroadcaster.onQueueEvent(read(msg, MatchingQueueEvent.class));
+                case PARTY_EVENT -> statusBroadcaster.onPartyEvent(read(msg, MatchingPartyEvent.class));
+                case USER_CHANGED -> userIdentityCache.evict(read(msg, UserProfileChangedEvent.class).discordId());
+                case SNAPSHOT_REQUEST -> {
+                    SnapshotRequest req = read(msg, SnapshotRequest.class);
+                    reply(msg, localSlice(req.gameId(), req.offset(), req.limit()), null);
+                }
+                case CHANGES_REQUEST -> {
+                    ChangesRequest req = read(msg, ChangesRequest.class);
+                    reply(msg, matchmakingEngine.changesSince(req.gameId(), req.since()), null);
+                }
+                case PARTY_REQUEST -> {
+                    try {
+                        reply(msg, partyMatcher.formManualParty(msg.payload().asLong())
+                                .map(PartyOutbox::getId).orElse(null), null);
+                    } catch (Exception e) {
+                        reply(msg, null, e.getClass().getSimpleName() + ": " + e.getMessage());
+                    }
+                }
+                case REPLY -> {
+                    CompletableFuture<Reply> pending = pendingReplies.remove(msg.requestId());
+                    if (pending != null) pending.complete(read(msg, Reply.class));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("클러스터 메시지 처리 실패: {} from {}", msg.type(), msg.from(), e);
+        }
+    }
+
+    private JsonNode request(Type type, String to, Object payload) {
+        String requestId = UUID.randomUUID().toString();
+        CompletableFuture<Reply> pending = new CompletableFuture<>();
+        pendingReplies.put(requestId, pending);
+        try {
+            send(type, to, requestId, payload);
+            Reply reply = pending.get(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (reply.error() != null) throw new IllegalStateException(to + " 처리 실패: " + reply.error());
+            return reply.body();
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(to + " 노드 응답 없음 (" + type + ")", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            pendingReplies.remove(requestId);
+        }
+    }
+
+    private void reply(ClusterMessage request, Object body, String error) {
+        send(Type.REPLY, request.from(), request.requestId(), new Reply(objectMapper.valueToTree(body), error));
+    }
+
+    private void send(Type type, String to, String requestId, Object payload) {
+        try {
+            broker.publish(objectMapper.writeValueAsString(
+                    new ClusterMessage(type, nodeId, to, requestId, objectMapper.valueToTree(payload))));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("클러스터 메시지 직렬화 실패: " + type, e);
+        }
+    }
+
+    private <T> T read(ClusterMessage msg, Class<T> type) throws JsonProcessingException {
+        return objectMapper.treeToValue(msg.payload(), type);
+    }
+
+    private QueueSlice localSlice(Long gameId, int offset, int limit) {
+        return matchmakingEngine.slice(gameId, offset, limit);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        recovery.shutdownNow();
+        inbound.shutdownNow();
+        requests.shutdownNow();
+    }
+}
@@ -15,6 +15,7 @@ import java.util.Map;
 public class DiscordOAuth2UserService extends DefaultOAuth2UserService {
 
     private final UserRepository userRepository;
+    private final UserIdentityCache userIdentityCache;
 
     @Override
     public OAuth2User loadUser(OAuth2UserRequest req) {
@@ -34,7 +35,7 @@ public class DiscordOAuth2UserService extends DefaultOAuth2UserService {
         }
         String finalAvatarUrl = avatarUrl;
 
-        userRepository.findByDiscordId(discordId)
+        UserTable saved = userRepository.findByDiscordId(discordId)
                 .map(u -> {
                     u.setUsername(username);
                     u.setDisplayName(displayName);
@@ -49,6 +50,8 @@ public class DiscordOAuth2UserService extends DefaultOAuth2UserService {
                         .email(email)
                         .avatarUrl(finalAvatarUrl) // [추가] URL 저장
                         .build()));
+        // 이후 요청들은 DB 대신 캐시에서 유저를 찾는다
+        userIdentityCache.refresh(saved);
 
         return user;
     }
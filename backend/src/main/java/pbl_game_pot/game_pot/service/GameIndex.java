@@ -0,0 +1,278 @@
+package pbl_game_pot.game_pot.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 게임 이름/별명 검색용 불변(immutable) 인덱스. 한 번 만들면 여러 스레드가 락 없이 읽는다.
+ *
+ * - 검색 키는 소문자 + 글자/숫자만 남긴 형태 ("리그 오브 레전드" == "리그오브레전드", "PUBG: BATTLEGROUNDS" == "pubgbattlegrounds")
+ * - 정확히 일치 / 접두어 일치: 정렬된 키 배열에서 이진 탐색
+ * - 오타 허용: 글자 3개(trigram) 단위 posting list로 후보를 모으고 Dice 계수로 점수화
+ * - 자동완성: 노드마다 상위 K개를 미리 계산해 둔 {@link PrefixTrie} (키 입력마다 호출되는 경로)
+ */
+public final class GameIndex {
+
+    public record Entry(Long steamAppId, String name) {}
+
+    public record Hit(Entry entry, double score) {}
+
+    private static final int MAX_PREFIX_SCAN = 256;
+    private static final double MIN_FUZZY_DICE = 0.3;
+    // resolve()가 스팀 호출 없이 오타 허용으로 확정하는 기준 (trigram Dice, 2등과의 차이)
+    private static final double RESOLVE_DICE = 0.8;
+    private static final double RESOLVE_MARGIN = 0.1;
+
+    private static final GameIndex EMPTY = new Builder().build();
+
+    private final Entry[] entries;
+    private final String[] keys;          // 정렬된 검색 키
+    private final int[] keyOwner;         // keys[i]가 가리키는 entries 인덱스
+    private final int[] keyGramCount;     // keys[i]의 trigram 개수
+    private final Map<Long, int[]> postings;
+    private final PrefixTrie trie;
+
+    private GameIndex(Entry[] entries, String[] keys, int[] keyOwner, int[] keyGramCount,
+                      Map<Long, int[]> postings, PrefixTrie trie) {
+        this.entries = entries;
+        this.keys = keys;
+        this.keyOwner = keyOwner;
+        this.keyGramCount = keyGramCount;
+        this.postings = postings;
+        this.trie = trie;
+    }
+
+    public static GameIndex empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public int keyCount() {
+        return keys.length;
+    }
+
+    public List<Entry> entries() {
+        return List.of(entries);
+    }
+
+    /**
+     * 점수 순으로 정렬된 검색 결과 (같은 게임은 가장 높은 점수 하나만).
+     */
+    public List<Hit> search(String query, int limit) {
+        String q = key(query);
+        if (q.isEmpty() || limit <= 0) return List.of();
+
+        Map<Integer, Double> best = new HashMap<>();
+
+        // 1. 정확히 일치 / 접두어 일치
+        int from = lowerBound(q);
+        for (int i = from; i < keys.length && i - from < MAX_PREFIX_SCAN && keys[i].startsWith(q); i++) {
+            double score = keys[i].length() == q.length()
+                    ? 1.0
+                    : 0.6 + 0.3 * q.length() / keys[i].length();
+            best.merge(keyOwner[i], score, Math::max);
+        }
+
+        // 2. 오타 허용 (trigram)
+        fuzzyMatches(q).forEach((owner, dice) -> best.merge(owner, 0.8 * dice, Math::max));
+
+        return best.entrySet().stream()
+                .map(e -> new Hit(entries[e.getKey()], e.getValue()))
+                .sorted(Comparator.comparingDouble(Hit::score).reversed()
+                        .thenComparingInt(h -> h.entry().name().length()))
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * 자동완성용 검색. 짧은 입력은 트라이에서 미리 계산된 상위 K개를 바로 꺼내고,
+     * 결과가 모자라거나 입력이 트라이 깊이보다 길면 {@link #search}(접두어 + 오타 허용)로 채운다.
+     */
+    public List<Hit> suggest(String query, int limit) {
+        String q = key(query);
+        if (q.isEmpty() || limit <= 0) return List.of();
+        if (q.length() > PrefixTrie.MAX_DEPTH) return search(query, limit);
+
+        int[] owners = trie.lookup(q);
+        List<Hit> hits = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < owners.length && hits.size() < limit; i++) {
+            int owner = owners[i];
+            seen.add(entries[owner].steamAppId());
+            hits.add(new Hit(entries[owner], i == 0 && isExact(q, owner) ? 1.0 : prefixScore(q, entries[owner])));
+        }
+        if (hits.size() >= limit || q.length() < 2) return hits;
+
+        for (Hit h : search(query, limit)) {
+            if (hits.size() >= limit) break;
+            if (seen.add(h.entry().steamAppId())) hits.add(h);
+        }
+        return hits;
+    }
+
+    /**
+     * 확신할 수 있을 때만 게임 하나로 확정한다. 이름/별명과 정확히 일치하거나, 오타 수준으로만 다르고
+     * (trigram 유사도 RESOLVE_DICE 이상) 2등과 차이가 충분할 때. 접두어만 맞는 입력("dead" → Dead by Daylight)은
+     * 확정하지 않고 추천({@link #suggest})으로만 보여준다.
+     */
+    public Entry resolve(String query) {
+        String q = key(query);
+        if (q.isEmpty()) return null;
+        int i = lowerBound(q);
+        if (i < keys.length && keys[i].equals(q)) return entries[keyOwner[i]];
+
+        int topOwner = -1;
+        double top = 0;
+        double second = 0;
+        for (Map.Entry<Integer, Double> e : fuzzyMatches(q).entrySet()) {
+            double dice = e.getValue();
+            if (dice > top) {
+                second = top;
+                top = dice;
+                topOwner = e.getKey();
+            } else if (dice > second) {
+                second = dice;
+            }
+        }
+        if (topOwner < 0 || top < RESOLVE_DICE || top - second < RESOLVE_MARGIN) return null;
+        return entries[topOwner];
+    }
+
+    // 오타 허용 후보: entries 인덱스 → 그 게임 키들 중 가장 높은 trigram Dice 계수 (MIN_FUZZY_DICE 이상만)
+    private Map<Integer, Double> fuzzyMatches(String q) {
+        long[] grams = trigrams(q);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (long g : grams) {
+            int[] keyIds = postings.get(g);
+            if (keyIds == null) continue;
+            for (int k : keyIds) shared.merge(k, 1, Integer::sum);
+        }
+        Map<Integer, Double> best = new HashMap<>();
+        for (Map.Entry<Integer, Integer> e : shared.entrySet()) {
+            int k = e.getKey();
+            double dice = 2.0 * e.getValue() / (grams.length + keyGramCount[k]);
+            if (dice >= MIN_FUZZY_DICE) best.merge(keyOwner[k], dice, Math::max);
+        }
+        return best;
+    }
+
+    public static String key(String text) {
+        if (text == null) return "";
+        StringBuilder sb = new StringBuilder(text.length());
+        text.codePoints()
+                .filter(Character::isLetterOrDigit)
+                .map(Character::toLowerCase)
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    private boolean isExact(String q, int owner) {
+        int i = lowerBound(q);
+        return i < keys.length && keys[i].equals(q) && keyOwner[i] == owner;
+    }
+
+    private static double prefixScore(String q, Entry entry) {
+        int len = Math.max(q.length(), key(entry.name()).length());
+        return 0.6 + 0.3 * q.length() / len;
+    }
+
+    int trieNodeCount() {
+        return trie.nodeCount();
+    }
+
+    private int lowerBound(String q) {
+        int lo = 0;
+        int hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(q) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // 앞에 2칸, 뒤에 1칸 패딩한 trigram을 char 3개 → long 하나로 압축
+    static long[] trigrams(String key) {
+        String padded = "\u0001\u0001" + key + "\u0002";
+        Set<Long> grams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2));
+        }
+        long[] out = new long[grams.size()];
+        int i = 0;
+        for (long g : grams) out[i++] = g;
+        return out;
+    }
+
+    public static final class Builder {
+        // steamAppId 기준으로 합침. 같은 게임의 이름/별명은 모두 같은 Entry를 가리킨다.
+        private final Map<Long, Entry> entries = new LinkedHashMap<>();
+        private final Map<String, Long> keyToApp = new HashMap<>();
+
+        /**
+         * 게임 추가. 같은 키가 이미 다른 게임에 붙어 있으면 먼저 넣은 쪽을 유지한다.
+         */
+        public Builder add(Long steamAppId, String name, String... aliases) {
+            if (steamAppId == null || name == null || name.isBlank()) return this;
+            entries.putIfAbsent(steamAppId, new Entry(steamAppId, name));
+            addKey(steamAppId, name);
+            for (String alias : aliases) addKey(steamAppId, alias);
+            return this;
+        }
+
+        /**
+         * 이미 들어있는 게임(공식 명칭 기준)에 별명만 추가. 없는 게임이면 무시.
+         */
+        public Builder addAliasForName(String officialName, String alias) {
+            Long appId = keyToApp.get(key(officialName));
+            if (appId != null) addKey(appId, alias);
+            return this;
+        }
+
+        private void addKey(Long steamAppId, String text) {
+            String k = key(text);
+            if (!k.isEmpty()) keyToApp.putIfAbsent(k, steamAppId);
+        }
+
+        public GameIndex build() {
+            Map<Long, Integer> entryIdx = new HashMap<>();
+            Entry[] entryArr = new Entry[entries.size()];
+            int n = 0;
+            for (Entry e : entries.values()) {
+                entryIdx.put(e.steamAppId(), n);
+                entryArr[n++] = e;
+            }
+
+            String[] keyArr = keyToApp.keySet().toArray(new String[0]);
+            Arrays.sort(keyArr);
+            int[] owner = new int[keyArr.length];
+            int[] gramCount = new int[keyArr.length];
+            Map<Long, List<Integer>> tmp = new HashMap<>();
+            for (int i = 0; i < keyArr.length; i++) {
+                owner[i] = entryIdx.get(keyToApp.get(keyArr[i]));
+                long[] grams = trigrams(keyArr[i]);
+                gramCount[i] = grams.length;
+                for (long g : grams) tmp.computeIfAbsent(g, x -> new ArrayList<>()).add(i);
+            }
+
+            Map<Long, int[]> postingArr = new HashMap<>(tmp.size() * 2);
+            tmp.forEach((g, list) -> postingArr.put(g, list.stream().mapToInt(Integer::intValue).toArray()));
+            return new GameIndex(entryArr, keyArr, owner, gramCount, postingArr, PrefixTrie.build(keyArr, owner));
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package pbl_game_pot.game_pot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import pbl_game_pot.game_pot.db.Game;
+import pbl_game_pot.game_pot.db.GameRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 게임 이름 인덱스({@link GameIndex})를 만들고 최신 버전을 들고 있는 서비스.
+ *
+ * 인덱스 재료 (앞에 넣은 것이 우선):
+ * 1. {@link SteamApiService}의 비-스팀 게임 / 별명 사전
+ * 2. 내장 카탈로그 (classpath:catalog/games.tsv)
+ * 3. games 테이블에 이미 등록된 게임
+ * 4. (선택) 스팀 전체 앱 목록 주기적 가져오기
+ *
+ * 새 인덱스는 다른 스레드에서 만든 뒤 참조만 교체하므로 검색 중인 요청은 영향을 받지 않는다.
+ * 새 게임이 등록되면({@link GameRegisteredEvent}) 재빌드를 예약하고, 몰려 들어온 요청은 한 번으로 합친다.
+ */
+@Service
+@Slf4j
+public class GameIndexService {
+
+    private static final String CATALOG_PATH = "catalog/games.tsv";
+
+    private final GameRepository gameRepository;
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean importEnabled;
+    private final String steamApiKey;
+
+    private final AtomicReference<GameIndex> current = new AtomicReference<>(GameIndex.empty());
+    private final List<String[]> bundledCatalog;
+    private volatile List<GameIndex.Entry> importedApps = List.of();
+
+    // games 테이블 사본 (steamAppId 기준). 재빌드할 때 DB를 다시 읽지 않으려고 메모리에 유지
+    private final Map<Long, Game> registeredGames = new ConcurrentHashMap<>();
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "game-index-rebuild");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    public GameIndexService(GameRepository gameRepository,
+                            RestTemplate steamRestTemplate,
+                            ObjectMapper objectMapper,
+                            @Value("${app.catalog.import.enabled:false}") boolean importEnabled,
+                            @Value("${STEAM_API_KEY:}") String steamApiKey) {
+        this.gameRepository = gameRepository;
+        this.restTemplate = steamRestTemplate;
+        this.objectMapper = objectMapper;
+        this.importEnabled = importEnabled;
+        this.steamApiKey = steamApiKey;
+        this.bundledCatalog = readBundledCatalog();
+        // DB 없이 만들 수 있는 부분은 바로 만들어 둔다 (기동 직후 요청도 인덱스를 쓸 수 있게)
+        current.set(build(List.of()));
+    }
+
+    public List<GameIndex.Hit> suggest(String query, int limit) {
+        return current.get().suggest(query, limit);
+    }
+
+    /**
+     * steamAppId에 해당하는 games.id (아직 아무도 매칭하지 않은 게임이면 null).
+     */
+    public Long gameIdOf(Long steamAppId) {
+        Game game = registeredGames.get(steamAppId);
+        return game == null ? null : game.getId();
+    }
+
+    public GameIndex index() {
+        return current.get();
+    }
+
+    public List<GameIndex.Hit> search(String query, int limit) {
+        return current.get().search(query, limit);
+    }
+
+    public GameIndex.Entry resolve(String query) {
+        return current.get().resolve(query);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        for (Game g : gameRepository.findAll()) {
+            registeredGames.put(g.getSteamAppId(), g);
+        }
+        rebuildNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameRegistered(GameRegisteredEvent event) {
+        registeredGames.put(event.steamAppId(), Game.builder()
+                .id(event.gameId())
+                .steamAppId(event.steamAppId())
+                .name(event.name())
+                .build());
+        requestRebuild();
+    }
+
+    /**
+     * 재빌드를 예약한다. 이미 예약된 재빌드가 있으면 그쪽에 합쳐진다 (아직 시작 전이므로 새 게임도 포함됨).
+     */
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildPending.set(false);
+                try {
+                    rebuildNow();
+                } catch (Exception e) {
+                    log.error("게임 인덱스 재빌드 실패. 이전 인덱스를 계속 사용", e);
+                }
+            });
+        }
+    }
+
+    private void rebuildNow() {
+        long start = System.nanoTime();
+        GameIndex next = build(List.copyOf(registeredGames.values()));
+        current.set(next);
+        log.info("게임 인덱스 갱신: 게임 {}개, 검색 키 {}개 ({} ms)",
+                next.size(), next.keyCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 스팀 전체 앱 목록을 가져와 인덱스에 합친다. (app.catalog.import.enabled=true 일 때만)
+     */
+    @Scheduled(cron = "${app.catalog.import.cron:0 30 4 * * *}")
+    public void importSteamAppList() {
+        if (!importEnabled || steamApiKey.isBlank()) return;
+
+        List<GameIndex.Entry> apps = new ArrayList<>();
+        long lastAppId = 0;
+        try {
+            boolean more = true;
+            while (more) {
+                URI uri = UriComponentsBuilder
+                        .fromHttpUrl("https://api.steampowered.com/IStoreService/GetAppList/v1/")
+                        .queryParam("key", steamApiKey)
+                        .queryParam("include_games", true)
+                        .queryParam("max_results", 50000)
+                        .queryParam("last_appid", lastAppId)
+                        .build()
+                        .toUri();
+
+                JsonNode response = objectMapper.readTree(restTemplate.getForObject(uri, String.class)).path("response");
+                for (JsonNode app : response.path("apps")) {
+                    apps.add(new GameIndex.Entry(app.path("appid").asLong(), app.path("name").asText()));
+                }
+                more = response.path("have_more_results").asBoolean(false);
+                lastAppId = response.path("last_appid").asLong();
+            }
+        } catch (Exception e) {
+            log.error("스팀 앱 목록 가져오기 실패. 이번 결과는 반영하지 않음 (받은 {}개)", apps.size(), e);
+            return;
+        }
+
+        importedApps = List.copyOf(apps);
+        log.info("스팀 앱 목록 가져오기 완료: {}개", apps.size());
+        requestRebuild();
+    }
+
+    private GameIndex build(List<Game> games) {
+        GameIndex.Builder builder = GameIndex.builder();
+
+        SteamApiService.nonSteamGames().forEach((alias, info) -> builder.add(info.steamAppId(), info.name(), alias));
+        for (String[] row : bundledCatalog) {
+            String[] aliases = row.length > 2 ? row[2].split("\\|") : new String[0];
+            builder.add(Long.parseLong(row[0].trim()), row[1].trim(), aliases);
+        }
+        SteamApiService.aliasMap().forEach((alias, officialName) -> builder.addAliasForName(officialName, alias));
+        for (Game g : games) {
+            builder.add(g.getSteamAppId(), g.getName());
+        }
+        for (GameIndex.Entry app : importedApps) {
+            builder.add(app.steamAppId(), app.name());
+        }
+        return builder.build();
+    }
+
+    private static List<String[]> readBundledCatalog() {
+        List<String[]> rows = new ArrayList<>();
+        ClassPathResource resource = new ClassPathResource(CATALOG_PATH);
+        if (!resource.exists()) return rows;
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] cols = line.split("\t");
+                if (cols.length >= 2) rows.add(cols);
+            }
+        } catch (IOException e) {
+            log.error("내장 게임 카탈로그 읽기 실패: {}", CATALOG_PATH, e);
+        }
+        return rows;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,306 @@
+package pbl_game_pot.game_pot.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+import pbl_game_pot.game_pot.config.WorkerThreads;
+import pbl_game_pot.game_pot.db.Game;
+import pbl_game_pot.game_pot.db.GameMetadata;
+import pbl_game_pot.game_pot.db.GameMetadataRepository;
+import pbl_game_pot.game_pot.db.GameRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 대기열/로비 화면에 쓰는 게임 정보(헤더 이미지, 장르, 최대 파티 인원).
+ *
+ * 요청 경로에서는 스팀을 부르지 않는다. 메모리 캐시에 있으면 바로 돌려주고, 없으면 로딩만 걸어 두고 null.
+ * 로딩 순서: 비-스팀 게임 파일(classpath:catalog/non-steam-games.tsv) → game_metadata 테이블 → 스팀 appdetails API.
+ * 저장된 지 refresh-after가 지난 항목은 읽힐 때 뒤에서 다시 가져오고(그동안은 이전 값), 실패하면 이전 값을 계속 쓴다.
+ *
+ * 새 게임이 등록되면({@link GameRegisteredEvent}) 첫 조회를 기다리지 않고 바로 가져온다.
+ */
+@Service
+@Slf4j
+public class GameMetadataService {
+
+    private static final String NON_STEAM_PATH = "catalog/non-steam-games.tsv";
+    private static final String GENRE_SEPARATOR = "|";
+
+    /**
+     * @param headerImage  헤더 이미지 URL (없으면 null)
+     * @param genres       장르 이름 (스팀 한국어 표기)
+     * @param maxPartySize 한 파티 최대 인원 (비-스팀 게임 파일에만 있음, 모르면 null)
+     */
+    public record GameMeta(Long steamAppId, String headerImage, List<String> genres, Integer maxPartySize) {
+        static GameMeta none(Long steamAppId) {
+            return new GameMeta(steamAppId, null, List.of(), null);
+        }
+
+        boolean isEmpty() {
+            return headerImage == null && genres.isEmpty() && maxPartySize == null;
+        }
+    }
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final GameMetadataRepository metadataRepository;
+    private final GameRepository gameRepository;
+    private final String appDetailsUrl;
+    private final Duration refreshAfter;
+
+    private final Map<Long, GameMeta> nonSteamGames;
+    // games.id → games 행 (화면은 gameId로 조회하므로). 게임 수가 적어 전부 들고 있음
+    private final Map<Long, Game> gamesById = new ConcurrentHashMap<>();
+    private final AsyncLoadingCache<Long, GameMeta> cache;
+    private final ExecutorService loadExecutor;
+
+    public GameMetadataService(RestTemplate steamRestTemplate,
+                               ObjectMapper objectMapper,
+                               GameMetadataRepository metadataRepository,
+                               GameRepository gameRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.games.meta.max-size:2000}") long maxSize,
+                               @Value("${app.games.meta.refresh-after:6h}") Duration refreshAfter,
+                               @Value("${app.games.meta.ttl:24h}") Duration ttl,
+                               @Value("${app.games.meta.negative-ttl:10m}") Duration negativeTtl,
+                               @Value("${app.steam.appdetails-url:https://store.steampowered.com/api/appdetails}") String appDetailsUrl,
+                               @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.restTemplate = steamRestTemplate;
+        this.objectMapper = objectMapper;
+        this.metadataRepository = metadataRepository;
+        this.gameRepository = gameRepository;
+        this.appDetailsUrl = appDetailsUrl;
+        this.refreshAfter = refreshAfter;
+        this.nonSteamGames = readNonSteamGames();
+        this.loadExecutor = WorkerThreads.newPool("game-meta-", 0, virtualThreads);
+        // refreshAfterWrite: 만료(ttl) 전에 읽히면 이전 값을 주면서 뒤에서 다시 로딩 (refresh-ahead)
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .refreshAfterWrite(refreshAfter)
+                .expireAfter(new MetaExpiry(ttl, negativeTtl))
+                .executor(loadExecutor)
+                .recordStats()
+                .buildAsync(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "gameMetadata");
+    }
+
+    /**
+     * 캐시에 있는 게임 정보. 아직 없으면 로딩을 시작하고 null (요청은 기다리지 않음).
+     * 스팀에 없는 앱이면 빈 정보({@link GameMeta#none}).
+     */
+    public GameMeta peek(Long steamAppId) {
+        CompletableFuture<GameMeta> future = cache.get(steamAppId);
+        if (!future.isDone() || future.isCompletedExceptionally()) return null;
+        return future.join();
+    }
+
+    /**
+     * games.id로 게임 행을 찾는다 (메모리에 없을 때만 DB).
+     */
+    public Optional<Game> findGame(Long gameId) {
+        Game game = gamesById.get(gameId);
+        if (game != null) return Optional.of(game);
+        Optional<Game> found = gameRepository.findById(gameId);
+        found.ifPresent(g -> gamesById.put(g.getId(), g));
+        return found;
+    }
+
+    // 재시작 직후에도 저장된 정보는 바로 쓸 수 있게 (오래된 행은 첫 조회 때 스팀에서 다시 가져옴)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (Game g : gameRepository.findAll()) {
+            gamesById.put(g.getId(), g);
+        }
+        int loaded = 0;
+        for (GameMetadata row : metadataRepository.findAll()) {
+            if (isStale(row)) continue;
+            cache.put(row.getSteamAppId(), CompletableFuture.completedFuture(toMeta(row)));
+            loaded++;
+        }
+        log.info("게임 정보 캐시 준비: 게임 {}개, 저장된 정보 {}개", gamesById.size(), loaded);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameRegistered(GameRegisteredEvent event) {
+        gamesById.put(event.gameId(), Game.builder()
+                .id(event.gameId())
+                .steamAppId(event.steamAppId())
+                .name(event.name())
+                .build());
+        cache.get(event.steamAppId());
+    }
+
+    // 캐시 miss / refresh 시 실행 (loadExecutor)
+    private GameMeta load(Long steamAppId) {
+        GameMeta local = nonSteamGames.get(steamAppId);
+        if (local != null) return local;
+        if (isNonSteam(steamAppId)) return GameMeta.none(steamAppId);
+
+        Optional<GameMetadata> saved = metadataRepository.findById(steamAppId);
+        if (saved.isPresent() && !isStale(saved.get())) return toMeta(saved.get());
+
+        GameMetadata fetched;
+        try {
+            fetched = fetchFromSteam(steamAppId);
+        } catch (RuntimeException e) {
+            // 이전에 가져온 값이 있으면 그걸 계속 쓰고, 없으면 실패로 두어 다음 조회에서 다시 시도
+            if (saved.isPresent()) {
+                log.warn("스팀 게임 정보 갱신 실패, 저장된 값 사용: {} ({})", steamAppId, e.getMessage());
+                return toMeta(saved.get());
+            }
+            throw e;
+        }
+        if (fetched == null) return saved.map(GameMetadataService::toMeta).orElseGet(() -> GameMeta.none(steamAppId));
+        metadataRepository.save(fetched);
+        return toMeta(fetched);
+    }
+
+    private GameMetadata fetchFromSteam(Long steamAppId) {
+        URI uri = UriComponentsBuilder
+                .fromHttpUrl(appDetailsUrl)
+                .queryParam("appids", steamAppId)
+                .queryParam("filters", "basic,genres")
+                .queryParam("l", "korean")
+                .queryParam("cc", "kr")
+                .build()
+                .encode(StandardCharsets.UTF_8)
+                .toUri();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64)");
+        String body = restTemplate.exchange(uri, HttpMethod.GET, new HttpEntity<>(headers), String.class).getBody();
+        if (body == null || body.isEmpty()) return null;
+
+        JsonNode app;
+        try {
+            app = objectMapper.readTree(body).path(String.valueOf(steamAppId));
+        } catch (IOException e) {
+            throw new IllegalStateException("스팀 appdetails 응답 처리 실패: " + steamAppId, e);
+        }
+        if (!app.path("success").asBoolean(false)) {
+            log.warn("스팀 게임 정보 없음: {}", steamAppId);
+            return null;
+        }
+
+        JsonNode data = app.path("data");
+        List<String> genres = new ArrayList<>();
+        for (JsonNode genre : data.path("genres")) {
+            String name = genre.path("description").asText("");
+            if (!name.isEmpty()) genres.add(name);
+        }
+        String headerImage = data.path("header_image").asText("");
+        return GameMetadata.builder()
+                .steamAppId(steamAppId)
+                .headerImage(headerImage.isEmpty() ? null : headerImage)
+                .genres(genres.isEmpty() ? null : String.join(GENRE_SEPARATOR, genres))
+                .fetchedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private boolean isStale(GameMetadata row) {
+        return row.getFetchedAt().isBefore(LocalDateTime.now().minus(refreshAfter));
+    }
+
+    // 999xxx 가짜 ID는 스팀에 물어봐도 없음
+    private static boolean isNonSteam(Long steamAppId) {
+        return SteamApiService.nonSteamGames().values().stream()
+                .anyMatch(info -> info.steamAppId().equals(steamAppId));
+    }
+
+    private static GameMeta toMeta(GameMetadata row) {
+        List<String> genres = row.getGenres() == null
+                ? List.of()
+                : List.of(row.getGenres().split("\\" + GENRE_SEPARATOR));
+        return new GameMeta(row.getSteamAppId(), row.getHeaderImage(), genres, null);
+    }
+
+    private static Map<Long, GameMeta> readNonSteamGames() {
+        Map<Long, GameMeta> games = new HashMap<>();
+        ClassPathResource resource = new ClassPathResource(NON_STEAM_PATH);
+        if (!resource.exists()) return games;
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) continue;
+                String[] cols = line.split("\t");
+                if (cols.length < 4) continue;
+                Long steamAppId = Long.parseLong(cols[0].trim());
+                games.put(steamAppId, new GameMeta(steamAppId,
+                        blankToNull(cols[1]),
+                        blankToNull(cols[2]) == null ? List.of() : Arrays.asList(cols[2].trim().split("\\" + GENRE_SEPARATOR)),
+                        blankToNull(cols[3]) == null ? null : Integer.valueOf(cols[3].trim())));
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.error("비-스팀 게임 정보 파일 읽기 실패: {}", NON_STEAM_PATH, e);
+        }
+        return games;
+    }
+
+    private static String blankToNull(String col) {
+        String v = col.trim();
+        return v.isEmpty() || v.equals("-") ? null : v;
+    }
+
+    public CacheStats cacheStats() {
+        return cache.synchronous().stats();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loadExecutor.shutdown();
+    }
+
+    // 스팀에 없는 앱(빈 정보)은 짧게 캐시
+    private record MetaExpiry(Duration ttl, Duration negativeTtl) implements Expiry<Long, GameMeta> {
+        @Override
+        public long expireAfterCreate(Long key, GameMeta value, long currentTime) {
+            return (value.isEmpty() ? negativeTtl : ttl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, GameMeta value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, GameMeta value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
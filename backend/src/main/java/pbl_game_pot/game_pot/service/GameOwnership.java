@@ -0,0 +1,10 @@
+package pbl_game_pot.game_pot.service;
+
+/**
+ * 이 서버(노드)가 해당 게임의 대기열을 담당하는지. 여러 대로 띄웠을 때 게임별 작업(파티 전송 등)이 한 노드에서만 돌도록 쓴다.
+ */
+@FunctionalInterface
+public interface GameOwnership {
+
+    boolean ownsGame(Long gameId);
+}
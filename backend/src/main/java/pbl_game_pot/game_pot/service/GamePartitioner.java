@@ -0,0 +1,44 @@
+package pbl_game_pot.game_pot.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * 게임 → 담당 노드 배정 (rendezvous hashing).
+ * 노드마다 (게임, 노드) 점수를 매겨 가장 높은 노드가 담당한다. 노드가 하나 늘거나 빠져도
+ * 그 노드와 관련된 게임(약 1/N)만 옮겨 가고 나머지는 그대로라서 재배치 비용이 작다.
+ */
+final class GamePartitioner {
+
+    private GamePartitioner() {
+    }
+
+    static String ownerOf(Long gameId, Collection<String> nodes) {
+        String owner = null;
+        long best = Long.MIN_VALUE;
+        for (String node : nodes) {
+            long score = score(gameId, node);
+            // 점수가 같으면 이름 순으로 고정 (모든 노드가 같은 결론을 내도록)
+            if (owner == null || score > best || (score == best && node.compareTo(owner) < 0)) {
+                owner = node;
+                best = score;
+            }
+        }
+        return owner;
+    }
+
+    private static long score(Long gameId, String node) {
+        long h = mix(gameId);
+        for (byte b : node.getBytes(StandardCharsets.UTF_8)) {
+            h = mix(h ^ b);
+        }
+        return h;
+    }
+
+    // splitmix64 마무리 단계
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
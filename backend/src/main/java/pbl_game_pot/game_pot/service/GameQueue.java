@@ -0,0 +1,277 @@
+package pbl_game_pot.game_pot.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * 한 게임의 대기열. 참가 순서(FIFO)와 매칭 조건별 인덱스를 함께 유지한다.
+ * {@link MatchmakingEngine}이 해당 게임 stripe 락을 쥔 상태에서만 호출한다 (자체 동기화 없음).
+ *
+ * 인덱스: (지역, 언어, 희망 인원) 버킷 → 랭크 구간별 FIFO 목록 + 랭크 없는 FIFO 목록.
+ * 파티를 찾을 때는 기준(anchor) 엔트리와 맞는 버킷의 허용 랭크 구간만 앞에서 몇 명씩 보고,
+ * 대기열 전체를 훑지 않는다. 조건이 하나도 없는 게임은 버킷 1개짜리 FIFO와 같다.
+ *
+ * 변경(참가/빠짐)마다 엔진 전체 카운터에서 버전을 받아 최근 CHANGE_LOG_SIZE건을 남겨 두고,
+ * 현황 조회가 "since 버전 이후 변경분"만 가져갈 수 있게 한다 ({@link #changesSince}).
+ */
+final class GameQueue {
+
+    // null 항목 = 상관없음 버킷
+    private record Bucket(String region, String language, Integer partySize) {
+        static Bucket of(MatchAttributes a) {
+            return new Bucket(a.region(), a.language(), a.partySize());
+        }
+    }
+
+    private static final class Lane {
+        final LinkedHashMap<Long, QueueEntry> unranked = new LinkedHashMap<>();
+        final TreeMap<Integer, LinkedHashMap<Long, QueueEntry>> byRank = new TreeMap<>();
+
+        LinkedHashMap<Long, QueueEntry> listFor(Integer rank, boolean create) {
+            if (rank == null) return unranked;
+            return create ? byRank.computeIfAbsent(rank, k -> new LinkedHashMap<>()) : byRank.get(rank);
+        }
+
+        boolean isEmpty() {
+            return unranked.isEmpty() && byRank.isEmpty();
+        }
+
+        // 랭크 없는 목록과 허용 구간의 랭크별 목록에서 각각 앞쪽 limit명까지만 후보로
+        void collect(Integer rank, int spread, int limit, List<QueueEntry> out) {
+            take(unranked, limit, out);
+            NavigableMap<Integer, LinkedHashMap<Long, QueueEntry>> bands =
+                    rank == null ? byRank : byRank.subMap(rank - spread, true, rank + spread, true);
+            for (LinkedHashMap<Long, QueueEntry> band : bands.values()) {
+                take(band, limit, out);
+            }
+        }
+
+        private static void take(LinkedHashMap<Long, QueueEntry> list, int limit, List<QueueEntry> out) {
+            int n = 0;
+            for (QueueEntry e : list.values()) {
+                if (n++ == limit) return;
+                out.add(e);
+            }
+        }
+    }
+
+    private record Change(long version, QueueEntry entry, boolean joined) {}
+
+    static final int CHANGE_LOG_SIZE = 512;
+
+    private final LinkedHashMap<Long, QueueEntry> order = new LinkedHashMap<>();
+    private final Map<Bucket, Lane> lanes = new HashMap<>();
+    private final ArrayDeque<Change> changes = new ArrayDeque<>();
+    private final LongSupplier versions;
+    private long version;   // 마지막 변경 버전
+    private long floor;     // 이 버전 이후의 변경은 changes에 빠짐없이 있다
+
+    GameQueue() {
+        this(0, new AtomicLong()::incrementAndGet);
+    }
+
+    /**
+     * @param baseVersion 이 대기열이 생기기 전(비어 있던 때)의 버전
+     * @param versions    변경마다 새 버전을 주는 카운터 (단조 증가)
+     */
+    GameQueue(long baseVersion, LongSupplier versions) {
+        this.version = baseVersion;
+        this.floor = baseVersion;
+        this.versions = versions;
+    }
+
+    /**
+     * 참가 시각 순서 자리에 넣는다. 새 참가는 항상 맨 뒤이고, requeue로 원래 참가 시각이 더 이른 엔트리가
+     * 돌아오면 원래 자리로 끼워 넣는다.
+     */
+    void add(QueueEntry entry) {
+        QueueEntry old = putInOrder(order, entry);
+        if (old != null) {
+            unindex(old);
+            logChange(old, false);
+        }
+        logChange(entry, true);
+        putInOrder(lanes.computeIfAbsent(Bucket.of(entry.attributes()), k -> new Lane())
+                .listFor(entry.attributes().rank(), true), entry);
+    }
+
+    // 뒤쪽의 더 늦게 참가한 엔트리만 잠깐 뺐다가 다시 넣는다 (새 참가는 빼는 것 없이 O(1))
+    private static QueueEntry putInOrder(LinkedHashMap<Long, QueueEntry> map, QueueEntry entry) {
+        if (map.containsKey(entry.userId()) || !isBefore(entry, map.lastEntry())) {
+            return map.put(entry.userId(), entry);
+        }
+        ArrayDeque<Map.Entry<Long, QueueEntry>> later = new ArrayDeque<>();
+        while (isBefore(entry, map.lastEntry())) {
+            later.push(map.pollLastEntry());
+        }
+        map.put(entry.userId(), entry);
+        for (Map.Entry<Long, QueueEntry> e : later) {
+            map.put(e.getKey(), e.getValue());
+        }
+        return null;
+    }
+
+    private static boolean isBefore(QueueEntry entry, Map.Entry<Long, QueueEntry> last) {
+        return last != null && entry.createdAt() != null && last.getValue().createdAt() != null
+                && entry.createdAt().isBefore(last.getValue().createdAt());
+    }
+
+    boolean remove(Long userId, QueueEntry entry) {
+        if (!order.remove(userId, entry)) return false;
+        unindex(entry);
+        logChange(entry, false);
+        return true;
+    }
+
+    long version() {
+        return version;
+    }
+
+    /**
+     * since 버전 이후 변경분 (참가 / 빠짐, 같은 창 안에서 들어왔다 나간 유저는 생략).
+     * 로그가 그만큼 남아 있지 않거나 모르는 버전이면 null → 전체를 다시 보내야 한다.
+     */
+    QueueChanges changesSince(long since) {
+        if (since == version) return new QueueChanges(version, List.of(), List.of(), false, order.size());
+        if (since < floor || since > version) return null;
+
+        LinkedHashMap<Long, QueueEntry> joined = new LinkedHashMap<>();
+        List<QueueEntry> left = new ArrayList<>();
+        for (Change c : changes) {
+            if (c.version() <= since) continue;
+            if (c.joined()) {
+                joined.put(c.entry().userId(), c.entry());
+            } else if (joined.remove(c.entry().userId(), c.entry())) {
+                // since 이후에 들어왔다 나감 → 받는 쪽에는 없던 유저
+            } else {
+                left.add(c.entry());
+            }
+        }
+        return new QueueChanges(version, new ArrayList<>(joined.values()), left, false, order.size());
+    }
+
+    int size() {
+        return order.size();
+    }
+
+    boolean isEmpty() {
+        return order.isEmpty();
+    }
+
+    // 참가 순서
+    Collection<QueueEntry> values() {
+        return order.values();
+    }
+
+    /**
+     * 조건과 관계없이 앞에서부터 최대 maxSize명 (수동 파티 생성용).
+     */
+    List<QueueEntry> pollFront(int maxSize) {
+        List<QueueEntry> party = new ArrayList<>(Math.min(maxSize, order.size()));
+        Iterator<QueueEntry> it = order.values().iterator();
+        while (it.hasNext() && party.size() < maxSize) {
+            QueueEntry e = it.next();
+            it.remove();
+            unindex(e);
+            logChange(e, false);
+            party.add(e);
+        }
+        return party;
+    }
+
+    /**
+     * 서로 조건이 맞는 파티 하나를 찾아 꺼낸다. 오래 기다린 엔트리부터 기준으로 삼고,
+     * 파티 인원은 기준 엔트리의 희망 인원(없으면 defaultSize). 못 찾으면 빈 목록.
+     */
+    List<QueueEntry> pollGroup(int defaultSize, MatchPolicy policy, LocalDateTime now) {
+        List<QueueEntry> group = null;
+        int scanned = 0;
+        for (QueueEntry anchor : order.values()) {
+            if (scanned++ == policy.anchorScan()) break;
+            group = groupFor(anchor, defaultSize, policy, now);
+            if (group != null) break;
+        }
+        if (group == null) return List.of();
+        for (QueueEntry e : group) {
+            remove(e.userId(), e);
+        }
+        return group;
+    }
+
+    private List<QueueEntry> groupFor(QueueEntry anchor, int defaultSize, MatchPolicy policy, LocalDateTime now) {
+        MatchAttributes a = anchor.attributes();
+        int size = a.partySize() != null ? a.partySize() : defaultSize;
+        if (order.size() < size) return null;
+        int spread = policy.rankSpread(Duration.between(anchor.createdAt(), now));
+
+        List<QueueEntry> candidates = new ArrayList<>();
+        for (Map.Entry<Bucket, Lane> lane : lanes.entrySet()) {
+            Bucket b = lane.getKey();
+            if (!MatchAttributes.compatible(a.region(), b.region())
+                    || !MatchAttributes.compatible(a.language(), b.language())
+                    || (b.partySize() != null && b.partySize() != size)) continue;
+            // 기준 엔트리 자신이 섞여 있을 수 있으므로 size명씩
+            lane.getValue().collect(a.rank(), spread, size, candidates);
+        }
+        if (candidates.size() < size) return null;
+        candidates.sort(Comparator.comparingLong(QueueEntry::seq));
+
+        // 상관없음(null)인 항목은 처음 들어온 구체적인 값으로 좁혀 가며 오래 기다린 순으로 채운다
+        List<QueueEntry> group = new ArrayList<>(size);
+        group.add(anchor);
+        String region = a.region();
+        String language = a.language();
+        Integer minRank = a.rank();
+        Integer maxRank = a.rank();
+        for (QueueEntry c : candidates) {
+            if (c.seq() == anchor.seq()) continue;
+            MatchAttributes ca = c.attributes();
+            if (!MatchAttributes.compatible(region, ca.region())
+                    || !MatchAttributes.compatible(language, ca.language())) continue;
+            if (ca.rank() != null && minRank != null
+                    && Math.max(maxRank, ca.rank()) - Math.min(minRank, ca.rank()) > 2 * spread) continue;
+
+            group.add(c);
+            if (region == null) region = ca.region();
+            if (language == null) language = ca.language();
+            if (ca.rank() != null) {
+                minRank = minRank == null ? ca.rank() : Math.min(minRank, ca.rank());
+                maxRank = maxRank == null ? ca.rank() : Math.max(maxRank, ca.rank());
+            }
+            if (group.size() == size) return group;
+        }
+        return null;
+    }
+
+    private void logChange(QueueEntry entry, boolean joined) {
+        version = versions.getAsLong();
+        changes.addLast(new Change(version, entry, joined));
+        if (changes.size() > CHANGE_LOG_SIZE) floor = changes.removeFirst().version();
+    }
+
+    private void unindex(QueueEntry entry) {
+        Bucket bucket = Bucket.of(entry.attributes());
+        Lane lane = lanes.get(bucket);
+        if (lane == null) return;
+        Integer rank = entry.attributes().rank();
+        LinkedHashMap<Long, QueueEntry> list = lane.listFor(rank, false);
+        if (list != null) {
+            list.remove(entry.userId(), entry);
+            if (rank != null && list.isEmpty()) lane.byRank.remove(rank);
+        }
+        if (lane.isEmpty()) lanes.remove(bucket);
+    }
+}
@@ -0,0 +1,6 @@
+package pbl_game_pot.game_pot.service;
+
+/**
+ * games 테이블에 새 게임이 등록됐을 때 발행. 검색 인덱스가 이 이벤트로 다시 만들어진다.
+ */
+public record GameRegisteredEvent(Long gameId, Long steamAppId, String name) {}
@@ -0,0 +1,6 @@
+package pbl_game_pot.game_pot.service;
+
+/**
+ * 대기 인원 순위 한 줄 ({@link HotGamesRanking}).
+ */
+public record HotGame(Long gameId, int waiting) {}
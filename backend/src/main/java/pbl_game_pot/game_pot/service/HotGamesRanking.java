@@ -0,0 +1,114 @@
+package pbl_game_pot.game_pot.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 대기 인원이 많은 게임 순위. {@link MatchmakingEngine}이 게임 대기열이 바뀔 때마다 새 인원을 알려 주고
+ * (skip list에서 빼고 다시 넣기, O(log n)), 조회는 앞에서 limit개만 읽는다 (게임 수와 무관).
+ *
+ * 최대 maxTracked개 게임만 들고 있다. 꽉 찼을 때 새 게임이 꼴찌보다 많으면 꼴찌를 내보내고,
+ * 아니면 넣지 않는다 (그 게임 인원이 다시 바뀔 때 다시 비교). 그래서 상위권은 정확하고 꼬리만 근사다.
+ *
+ * 같은 게임에 대한 update는 동시에 들어오지 않아야 한다 (엔진은 게임 stripe 락 안에서 호출).
+ * 다른 게임끼리는 락 없이 동시에 갱신된다.
+ */
+final class HotGamesRanking {
+
+    static final int DEFAULT_MAX_TRACKED = 10_000;
+
+    // 인원 많은 순, 같으면 gameId 작은 순
+    private static final Comparator<HotGame> ORDER =
+            Comparator.comparingInt(HotGame::waiting).reversed().thenComparing(HotGame::gameId);
+
+    private final ConcurrentSkipListSet<HotGame> ranked = new ConcurrentSkipListSet<>(ORDER);
+    private final ConcurrentHashMap<Long, HotGame> byGame = new ConcurrentHashMap<>();
+    private final int maxTracked;
+
+    HotGamesRanking() {
+        this(DEFAULT_MAX_TRACKED);
+    }
+
+    HotGamesRanking(int maxTracked) {
+        this.maxTracked = maxTracked;
+    }
+
+    /**
+     * 게임의 현재 대기 인원을 반영한다 (0이면 순위에서 뺌).
+     */
+    void update(Long gameId, int waiting) {
+        HotGame old = byGame.get(gameId);
+        if (old != null && old.waiting() == waiting) return;
+        if (old != null) ranked.remove(old);
+        if (waiting <= 0) {
+            if (old != null) byGame.remove(gameId, old);
+            return;
+        }
+
+        HotGame now = new HotGame(gameId, waiting);
+        if (old == null && byGame.size() >= maxTracked) {
+            HotGame last = lastOrNull();
+            if (last != null && ORDER.compare(now, last) >= 0) return; // 꼴찌보다 적으면 추적 안 함
+            if (last != null && ranked.remove(last)) byGame.remove(last.gameId(), last);
+        }
+        byGame.put(gameId, now);
+        ranked.add(now);
+    }
+
+    /**
+     * 대기 인원 상위 limit개 (많은 순).
+     */
+    List<HotGame> top(int limit) {
+        List<HotGame> top = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (HotGame h : ranked) {
+            if (top.size() == limit) break;
+            top.add(h);
+        }
+        return top;
+    }
+
+    int tracked() {
+        return byGame.size();
+    }
+
+    /**
+     * gameId → 인원 맵에서 상위 limit개 (다른 노드 heartbeat용). 크기 limit의 힙으로 O(m log limit).
+     */
+    static List<HotGame> topOf(Map<Long, Integer> sizes, int limit) {
+        PriorityQueue<HotGame> heap = new PriorityQueue<>(ORDER.reversed());
+        for (Map.Entry<Long, Integer> e : sizes.entrySet()) {
+            if (e.getValue() == null || e.getValue() <= 0) continue;
+            heap.add(new HotGame(e.getKey(), e.getValue()));
+            if (heap.size() > limit) heap.poll();
+        }
+        List<HotGame> top = new ArrayList<>(heap);
+        top.sort(ORDER);
+        return top;
+    }
+
+    /**
+     * 여러 순위를 합쳐 상위 limit개. 같은 게임이 둘 이상에 있으면(담당 노드 이동 중) 큰 값.
+     */
+    static List<HotGame> merge(List<List<HotGame>> lists, int limit) {
+        Map<Long, Integer> best = new HashMap<>();
+        for (List<HotGame> list : lists) {
+            for (HotGame h : list) best.merge(h.gameId(), h.waiting(), Math::max);
+        }
+        return topOf(best, limit);
+    }
+
+    private HotGame lastOrNull() {
+        try {
+            return ranked.last();
+        } catch (NoSuchElementException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package pbl_game_pot.game_pot.service;
+
+import java.util.Locale;
+
+/**
+ * 대기열 엔트리의 선택 매칭 조건. null인 항목은 "상관없음"으로 어떤 값과도 맞는다.
+ *
+ * - rank: 랭크 구간 (0 ~ {@link #MAX_RANK}). 오래 기다릴수록 허용 차이가 넓어진다 ({@link MatchPolicy}).
+ * - region / language: 서버 지역, 음성 채팅 언어. 대소문자 구분 없이 같은 값끼리만 맞는다.
+ * - partySize: 희망 파티 인원. 없으면 게임 기본 인원.
+ */
+public record MatchAttributes(Integer rank, String region, String language, Integer partySize) {
+
+    public static final int MAX_RANK = 20;
+    public static final int MAX_PARTY_SIZE = 10;
+    public static final MatchAttributes NONE = new MatchAttributes(null, null, null, null);
+
+    public MatchAttributes {
+        region = normalize(region);
+        language = normalize(language);
+        if (rank != null && (rank < 0 || rank > MAX_RANK)) {
+            throw new IllegalArgumentException("rank는 0~" + MAX_RANK + " 사이여야 합니다.");
+        }
+        if (partySize != null && (partySize < 2 || partySize > MAX_PARTY_SIZE)) {
+            throw new IllegalArgumentException("partySize는 2~" + MAX_PARTY_SIZE + " 사이여야 합니다.");
+        }
+    }
+
+    // null끼리, 또는 한쪽이 null이면 맞는 것으로 본다
+    static boolean compatible(String want, String have) {
+        return want == null || have == null || want.equals(have);
+    }
+
+    private static String normalize(String value) {
+        if (value == null || value.isBlank()) return null;
+        String v = value.trim().toLowerCase(Locale.ROOT);
+        if (v.length() > 16) throw new IllegalArgumentException("지역/언어 값이 너무 깁니다: " + value);
+        return v;
+    }
+}
@@ -0,0 +1,26 @@
+package pbl_game_pot.game_pot.service;
+
+import java.time.Duration;
+
+/**
+ * 조건 매칭의 허용 범위.
+ *
+ * - 랭크 허용 차이 = baseRankSpread + (기다린 시간 / widenEvery), 최대 maxRankSpread
+ * - anchorScan: 한 번 꺼낼 때 대기열 앞에서부터 기준(anchor)으로 시도해 볼 최대 인원.
+ *   맞는 파티가 없어도 이 이상은 보지 않으므로 꺼내기 비용이 대기 인원에 비례하지 않는다.
+ */
+public record MatchPolicy(int baseRankSpread, Duration widenEvery, int maxRankSpread, int anchorScan) {
+
+    public static final MatchPolicy DEFAULT = new MatchPolicy(1, Duration.ofSeconds(30), 10, 64);
+
+    public MatchPolicy {
+        if (widenEvery.isZero() || widenEvery.isNegative()) {
+            throw new IllegalArgumentException("widenEvery는 0보다 커야 합니다.");
+        }
+    }
+
+    public int rankSpread(Duration waited) {
+        long steps = Math.max(0, waited.toMillis()) / widenEvery.toMillis();
+        return (int) Math.min(maxRankSpread, baseRankSpread + steps);
+    }
+}
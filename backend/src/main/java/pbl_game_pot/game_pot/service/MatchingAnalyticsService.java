@@ -0,0 +1,96 @@
+package pbl_game_pot.game_pot.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pbl_game_pot.game_pot.db.MatchingRollup;
+import pbl_game_pot.game_pot.db.MatchingRollupId.Granularity;
+import pbl_game_pot.game_pot.db.MatchingRollupRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 대기열 분석 차트용 조회. matching_rollups만 읽고 이벤트 원본(matching_events)은 보지 않는다.
+ * 최근 값은 집계 flush 주기(app.analytics.rollup.flush-ms)만큼 늦을 수 있다.
+ */
+@Service
+@RequiredArgsConstructor
+public class MatchingAnalyticsService {
+
+    /**
+     * @param avgWaitMs 매칭된 유저의 평균 대기 시간 (매칭 0건이면 null)
+     * @param matchRate 대기열에서 빠진 유저 중 매칭으로 빠진 비율 (빠진 유저가 없으면 null)
+     */
+    public record Point(LocalDateTime t, int arrivals, int matched, int left, int expired, int parties,
+                        Long avgWaitMs, Double matchRate) {}
+
+    /**
+     * 최근 days일 동안 해당 시각(0~23시)의 하루 평균.
+     */
+    public record HourOfDay(int hour, double avgArrivals, double avgParties, Long avgWaitMs, Double matchRate) {}
+
+    private final MatchingRollupRepository rollupRepository;
+
+    /**
+     * [from, to) 구간의 분/시간 단위 집계. 이벤트가 없던 구간은 0으로 채운다.
+     */
+    public List<Point> timeline(Long gameId, Granularity granularity, LocalDateTime from, LocalDateTime to) {
+        ChronoUnit unit = granularity == Granularity.MINUTE ? ChronoUnit.MINUTES : ChronoUnit.HOURS;
+        LocalDateTime start = from.truncatedTo(unit);
+        Map<LocalDateTime, MatchingRollup> rows = new HashMap<>();
+        for (MatchingRollup r : rollupRepository.findRange(gameId, granularity, start, to)) {
+            rows.put(r.getId().getBucketStart(), r);
+        }
+
+        List<Point> points = new ArrayList<>();
+        for (LocalDateTime t = start; t.isBefore(to); t = t.plus(1, unit)) {
+            MatchingRollup r = rows.get(t);
+            points.add(r == null
+                    ? new Point(t, 0, 0, 0, 0, 0, null, null)
+                    : new Point(t, r.getArrivals(), r.getMatched(), r.getLeftCount(), r.getExpired(), r.getParties(),
+                            avgWaitMs(r.getWaitSumMs(), r.getMatched()),
+                            matchRate(r.getMatched(), r.getLeftCount(), r.getExpired())));
+        }
+        return points;
+    }
+
+    /**
+     * 시간대별 혼잡도 (최근 days일의 시간 단위 집계를 0~23시로 묶음). 항상 24개.
+     */
+    public List<HourOfDay> peakHours(Long gameId, int days, LocalDateTime now) {
+        LocalDateTime to = now.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+        LocalDateTime from = to.minusDays(days);
+
+        long[][] sums = new long[24][5]; // arrivals, parties, matched, exits, waitSumMs
+        for (MatchingRollup r : rollupRepository.findRange(gameId, Granularity.HOUR, from, to)) {
+            long[] s = sums[r.getId().getBucketStart().getHour()];
+            s[0] += r.getArrivals();
+            s[1] += r.getParties();
+            s[2] += r.getMatched();
+            s[3] += (long) r.getMatched() + r.getLeftCount() + r.getExpired();
+            s[4] += r.getWaitSumMs();
+        }
+
+        List<HourOfDay> hours = new ArrayList<>(24);
+        for (int h = 0; h < 24; h++) {
+            long[] s = sums[h];
+            hours.add(new HourOfDay(h, (double) s[0] / days, (double) s[1] / days,
+                    s[2] == 0 ? null : s[4] / s[2],
+                    s[3] == 0 ? null : (double) s[2] / s[3]));
+        }
+        return hours;
+    }
+
+    private static Long avgWaitMs(long waitSumMs, int matched) {
+        return matched == 0 ? null : waitSumMs / matched;
+    }
+
+    private static Double matchRate(int matched, int left, int expired) {
+        int exits = matched + left + expired;
+        return exits == 0 ? null : (double) matched / exits;
+    }
+}
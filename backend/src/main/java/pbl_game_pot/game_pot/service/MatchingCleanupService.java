@@ -1,33 +1,62 @@
 package pbl_game_pot.game_pot.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import pbl_game_pot.game_pot.db.MatchingQueueRepository;
 
 import java.time.LocalDateTime;
 
+/**
+ * matching_queue 테이블의 잔여 행 정리.
+ * 대기 시간 초과는 {@link QueueExpiryScheduler}가 메모리에서 바로 처리하고 저널이 테이블에 반영하므로,
+ * 여기서는 저널 반영이 누락된 행만 지운다. 한 문장에 batch-size 행까지만 지우고 문장마다 따로 커밋한다.
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class MatchingCleanupService {
 
     private final MatchingQueueRepository matchingQueueRepository;
+    private final QueueExpiryScheduler expiryScheduler;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter deletedRows;
 
-    // 매시간 0분에 실행 (cron = "0 0 * * * *")
-    @Scheduled(cron = "0 0 * * * *")
-    @Transactional
-    public void cleanupOldMatches() {
-        log.info("Running scheduled cleanup of old matches...");
-        // 2시간보다 오래된 매칭은 삭제
-        LocalDateTime twoHoursAgo = LocalDateTime.now().minusHours(2);
+    public MatchingCleanupService(MatchingQueueRepository matchingQueueRepository,
+                                  QueueExpiryScheduler expiryScheduler,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.matching.expiry.sweep-batch-size:500}") int batchSize,
+                                  @Value("${app.matching.expiry.sweep-max-batches:20}") int maxBatches) {
+        this.matchingQueueRepository = matchingQueueRepository;
+        this.expiryScheduler = expiryScheduler;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.deletedRows = Counter.builder("matching.cleanup.rows")
+                .description("잔여 행 정리로 matching_queue에서 지운 행 수")
+                .register(meterRegistry);
+    }
 
-        int count = matchingQueueRepository.deleteByCreatedAtBefore(twoHoursAgo);
+    /**
+     * @return 이번 실행에서 지운 행 수
+     */
+    @Scheduled(fixedDelayString = "${app.matching.expiry.sweep-ms:60000}",
+            initialDelayString = "${app.matching.expiry.sweep-initial-delay-ms:0}")
+    public int cleanupOldMatches() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(expiryScheduler.maxTtl());
 
-        if (count > 0) {
-            log.info("Cleaned up {} old matching entries.", count);
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int deleted = matchingQueueRepository.deleteBatchCreatedBefore(cutoff, batchSize);
+            total += deleted;
+            if (deleted < batchSize) break;
+        }
+        if (total > 0) {
+            deletedRows.increment(total);
+            log.info("대기열 테이블 잔여 행 {}건 삭제 (기준: {} 이전)", total, cutoff);
         }
+        return total;
     }
-}
\ No newline at end of file
+}
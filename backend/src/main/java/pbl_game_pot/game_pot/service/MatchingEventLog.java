@@ -0,0 +1,188 @@
+package pbl_game_pot.game_pot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import pbl_game_pot.game_pot.db.MatchingEvent;
+import pbl_game_pot.game_pot.db.MatchingEventRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대기열 참가 / 이탈 / 만료 / 매칭, 파티 생성을 matching_events에 추가만 하는 기록기.
+ * 요청 스레드는 메모리 집계({@link MatchingRollupAggregator})에 더하고 큐에 넣기만 하며,
+ * 전용 스레드가 모아서 JDBC batch 1번으로 넣는다. 큐가 가득 차면 기록은 버리고(집계는 유지) 개수만 센다.
+ *
+ * 클러스터에서는 대기열을 가진 노드에서만 발행된 이벤트를 받으므로 같은 이벤트가 두 번 기록되지 않는다.
+ * 다른 게임으로 옮기며 빠진 것(MOVED)은 이탈로, 다시 줄 선 것(REQUEUE)은 참가로 세지 않는다.
+ * 매칭(MATCHED)은 엔진이 파티를 꺼낼 때가 아니라 봇이 파티를 만든 뒤({@link MatchingPartyEvent}) 멤버별로 센다.
+ * 파티 생성에 실패해 되돌아온 인원이 매칭 1번 + 참가 1번으로 두 번 세지지 않게 하기 위해서다.
+ */
+@Component
+@Slf4j
+public class MatchingEventLog {
+
+    private static final int MAX_RETRY = 3;
+    private static final Set<MatchingQueueEvent.Type> NOT_LOGGED = EnumSet.of(
+            MatchingQueueEvent.Type.MOVED, MatchingQueueEvent.Type.REQUEUE, MatchingQueueEvent.Type.MATCHED);
+
+    private final MatchingEventRepository eventRepository;
+    private final MatchingRollupAggregator aggregator;
+    private final TransactionTemplate tx;
+    private final BlockingQueue<MatchingEvent> pending;
+    private final int batchSize;
+    private final Duration retention;
+    private final int purgeBatchSize;
+    private final Counter dropped;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public MatchingEventLog(MatchingEventRepository eventRepository,
+                            MatchingRollupAggregator aggregator,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.analytics.events.buffer-size:100000}") int bufferSize,
+                            @Value("${app.analytics.events.batch-size:500}") int batchSize,
+                            @Value("${app.analytics.events.retention:30d}") Duration retention,
+                            @Value("${app.analytics.purge-batch-size:5000}") int purgeBatchSize) {
+        this.eventRepository = eventRepository;
+        this.aggregator = aggregator;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.pending = new LinkedBlockingQueue<>(bufferSize);
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.purgeBatchSize = purgeBatchSize;
+        this.dropped = Counter.builder("matching.events.dropped")
+                .description("기록 큐가 가득 차 matching_events에 남기지 못한 이벤트 수 (집계에는 반영됨)")
+                .register(meterRegistry);
+        Gauge.builder("matching.events.backlog", pending, BlockingQueue::size)
+                .description("아직 matching_events에 넣지 않은 이벤트 수")
+                .register(meterRegistry);
+        this.writer = new Thread(this::runWriter, "matching-event-log");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQueueEvent(MatchingQueueEvent event) {
+        if (NOT_LOGGED.contains(event.type())) return;
+        Integer waitMs = null;
+        if (event.type() != MatchingQueueEvent.Type.JOIN && event.queuedAt() != null) {
+            long ms = Duration.between(event.queuedAt(), event.occurredAt()).toMillis();
+            waitMs = (int) Math.max(0, Math.min(ms, Integer.MAX_VALUE));
+        }
+        append(MatchingEvent.builder()
+                .type(MatchingEvent.Type.valueOf(event.type().name()))
+                .gameId(event.gameId())
+                .userId(event.userId())
+                .waitMs(waitMs)
+                .occurredAt(event.occurredAt())
+                .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartyEvent(MatchingPartyEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        event.memberWaitMs().forEach((userId, waitMs) -> append(MatchingEvent.builder()
+                .type(MatchingEvent.Type.MATCHED)
+                .gameId(event.gameId())
+                .userId(userId)
+                .waitMs(waitMs)
+                .occurredAt(now)
+                .build()));
+        append(MatchingEvent.builder()
+                .type(MatchingEvent.Type.PARTY)
+                .gameId(event.gameId())
+                .partySize(event.usernames().size())
+                .occurredAt(now)
+                .build());
+    }
+
+    @Scheduled(cron = "${app.analytics.purge-cron:0 20 4 * * *}")
+    public int purgeOldEvents() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = eventRepository.deleteBatchOccurredBefore(cutoff, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        if (total > 0) log.info("대기열 이벤트 기록 {}건 삭제 (기준: {} 이전)", total, cutoff);
+        return total;
+    }
+
+    private void append(MatchingEvent event) {
+        aggregator.record(event);
+        if (!pending.offer(event)) dropped.increment();
+    }
+
+    private void runWriter() {
+        List<MatchingEvent> batch = new ArrayList<>(batchSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                MatchingEvent first = pending.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                pending.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<MatchingEvent> batch) {
+        for (int attempt = 1; attempt <= MAX_RETRY; attempt++) {
+            try {
+                tx.executeWithoutResult(status -> eventRepository.appendAll(batch));
+                return;
+            } catch (Exception e) {
+                log.warn("대기열 이벤트 기록 실패 ({}/{}), 건수: {}", attempt, MAX_RETRY, batch.size(), e);
+                sleepQuietly(200L * attempt);
+            }
+        }
+        dropped.increment(batch.size());
+        log.error("대기열 이벤트 기록 포기. 건수: {} (집계에는 반영됨)", batch.size());
+    }
+
+    private static void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(10_000);
+        if (!pending.isEmpty()) {
+            log.warn("종료 시 기록하지 못한 대기열 이벤트 건수: {}", pending.size());
+        }
+    }
+}
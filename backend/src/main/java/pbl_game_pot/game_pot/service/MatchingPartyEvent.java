@@ -0,0 +1,18 @@
+package pbl_game_pot.game_pot.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 파티가 만들어졌을 때(봇 서버 응답을 받았을 때) 발행되는 이벤트. 같은 게임 구독자들에게 초대 링크를 전달하는 데 쓴다.
+ * memberWaitMs(userId → 매칭까지 대기 시간)는 매칭 통계용이라 구독자에게 보내지 않는다.
+ */
+public record MatchingPartyEvent(String partyId, Long gameId, List<String> usernames, Object botResponse,
+                                 @JsonIgnore Map<Long, Integer> memberWaitMs) {
+
+    public MatchingPartyEvent {
+        if (memberWaitMs == null) memberWaitMs = Map.of();
+    }
+}
@@ -0,0 +1,34 @@
+package pbl_game_pot.game_pot.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대기열 변경 이벤트 (참가 / 다시 줄 섬 / 이탈 / 다른 게임으로 옮김 / 파티 매칭으로 빠짐 / 대기 시간 초과).
+ * 컨트롤러나 서비스가 ApplicationEventPublisher로 발행하면
+ * 스트림 구독자 등 관심 있는 쪽이 받아서 처리한다.
+ */
+public record MatchingQueueEvent(
+        Type type,
+        Long gameId,
+        Long userId,
+        String username,
+        String displayName,
+        String avatarUrl,
+        LocalDateTime queuedAt,     // 해당 엔트리가 줄을 선 시각 (대기 시간 계산용, 모르면 null)
+        LocalDateTime occurredAt
+) {
+    // REQUEUE: 파티 생성 실패 / 담당 노드 변경으로 원래 참가 시각 그대로 다시 줄 섬 (구독자에게는 join, 참가 통계에는 넣지 않음)
+    // MOVED: 다른 게임에 참가하면서 이전 대기열에서 빠짐 (구독자에게는 leave, 이탈 통계에는 넣지 않음)
+    public enum Type { JOIN, REQUEUE, LEAVE, MOVED, MATCHED, EXPIRE }
+
+    public static MatchingQueueEvent of(Type type, Long gameId, Long userId,
+                                        String username, String displayName, String avatarUrl) {
+        return of(type, gameId, userId, username, displayName, avatarUrl, null);
+    }
+
+    public static MatchingQueueEvent of(Type type, Long gameId, Long userId, String username,
+                                        String displayName, String avatarUrl, LocalDateTime queuedAt) {
+        return new MatchingQueueEvent(type, gameId, userId, username, displayName, avatarUrl,
+                queuedAt, LocalDateTime.now());
+    }
+}
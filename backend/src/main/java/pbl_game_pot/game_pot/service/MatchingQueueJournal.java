@@ -0,0 +1,191 @@
+package pbl_game_pot.game_pot.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pbl_game_pot.game_pot.db.MatchingQueueRepository;
+import pbl_game_pot.game_pot.db.QueueLeaveRow;
+import pbl_game_pot.game_pot.db.QueueReplayRow;
+import pbl_game_pot.game_pot.db.QueueUpsertRow;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * matching_queue 테이블을 메모리 대기열의 비동기 write-behind 저널로 사용한다.
+ * 요청 스레드는 큐에 기록만 남기고 바로 돌아가며, 전용 스레드가 모아서 한 트랜잭션(삭제 1문장 + upsert batch)으로 반영한다.
+ * 테이블은 서버 재시작 시 대기열 복구(replay) 용도로만 읽는다.
+ *
+ * 여러 노드가 같은 유저 행을 쓸 수 있으므로(게임 이동) 이탈은 행이 아직 그 게임일 때만 지우고,
+ * upsert는 더 나중에 줄 선 행을 덮어쓰지 않는다. 노드 간 반영 순서가 뒤바뀌어도 최신 대기열이 남는다.
+ */
+@Component
+@Slf4j
+public class MatchingQueueJournal {
+
+    // leave == true 면 gameId 대기열에서 이탈 (createdAt, attributes 없음)
+    record Op(boolean leave, Long userId, Long gameId, LocalDateTime createdAt, MatchAttributes attributes) {}
+
+    private static final int MAX_RETRY = 3;
+    private static final int REPLAY_PAGE_SIZE = 1000;
+    private static final LocalDateTime REPLAY_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final MatchingQueueRepository matchingQueueRepository;
+    private final TransactionTemplate tx;
+    private final BlockingQueue<Op> pending = new LinkedBlockingQueue<>();
+    private final int batchSize;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public MatchingQueueJournal(MatchingQueueRepository matchingQueueRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.matching.journal.batch-size:200}") int batchSize) {
+        this.matchingQueueRepository = matchingQueueRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.writer = new Thread(this::runWriter, "matching-journal");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    public void recordJoin(QueueEntry entry) {
+        pending.add(new Op(false, entry.userId(), entry.gameId(), entry.createdAt(), entry.attributes()));
+    }
+
+    public void recordLeave(Long userId, Long gameId) {
+        pending.add(new Op(true, userId, gameId, null, null));
+    }
+
+    public int backlog() {
+        return pending.size();
+    }
+
+    /**
+     * 테이블에 남아있는 대기열을 읽어온다 (서버 시작 시 1회).
+     */
+    public List<QueueEntry> loadAll() {
+        List<QueueEntry> entries = new ArrayList<>();
+        LocalDateTime afterCreatedAt = REPLAY_START;
+        Long afterId = 0L;
+        while (true) {
+            List<QueueReplayRow> page = matchingQueueRepository.findReplayPage(
+                    afterCreatedAt, afterId, PageRequest.of(0, REPLAY_PAGE_SIZE));
+            for (QueueReplayRow row : page) {
+                entries.add(new QueueEntry(0L, row.userId(), row.gameId(), row.discordId(), row.username(),
+                        row.displayName(), row.email(), row.avatarUrl(), row.createdAt(), attributesOf(row)));
+            }
+            if (page.size() < REPLAY_PAGE_SIZE) return entries;
+            QueueReplayRow last = page.get(page.size() - 1);
+            afterCreatedAt = last.createdAt();
+            afterId = last.id();
+        }
+    }
+
+    private void runWriter() {
+        List<Op> batch = new ArrayList<>(batchSize);
+        while (running || !pending.isEmpty()) {
+            try {
+                Op first = pending.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                pending.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Op> batch) {
+        // 같은 유저에 대한 기록은 마지막 참가와, 그 뒤에 이탈했으면 이탈까지만 반영하면 된다 (join → leave → join ...).
+        // 이탈은 게임이 맞는 행만 지우므로, 이 묶음에서 옮겨 간 게임의 참가를 먼저 반영해 둬야 같이 지워진다.
+        Map<Long, Op> lastJoin = new LinkedHashMap<>();
+        Map<Long, Op> lastLeave = new LinkedHashMap<>();
+        for (Op op : batch) {
+            if (op.leave()) {
+                lastLeave.put(op.userId(), op);
+            } else {
+                lastJoin.put(op.userId(), op);
+                lastLeave.remove(op.userId());
+            }
+        }
+        List<Op> latest = new ArrayList<>(lastJoin.size() + lastLeave.size());
+        latest.addAll(lastJoin.values());
+        latest.addAll(lastLeave.values());
+
+        for (int attempt = 1; attempt <= MAX_RETRY; attempt++) {
+            try {
+                tx.executeWithoutResult(status -> apply(latest));
+                return;
+            } catch (Exception e) {
+                log.warn("대기열 저널 반영 실패 ({}/{}), 건수: {}", attempt, MAX_RETRY, latest.size(), e);
+                sleepQuietly(200L * attempt);
+            }
+        }
+        log.error("대기열 저널 반영 포기. 재시작 시 복구되지 않을 수 있는 건수: {}", latest.size());
+    }
+
+    // 묶음 1개 = 참가/이동 upsert JDBC batch 1번 + 이탈 삭제 JDBC batch 1번 (참가 먼저)
+    private void apply(Collection<Op> ops) {
+        List<QueueLeaveRow> leaves = new ArrayList<>();
+        List<QueueUpsertRow> joins = new ArrayList<>();
+        for (Op op : ops) {
+            if (op.leave()) {
+                leaves.add(new QueueLeaveRow(op.userId(), op.gameId()));
+            } else {
+                MatchAttributes a = op.attributes();
+                joins.add(new QueueUpsertRow(op.userId(), op.gameId(), op.createdAt(),
+                        a.rank(), a.region(), a.language(), a.partySize()));
+            }
+        }
+        matchingQueueRepository.upsertAll(joins);
+        matchingQueueRepository.deleteAllInGame(leaves);
+    }
+
+    // 범위를 벗어난 값이 테이블에 들어가 있어도 복구는 계속한다 (조건 없이 줄 세움)
+    private static MatchAttributes attributesOf(QueueReplayRow row) {
+        try {
+            return new MatchAttributes(row.rankBand(), row.region(), row.voiceLanguage(), row.partySize());
+        } catch (IllegalArgumentException e) {
+            log.warn("대기열 매칭 조건 무시. userId: {}, {}", row.userId(), e.getMessage());
+            return MatchAttributes.NONE;
+        }
+    }
+
+    private static void sleepQuietly(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // 종료 전에 남은 기록을 최대한 반영
+        running = false;
+        writer.join(10_000);
+        if (!pending.isEmpty()) {
+            log.warn("종료 시 반영하지 못한 대기열 저널 건수: {}", pending.size());
+        }
+    }
+}
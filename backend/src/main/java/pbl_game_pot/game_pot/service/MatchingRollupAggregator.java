@@ -0,0 +1,154 @@
+package pbl_game_pot.game_pot.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pbl_game_pot.game_pot.db.MatchingEvent;
+import pbl_game_pot.game_pot.db.MatchingRollup;
+import pbl_game_pot.game_pot.db.MatchingRollupId;
+import pbl_game_pot.game_pot.db.MatchingRollupId.Granularity;
+import pbl_game_pot.game_pot.db.MatchingRollupRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 이벤트가 들어올 때마다 게임별 분/시간 구간 집계에 더해 두고, flush-ms마다 쌓인 증분만 matching_rollups에 더한다.
+ * 반영에 실패한 증분은 다음 flush에 다시 합쳐서 보낸다. 분 단위 집계는 minute-retention이 지나면 지운다.
+ */
+@Component
+@Slf4j
+public class MatchingRollupAggregator {
+
+    // 한 구간의 아직 반영하지 않은 증분
+    static final class Delta {
+        int arrivals;
+        int matched;
+        int left;
+        int expired;
+        int parties;
+        long waitSumMs;
+
+        void add(MatchingEvent e) {
+            switch (e.getType()) {
+                case JOIN -> arrivals++;
+                case LEAVE -> left++;
+                case EXPIRE -> expired++;
+                case PARTY -> parties++;
+                case MATCHED -> {
+                    matched++;
+                    if (e.getWaitMs() != null) waitSumMs += e.getWaitMs();
+                }
+            }
+        }
+
+        void merge(Delta o) {
+            arrivals += o.arrivals;
+            matched += o.matched;
+            left += o.left;
+            expired += o.expired;
+            parties += o.parties;
+            waitSumMs += o.waitSumMs;
+        }
+    }
+
+    private final MatchingRollupRepository rollupRepository;
+    private final TransactionTemplate tx;
+    private final Duration minuteRetention;
+    private final int purgeBatchSize;
+
+    private Map<MatchingRollupId, Delta> pending = new HashMap<>();
+
+    public MatchingRollupAggregator(MatchingRollupRepository rollupRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${app.analytics.rollup.minute-retention:7d}") Duration minuteRetention,
+                                    @Value("${app.analytics.purge-batch-size:5000}") int purgeBatchSize) {
+        this.rollupRepository = rollupRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.minuteRetention = minuteRetention;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    public synchronized void record(MatchingEvent e) {
+        LocalDateTime t = e.getOccurredAt();
+        deltaFor(e.getGameId(), Granularity.MINUTE, t.truncatedTo(ChronoUnit.MINUTES)).add(e);
+        deltaFor(e.getGameId(), Granularity.HOUR, t.truncatedTo(ChronoUnit.HOURS)).add(e);
+    }
+
+    /**
+     * @return 반영한 (게임, 단위, 구간) 수
+     */
+    @Scheduled(fixedDelayString = "${app.analytics.rollup.flush-ms:10000}")
+    public int flush() {
+        Map<MatchingRollupId, Delta> batch = drain();
+        if (batch.isEmpty()) return 0;
+
+        List<MatchingRollup> rows = new ArrayList<>(batch.size());
+        batch.forEach((id, d) -> rows.add(MatchingRollup.builder()
+                .id(id)
+                .arrivals(d.arrivals)
+                .matched(d.matched)
+                .leftCount(d.left)
+                .expired(d.expired)
+                .parties(d.parties)
+                .waitSumMs(d.waitSumMs)
+                .build()));
+        try {
+            tx.executeWithoutResult(status -> rollupRepository.addAll(rows));
+            return rows.size();
+        } catch (Exception e) {
+            log.warn("대기열 집계 반영 실패, 다음 주기에 다시 시도. 구간 수: {}", rows.size(), e);
+            restore(batch);
+            return 0;
+        }
+    }
+
+    @Scheduled(cron = "${app.analytics.purge-cron:0 20 4 * * *}")
+    public int purgeOldMinutes() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(minuteRetention);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = rollupRepository.deleteBatchBefore(Granularity.MINUTE.name(), cutoff, purgeBatchSize);
+            total += deleted;
+        } while (deleted == purgeBatchSize);
+        if (total > 0) log.info("분 단위 대기열 집계 {}건 삭제 (기준: {} 이전)", total, cutoff);
+        return total;
+    }
+
+    synchronized int pendingBuckets() {
+        return pending.size();
+    }
+
+    private Delta deltaFor(Long gameId, Granularity granularity, LocalDateTime bucketStart) {
+        return pending.computeIfAbsent(new MatchingRollupId(gameId, granularity, bucketStart), k -> new Delta());
+    }
+
+    private synchronized Map<MatchingRollupId, Delta> drain() {
+        Map<MatchingRollupId, Delta> batch = pending;
+        pending = new HashMap<>();
+        return batch;
+    }
+
+    private synchronized void restore(Map<MatchingRollupId, Delta> batch) {
+        batch.forEach((id, d) -> pending.merge(id, d, (cur, old) -> {
+            cur.merge(old);
+            return cur;
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 종료 전에 남은 증분 반영 (이벤트 기록기가 먼저 멈춘 뒤)
+        flush();
+    }
+}
@@ -0,0 +1,211 @@
+package pbl_game_pot.game_pot.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 게임별 대기열 변경(참가/이탈)을 SSE 구독자들에게 밀어주는 팬아웃 서비스.
+ * 폴링마다 DB를 읽는 대신, 변경이 생길 때 한 번만 모든 구독자에게 전달한다.
+ *
+ * - 구독자마다 크기가 제한된 전송 큐를 두고, 큐가 가득 차면(느린 클라이언트) 연결을 끊는다.
+ *   끊긴 클라이언트는 재접속하면서 스냅샷을 다시 받는다.
+ * - 주기적으로 heartbeat 코멘트를 보내 프록시/로드밸런서의 유휴 연결 종료를 막는다.
+ */
+@Service
+@Slf4j
+public class MatchingStatusBroadcaster {
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final int bufferSize;
+    private final long timeoutMs;
+
+    public MatchingStatusBroadcaster(
+            @Value("${app.matching.stream.buffer-size:64}") int bufferSize,
+            @Value("${app.matching.stream.timeout-ms:1800000}") long timeoutMs,
+            @Value("${app.matching.stream.dispatch-threads:4}") int dispatchThreads) {
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger seq = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, r -> {
+            Thread t = new Thread(r, "sse-dispatch-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public record QueueDelta(String type, Long gameId, String username, String displayName, String avatarUrl) {}
+
+    /**
+     * 새 구독자 등록. 첫 이벤트로 현재 대기열 스냅샷을 보낸다.
+     * 구독을 먼저 걸고 스냅샷을 읽으므로, 그 사이 변경은 스냅샷 뒤에 이어서 전달된다
+     * (스냅샷에 이미 반영된 변경이 한 번 더 갈 수 있지만 클라이언트 적용은 username 기준이라 결과가 같다).
+     */
+    public SseEmitter subscribe(Long gameId, Supplier<?> snapshot) {
+        return register(gameId, new SseEmitter(timeoutMs), snapshot);
+    }
+
+    // 테스트 하네스에서 전송 내용을 가로채는 emitter를 꽂을 수 있도록 분리
+    SseEmitter register(Long gameId, SseEmitter emitter, Supplier<?> snapshot) {
+        Subscriber sub = new Subscriber(gameId, emitter, bufferSize);
+
+        // 이 시점부터의 변경은 전송 큐에 쌓이고, 스냅샷을 맨 앞에 넣기 전까지는 보내지 않는다
+        subscribers.computeIfAbsent(gameId, k -> new CopyOnWriteArraySet<>()).add(sub);
+        emitter.onCompletion(() -> remove(sub));
+        emitter.onTimeout(() -> remove(sub));
+        emitter.onError(e -> remove(sub));
+
+        Object data;
+        try {
+            data = snapshot.get();
+        } catch (RuntimeException e) {
+            remove(sub);
+            throw e;
+        }
+        if (!sub.pending.offerFirst(SseEmitter.event().name("snapshot").data(data))) {
+            log.warn("SSE 스냅샷 준비 중 변경이 밀려 연결 종료. gameId: {}", gameId);
+            remove(sub);
+            emitter.complete();
+            return emitter;
+        }
+        sub.started = true;
+        scheduleDrain(sub);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQueueEvent(MatchingQueueEvent event) {
+        // 화면 입장에서는 다시 줄 선 것은 참가, 다른 게임으로 옮긴 것은 이탈
+        String type = switch (event.type()) {
+            case REQUEUE -> "join";
+            case MOVED -> "leave";
+            default -> event.type().name().toLowerCase();
+        };
+        QueueDelta delta = new QueueDelta(
+                type,
+                event.gameId(),
+                event.username(),
+                event.displayName(),
+                event.avatarUrl());
+        publish(event.gameId(), delta.type(), delta);
+    }
+
+    // 파티가 만들어지면 같은 게임 구독자에게 봇 응답(초대 링크)을 전달
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartyEvent(MatchingPartyEvent event) {
+        publish(event.gameId(), "party", event);
+    }
+
+    /**
+     * 특정 게임의 모든 구독자에게 이벤트 전송.
+     */
+    public void publish(Long gameId, String eventName, Object data) {
+        Set<Subscriber> subs = subscribers.get(gameId);
+        if (subs == null || subs.isEmpty()) return;
+
+        for (Subscriber sub : subs) {
+            enqueue(sub, SseEmitter.event().name(eventName).data(data));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.matching.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> subs : subscribers.values()) {
+            for (Subscriber sub : subs) {
+                enqueue(sub, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    public int subscriberCount(Long gameId) {
+        Set<Subscriber> subs = subscribers.get(gameId);
+        return subs == null ? 0 : subs.size();
+    }
+
+    private void enqueue(Subscriber sub, SseEmitter.SseEventBuilder event) {
+        if (!sub.pending.offer(event)) {
+            // 전송 큐가 가득 참 = 클라이언트가 따라오지 못함. 끊고 재접속(스냅샷)으로 복구하게 한다.
+            log.warn("SSE 구독자 전송 지연으로 연결 종료. gameId: {}", sub.gameId);
+            remove(sub);
+            sub.emitter.complete();
+            return;
+        }
+        if (sub.started) scheduleDrain(sub);
+    }
+
+    private void scheduleDrain(Subscriber sub) {
+        if (sub.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(sub));
+        }
+    }
+
+    private void drain(Subscriber sub) {
+        try {
+            SseEmitter.SseEventBuilder next;
+            while ((next = sub.pending.poll()) != null) {
+                sub.emitter.send(next);
+            }
+        } catch (Exception e) {
+            log.debug("SSE 전송 실패, 구독 해제. gameId: {}", sub.gameId);
+            remove(sub);
+            sub.pending.clear();
+            sub.emitter.completeWithError(e);
+        } finally {
+            sub.draining.set(false);
+        }
+        // drain 종료 직후 들어온 이벤트가 남아있으면 다시 예약
+        if (!sub.pending.isEmpty() && subscriberSet(sub.gameId).contains(sub)) {
+            scheduleDrain(sub);
+        }
+    }
+
+    private Set<Subscriber> subscriberSet(Long gameId) {
+        return subscribers.getOrDefault(gameId, Set.of());
+    }
+
+    private void remove(Subscriber sub) {
+        subscribers.computeIfPresent(sub.gameId, (k, subs) -> {
+            subs.remove(sub);
+            return subs.isEmpty() ? null : subs;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(subs -> subs.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+
+    private static final class Subscriber {
+        final Long gameId;
+        final SseEmitter emitter;
+        final BlockingDeque<SseEmitter.SseEventBuilder> pending;
+        final AtomicBoolean draining = new AtomicBoolean();
+        // 스냅샷이 큐 맨 앞에 들어간 뒤부터 전송
+        volatile boolean started;
+
+        Subscriber(Long gameId, SseEmitter emitter, int bufferSize) {
+            this.gameId = gameId;
+            this.emitter = emitter;
+            this.pending = new LinkedBlockingDeque<>(bufferSize);
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package pbl_game_pot.game_pot.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * 게임별 매칭 대기열을 메모리에서 관리하는 엔진.
+ *
+ * - 게임 대기열은 gameId 기준 striped lock으로 보호한다 (같은 stripe만 서로 경합).
+ * - 유저 → 현재 엔트리 인덱스로 "한 유저는 한 대기열에만" 을 보장한다.
+ * - 참가/이탈/조회는 DB 왕복 없이 메모리에서 끝나고, 변경 내역은 {@link MatchingQueueJournal}이 비동기로 기록한다.
+ * - 파티 꺼내기는 {@link GameQueue}의 조건별 인덱스로 서로 맞는 인원만 찾는다 ({@link MatchAttributes}, {@link MatchPolicy}).
+ * - 게임 대기열 인원이 바뀔 때마다 {@link HotGamesRanking}에 알려 인기 게임 순위를 바로 갱신한다 (stripe 락 안).
+ *
+ * 락 순서: 유저 인덱스(compute) → 게임 stripe. stripe 락을 잡은 채로 유저 인덱스를 건드리지 않는다.
+ */
+@Service
+@Slf4j
+public class MatchmakingEngine implements SmartInitializingSingleton {
+
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+    // gameId -> 참가 순서 + 매칭 조건 인덱스. 해당 stripe 락 안에서만 접근
+    private final Map<Long, GameQueue> queues = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, QueueEntry> byUser = new ConcurrentHashMap<>();
+    private final AtomicLong seq = new AtomicLong();
+    // 대기열 버전 카운터 (모든 게임 공용). 재시작해도 이전 버전보다 커지도록 시각에서 시작
+    private final AtomicLong versions = new AtomicLong(System.currentTimeMillis() * 1000);
+    // 비어서 지워진 대기열의 마지막 버전 (다시 생기면 여기서 이어감). 해당 stripe 락 안에서만 접근
+    private final Map<Long, Long> retiredVersions = new ConcurrentHashMap<>();
+    // 대기 인원 순위. 해당 게임 stripe 락 안에서 갱신 (서버 시작 시 복구도 같은 경로라 테이블에서 다시 만들어짐)
+    private final HotGamesRanking hotGames = new HotGamesRanking();
+
+    private final MatchingQueueJournal journal;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Clock clock;
+    private final MatchPolicy policy;
+
+    public MatchmakingEngine(MatchingQueueJournal journal, ApplicationEventPublisher eventPublisher) {
+        this(journal, eventPublisher, Clock.systemDefaultZone(), MatchPolicy.DEFAULT);
+    }
+
+    @Autowired
+    public MatchmakingEngine(MatchingQueueJournal journal,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${app.matching.rank.base-spread:1}") int baseRankSpread,
+                             @Value("${app.matching.rank.widen-every:30s}") Duration widenEvery,
+                             @Value("${app.matching.rank.max-spread:10}") int maxRankSpread,
+                             @Value("${app.matching.anchor-scan:64}") int anchorScan) {
+        this(journal, eventPublisher, Clock.systemDefaultZone(),
+                new MatchPolicy(baseRankSpread, widenEvery, maxRankSpread, anchorScan));
+    }
+
+    // 시뮬레이션/테스트용: 가상 시계로 대기 시간을 돌린다
+    public MatchmakingEngine(MatchingQueueJournal journal, ApplicationEventPublisher eventPublisher,
+                             Clock clock, MatchPolicy policy) {
+        this.journal = journal;
+        this.eventPublisher = eventPublisher;
+        this.clock = clock;
+        this.policy = policy;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * 서버 시작 시 저널(matching_queue 테이블)에서 대기열 복구.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<QueueEntry> saved = journal.loadAll();
+        for (QueueEntry e : saved) {
+            QueueEntry entry = withNewSeq(e);
+            byUser.compute(entry.userId(), (userId, old) -> {
+                if (old != null) removeFromGame(old);
+                addToGame(entry);
+                return entry;
+            });
+        }
+        log.info("매칭 대기열 복구 완료: {}명 / {}개 게임", byUser.size(), queues.size());
+    }
+
+    /**
+     * 대기열 참가. 다른 게임(또는 같은 게임)에 이미 있으면 그 자리에서 빠지고 새로 줄을 선다.
+     */
+    public QueueEntry join(Long userId, Long gameId, String discordId, String username,
+                           String displayName, String email, String avatarUrl) {
+        return join(userId, gameId, discordId, username, displayName, email, avatarUrl, MatchAttributes.NONE);
+    }
+
+    /**
+     * 매칭 조건(랭크/지역/언어/희망 인원)을 달고 참가.
+     */
+    public QueueEntry join(Long userId, Long gameId, String discordId, String username,
+                           String displayName, String email, String avatarUrl, MatchAttributes attributes) {
+        QueueEntry entry = new QueueEntry(seq.incrementAndGet(), userId, gameId, discordId,
+                username, displayName, email, avatarUrl, LocalDateTime.now(clock), attributes);
+
+        QueueEntry[] previous = new QueueEntry[1];
+        byUser.compute(userId, (k, old) -> {
+            if (old != null && removeFromGame(old)) previous[0] = old;
+            addToGame(entry);
+            journal.recordJoin(entry);
+            return entry;
+        });
+        // 이벤트 리스너가 엔진을 다시 호출할 수 있으므로 compute 밖에서 발행
+        if (previous[0] != null) publish(MatchingQueueEvent.Type.MOVED, previous[0]);
+        publish(MatchingQueueEvent.Type.JOIN, entry);
+        return entry;
+    }
+
+    /**
+     * 대기열 이탈. 대기 중이 아니었으면 empty.
+     */
+    public Optional<QueueEntry> leave(Long userId) {
+        QueueEntry[] removed = new QueueEntry[1];
+        byUser.computeIfPresent(userId, (k, old) -> {
+            if (removeFromGame(old)) {
+                removed[0] = old;
+                journal.recordLeave(userId, old.gameId());
+            }
+            return null;
+        });
+        if (removed[0] != null) publish(MatchingQueueEvent.Type.LEAVE, removed[0]);
+        return Optional.ofNullable(removed[0]);
+    }
+
+    /**
+     * 다른 노드 담당 게임으로 옮겨 간 유저를 이 노드 대기열에서 뺀다 (exceptGameId 대기열이면 그대로 둠).
+     * 새 게임의 담당 노드가 저널 행을 새 게임으로 바꾸므로 저널에는 남기지 않고, 구독자에게는 MOVED로만 알린다.
+     */
+    public Optional<QueueEntry> evict(Long userId, Long exceptGameId) {
+        QueueEntry[] removed = new QueueEntry[1];
+        byUser.computeIfPresent(userId, (k, old) -> {
+            if (old.gameId().equals(exceptGameId)) return old;
+            if (removeFromGame(old)) removed[0] = old;
+            return null;
+        });
+        if (removed[0] != null) publish(MatchingQueueEvent.Type.MOVED, removed[0]);
+        return Optional.ofNullable(removed[0]);
+    }
+
+    /**
+     * 특정 엔트리가 아직 대기 중일 때만 제거 (같은 유저가 그 사이 다시 줄을 섰으면 건드리지 않음).
+     */
+    public boolean remove(QueueEntry entry) {
+        return remove(entry, MatchingQueueEvent.Type.LEAVE);
+    }
+
+    /**
+     * 대기 시간(TTL)이 지난 엔트리 제거. remove와 같지만 구독자에게 EXPIRE로 알린다.
+     */
+    public boolean expire(QueueEntry entry) {
+        return remove(entry, MatchingQueueEvent.Type.EXPIRE);
+    }
+
+    private boolean remove(QueueEntry entry, MatchingQueueEvent.Type type) {
+        boolean[] removed = new boolean[1];
+        byUser.computeIfPresent(entry.userId(), (k, current) -> {
+            if (current.seq() != entry.seq()) return current;
+            removed[0] = removeFromGame(current);
+            if (removed[0]) journal.recordLeave(entry.userId(), entry.gameId());
+            return null;
+        });
+        if (removed[0]) publish(type, entry);
+        return removed[0];
+    }
+
+    /**
+     * 서로 매칭 조건이 맞는 파티 하나를 한 번에 꺼낸다. 오래 기다린 유저가 우선이고,
+     * 인원은 기준 유저의 희망 인원(없으면 partySize). 맞는 인원이 모자라면 아무도 꺼내지 않는다.
+     */
+    public List<QueueEntry> pollParty(Long gameId, int partySize) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return poll(gameId, q -> q.pollGroup(partySize, policy, now));
+    }
+
+    /**
+     * 대기열 앞에서부터 조건과 관계없이 최대 maxSize명을 꺼낸다 (수동 파티 생성용).
+     */
+    public List<QueueEntry> pollUpTo(Long gameId, int maxSize) {
+        return poll(gameId, q -> q.pollFront(maxSize));
+    }
+
+    /**
+     * 파티 생성에 실패한 인원을 원래 참가 시각 그대로 다시 줄 세운다.
+     * 그 사이 다른 대기열에 들어간 유저는 건드리지 않는다. 새 참가가 아니므로 JOIN 대신 REQUEUE를 발행한다.
+     */
+    public void requeue(List<QueueEntry> entries) {
+        for (QueueEntry e : entries) {
+            QueueEntry entry = withNewSeq(e);
+            boolean[] added = new boolean[1];
+            byUser.compute(entry.userId(), (k, current) -> {
+                if (current != null) return current;
+                addToGame(entry);
+                journal.recordJoin(entry);
+                added[0] = true;
+                return entry;
+            });
+            if (added[0]) publish(MatchingQueueEvent.Type.REQUEUE, entry);
+        }
+    }
+
+    private List<QueueEntry> poll(Long gameId, Function<GameQueue, List<QueueEntry>> picker) {
+        List<QueueEntry> party;
+        ReentrantLock lock = lockFor(gameId);
+        lock.lock();
+        try {
+            GameQueue q = queues.get(gameId);
+            if (q == null) return List.of();
+            party = picker.apply(q);
+            hotGames.update(gameId, q.size());
+            if (q.isEmpty()) retire(gameId, q.version());
+        } finally {
+            lock.unlock();
+        }
+
+        // stripe 락을 놓은 뒤 유저 인덱스 정리. 그 사이 다시 줄을 선 유저는 새 엔트리를 유지한다.
+        for (QueueEntry e : party) {
+            boolean[] matched = new boolean[1];
+            byUser.computeIfPresent(e.userId(), (k, current) -> {
+                if (current.seq() != e.seq()) return current;
+                journal.recordLeave(e.userId(), e.gameId());
+                matched[0] = true;
+                return null;
+            });
+            if (matched[0]) publish(MatchingQueueEvent.Type.MATCHED, e);
+        }
+        return party;
+    }
+
+    /**
+     * 다른 노드가 담당하게 된 게임 대기열을 통째로 꺼낸다 (클러스터 handoff).
+     * 받는 노드가 requeue로 저널/이벤트를 남기므로 여기서는 메모리에서만 조용히 뺀다.
+     */
+    public List<QueueEntry> handOff(Long gameId) {
+        List<QueueEntry> entries;
+        ReentrantLock lock = lockFor(gameId);
+        lock.lock();
+        try {
+            GameQueue q = queues.remove(gameId);
+            if (q == null) return List.of();
+            entries = new ArrayList<>(q.values());
+            hotGames.update(gameId, 0);
+            // 이 노드에 남은 현황 구독자가 예전 목록을 계속 쓰지 않도록 버전을 올려 둔다
+            retiredVersions.put(gameId, versions.incrementAndGet());
+        } finally {
+            lock.unlock();
+        }
+        // 그 사이 다시 줄을 선 유저는 새 엔트리를 유지
+        for (QueueEntry e : entries) {
+            byUser.remove(e.userId(), e);
+        }
+        return entries;
+    }
+
+    public Optional<QueueEntry> findByUser(Long userId) {
+        return Optional.ofNullable(byUser.get(userId));
+    }
+
+    /**
+     * 게임 대기열 스냅샷 (참가 순서).
+     */
+    public List<QueueEntry> snapshot(Long gameId) {
+        ReentrantLock lock = lockFor(gameId);
+        lock.lock();
+        try {
+            GameQueue q = queues.get(gameId);
+            return q == null ? List.of() : new ArrayList<>(q.values());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<QueueEntry> snapshot(Long gameId, int offset, int limit) {
+        return slice(gameId, offset, limit).entries();
+    }
+
+    // 현황판 페이지용: 요청한 구간만 복사해서 잠금 시간과 할당을 페이지 크기로 제한. 전체 인원/버전도 같은 시점 값
+    public QueueSlice slice(Long gameId, int offset, int limit) {
+        ReentrantLock lock = lockFor(gameId);
+        lock.lock();
+        try {
+            GameQueue q = queues.get(gameId);
+            if (q == null) return new QueueSlice(List.of(), 0, retiredVersions.getOrDefault(gameId, 0L));
+            if (offset >= q.size() || limit <= 0) return new QueueSlice(List.of(), q.size(), q.version());
+            List<QueueEntry> page = new ArrayList<>(Math.min(limit, q.size() - offset));
+            int i = 0;
+            for (QueueEntry e : q.values()) {
+                if (i++ < offset) continue;
+                page.add(e);
+                if (page.size() == limit) break;
+            }
+            return new QueueSlice(page, q.size(), q.version());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * since 버전 이후의 참가/빠짐. 변경 기록이 그만큼 남아 있지 않으면 전체 목록(reset)을 돌려준다.
+     */
+    public QueueChanges changesSince(Long gameId, long since) {
+        ReentrantLock lock = lockFor(gameId);
+        lock.lock();
+        try {
+            GameQueue q = queues.get(gameId);
+            if (q == null) {
+                long version = retiredVersions.getOrDefault(gameId, 0L);
+                return since == version
+                        ? new QueueChanges(version, List.of(), List.of(), false, 0)
+                        : QueueChanges.full(version, List.of());
+            }
+            QueueChanges changes = q.changesSince(since);
+            return changes != null ? changes : QueueChanges.full(q.version(), new ArrayList<>(q.values()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size(Long gameId) {
+        ReentrantLock lock = lockFor(gameId);
+        lock.lock();
+        try {
+            GameQueue q = queues.get(gameId);
+            return q == null ? 0 : q.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Collection<Long> activeGameIds() {
+        return List.copyOf(queues.keySet());
+    }
+
+    /**
+     * 이 노드에서 대기 인원이 많은 게임 상위 limit개 (게임 수와 관계없이 limit개만 읽음).
+     */
+    public List<HotGame> hotGames(int limit) {
+        return hotGames.top(limit);
+    }
+
+    public int totalWaiting() {
+        return byUser.size();
+    }
+
+    // ===== 내부: 게임 대기열 조작 (유저 인덱스 compute 안에서 호출) =====
+
+    private void addToGame(QueueEntry entry) {
+        ReentrantLock lock = lockFor(entry.gameId());
+        lock.lock();
+        try {
+            GameQueue q = queues.computeIfAbsent(entry.gameId(),
+                    k -> new GameQueue(retiredVersions.getOrDefault(k, 0L), versions::incrementAndGet));
+            q.add(entry);
+            hotGames.update(entry.gameId(), q.size());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean removeFromGame(QueueEntry entry) {
+        ReentrantLock lock = lockFor(entry.gameId());
+        lock.lock();
+        try {
+            GameQueue q = queues.get(entry.gameId());
+            if (q == null) return false;
+            boolean removed = q.remove(entry.userId(), entry);
+            if (removed) hotGames.update(entry.gameId(), q.size());
+            if (q.isEmpty()) retire(entry.gameId(), q.version());
+            return removed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // stripe 락 안에서 호출
+    private void retire(Long gameId, long version) {
+        queues.remove(gameId);
+        retiredVersions.put(gameId, version);
+    }
+
+    private ReentrantLock lockFor(Long gameId) {
+        return locks[Math.floorMod(Long.hashCode(gameId) * 0x9E3779B9, STRIPES)];
+    }
+
+    private QueueEntry withNewSeq(QueueEntry e) {
+        return new QueueEntry(seq.incrementAndGet(), e.userId(), e.gameId(), e.discordId(), e.username(),
+                e.displayName(), e.email(), e.avatarUrl(), e.createdAt(), e.attributes());
+    }
+
+    private void publish(MatchingQueueEvent.Type type, QueueEntry e) {
+        eventPublisher.publishEvent(MatchingQueueEvent.of(
+                type, e.gameId(), e.userId(), e.username(), e.displayName(), e.avatarUrl(), e.createdAt()));
+    }
+}
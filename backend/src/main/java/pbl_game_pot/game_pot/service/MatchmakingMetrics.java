@@ -0,0 +1,82 @@
+package pbl_game_pot.game_pot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 대기열/파티 이벤트를 Micrometer 메트릭으로 남긴다 (/actuator/prometheus 로 수집).
+ *
+ * - matching.queue.events{type, game}: 참가/이탈/매칭/만료 횟수 → rate()로 게임별 초당 건수
+ * - matching.queue.depth{game}: 게임별 현재 대기 인원 (게임이 처음 보일 때 등록)
+ * - matching.time_to_match{game}: 참가 → 파티로 빠질 때까지 걸린 시간 히스토그램
+ * - matching.parties{game}: 봇이 초대 링크까지 만든 파티 수
+ *
+ * game 태그는 games.id라서 실제로 대기열이 생긴 게임 수만큼만 시계열이 생긴다.
+ */
+@Component
+public class MatchmakingMetrics {
+
+    private final MeterRegistry registry;
+    private final MatchmakingEngine matchmakingEngine;
+    private final Set<Long> gaugedGames = ConcurrentHashMap.newKeySet();
+
+    public MatchmakingMetrics(MeterRegistry registry,
+                              MatchmakingEngine matchmakingEngine,
+                              MatchingQueueJournal journal,
+                              QueueExpiryScheduler expiryScheduler) {
+        this.registry = registry;
+        this.matchmakingEngine = matchmakingEngine;
+        Gauge.builder("matching.queue.waiting", matchmakingEngine, MatchmakingEngine::totalWaiting)
+                .description("전체 대기 인원")
+                .register(registry);
+        Gauge.builder("matching.journal.backlog", journal, MatchingQueueJournal::backlog)
+                .description("아직 테이블에 반영되지 않은 저널 기록 수")
+                .register(registry);
+        Gauge.builder("matching.expiry.pending", expiryScheduler, QueueExpiryScheduler::pending)
+                .description("예약된 대기열 만료 수 (대기 중인 유저당 1건)")
+                .register(registry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQueueEvent(MatchingQueueEvent event) {
+        String game = String.valueOf(event.gameId());
+        Counter.builder("matching.queue.events")
+                .tag("type", event.type().name().toLowerCase(Locale.ROOT))
+                .tag("game", game)
+                .register(registry)
+                .increment();
+
+        boolean added = event.type() == MatchingQueueEvent.Type.JOIN || event.type() == MatchingQueueEvent.Type.REQUEUE;
+        if (added && gaugedGames.add(event.gameId())) {
+            Long gameId = event.gameId();
+            Gauge.builder("matching.queue.depth", matchmakingEngine, engine -> engine.size(gameId))
+                    .tag("game", game)
+                    .register(registry);
+        }
+
+        if (event.type() == MatchingQueueEvent.Type.MATCHED && event.queuedAt() != null) {
+            Timer.builder("matching.time_to_match")
+                    .tag("game", game)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(Duration.between(event.queuedAt(), event.occurredAt()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPartyEvent(MatchingPartyEvent event) {
+        Counter.builder("matching.parties")
+                .tag("game", String.valueOf(event.gameId()))
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,119 @@
+package pbl_game_pot.game_pot.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import pbl_game_pot.game_pot.db.Game;
+import pbl_game_pot.game_pot.db.GameRepository;
+import pbl_game_pot.game_pot.db.PartyOutbox;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 주기적으로(tick) 게임별 대기열에서 파티 인원(N명)이 찬 만큼 꺼내 파티 생성 요청(outbox)으로 넘긴다.
+ *
+ * - 꺼내기는 {@link MatchmakingEngine#pollParty}로 원자적으로 처리 (조건이 맞는 N명이 안 되면 아무도 안 빠짐).
+ * - 봇 호출은 하지 않는다. {@link PartyOutboxDispatcher}가 outbox를 읽어 따로 보낸다.
+ * - 파티 인원은 games.party_size, 없으면 알려진 게임 기본값, 그것도 없으면 설정 기본값.
+ */
+@Service
+@Slf4j
+public class PartyMatcher {
+
+    // party_size가 비어있는 게임에 쓰는 알려진 기본 인원 (게임 공식 명칭 기준)
+    private static final Map<String, Integer> KNOWN_PARTY_SIZES = Map.of(
+            "VALORANT", 5,
+            "League of Legends", 5,
+            "Overwatch 2", 5,
+            "PUBG: BATTLEGROUNDS", 4,
+            "Lethal Company", 4
+    );
+
+    private final MatchmakingEngine matchmakingEngine;
+    private final GameRepository gameRepository;
+    private final PartyOutboxService partyOutboxService;
+    private final int defaultPartySize;
+    private final int maxPartiesPerTick;
+    private final Map<Long, Integer> partySizes = new ConcurrentHashMap<>();
+
+    public PartyMatcher(MatchmakingEngine matchmakingEngine,
+                        GameRepository gameRepository,
+                        PartyOutboxService partyOutboxService,
+                        @Value("${app.matching.party.default-size:4}") int defaultPartySize,
+                        @Value("${app.matching.party.max-per-tick:50}") int maxPartiesPerTick) {
+        this.matchmakingEngine = matchmakingEngine;
+        this.gameRepository = gameRepository;
+        this.partyOutboxService = partyOutboxService;
+        this.defaultPartySize = defaultPartySize;
+        this.maxPartiesPerTick = maxPartiesPerTick;
+    }
+
+    /**
+     * 한 tick: 모든 활성 게임에서 만들 수 있는 파티를 꺼내 outbox에 저장한다.
+     *
+     * @return 이번 tick에 만든 파티 수
+     */
+    @Scheduled(fixedDelayString = "${app.matching.party.tick-ms:2000}")
+    public int tick() {
+        int formed = 0;
+        for (Long gameId : matchmakingEngine.activeGameIds()) {
+            int partySize = partySizeOf(gameId);
+            // 희망 인원이 게임 기본보다 작은 유저도 있으므로 2명부터 시도 (조건이 안 맞으면 엔진이 빈 목록)
+            if (matchmakingEngine.size(gameId) < 2) continue;
+
+            for (int i = 0; i < maxPartiesPerTick; i++) {
+                List<QueueEntry> party = matchmakingEngine.pollParty(gameId, partySize);
+                if (party.isEmpty()) break;
+                try {
+                    partyOutboxService.enqueue(gameId, party);
+                    formed++;
+                } catch (Exception e) {
+                    // 저장 실패 시 인원은 이미 대기열로 돌아감. 이 게임은 다음 tick에 다시 시도
+                    log.error("파티 요청 저장 실패. gameId: {}, 인원: {}", gameId, party.size(), e);
+                    break;
+                }
+            }
+        }
+        if (formed > 0) {
+            log.info("파티 매칭 tick: {}개 파티 생성", formed);
+        }
+        return formed;
+    }
+
+    /**
+     * 수동 파티 생성: 대기열 앞에서부터 파티 인원만큼(모자라면 있는 만큼) 꺼내 outbox에 저장. 아무도 없으면 empty.
+     */
+    public Optional<PartyOutbox> formManualParty(Long gameId) {
+        List<QueueEntry> party = matchmakingEngine.pollUpTo(gameId, partySizeOf(gameId));
+        if (party.isEmpty()) return Optional.empty();
+        return Optional.of(partyOutboxService.enqueue(gameId, party));
+    }
+
+    public int partySizeOf(Long gameId) {
+        Integer cached = partySizes.get(gameId);
+        if (cached != null) return cached;
+        // computeIfAbsent 안에서 DB를 읽으면 맵 잠금(synchronized)을 쥔 채 I/O를 해서 가상 스레드가 고정(pinning)된다
+        int size = gameRepository.findById(gameId)
+                .map(this::resolvePartySize)
+                .orElse(defaultPartySize);
+        partySizes.putIfAbsent(gameId, size);
+        return size;
+    }
+
+    /**
+     * 캐시한 파티 인원을 비운다 (관리자가 games.party_size를 바꿨을 때 반영). 게임마다 다음 tick에 다시 읽는다.
+     */
+    @Scheduled(fixedDelayString = "${app.matching.party.size-reload-ms:300000}")
+    public void reloadPartySizes() {
+        partySizes.clear();
+    }
+
+    private int resolvePartySize(Game game) {
+        if (game.getPartySize() != null && game.getPartySize() > 1) return game.getPartySize();
+        return KNOWN_PARTY_SIZES.getOrDefault(game.getName(), defaultPartySize);
+    }
+}
@@ -0,0 +1,257 @@
+package pbl_game_pot.game_pot.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import pbl_game_pot.game_pot.config.WorkerThreads;
+import pbl_game_pot.game_pot.db.PartyOutbox;
+import pbl_game_pot.game_pot.db.PartyOutboxRepository;
+import pbl_game_pot.game_pot.db.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * party_outbox의 PENDING 요청을 주기적으로 모아 봇 서버에 전달한다.
+ *
+ * - 한 번에 batch-size개까지 꺼내서 dispatch-threads개 스레드(가상 스레드 모드면 요청마다 1개)에 넘기고 바로 돌아간다.
+ *   보내는 중인 요청은 다음 주기에 다시 꺼내지 않으며, 동시에 보내는 중인 요청은 batch-size개까지.
+ * - 요청마다 outbox id를 Idempotency-Key로 보낸다. 봇은 성공했는데 결과 저장이 실패해서 다시 보내도 같은 키.
+ * - 성공하면 {@link MatchingPartyEvent}를 발행한다 (매칭 통계의 MATCHED는 이 결과로만 센다).
+ * - 실패하면 지수 백오프(지터 포함)로 다시 예약. 4xx(408/429 제외)이거나 max-attempts를 넘으면 FAILED로 두고 인원을 대기열로 되돌린다.
+ * - 서버를 여러 대 띄우면 게임 담당 노드({@link GameOwnership})만 그 게임의 요청을 보낸다 (같은 요청을 두 노드가 보내지 않도록).
+ *   앞쪽 요청이 전부 다른 노드 담당이면 내 요청이 찰 때까지 다음 페이지를 읽는다.
+ */
+@Component
+@Slf4j
+public class PartyOutboxDispatcher {
+
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final PartyOutboxRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final BotApiClient botApiClient;
+    private final MatchmakingEngine matchmakingEngine;
+    private final GameOwnership gameOwnership;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final ExecutorService botDispatcher;
+    // 보내는 중인 outbox id. 끝난 id는 finished에 모았다가 다음 주기의 조회 "전에" 뺀다
+    // (조회 뒤에 빼면, 조회 시점엔 PENDING이던 행이 방금 끝났는데도 다시 보내질 수 있음)
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Queue<String> finished = new ConcurrentLinkedQueue<>();
+
+    public PartyOutboxDispatcher(PartyOutboxRepository outboxRepository,
+                                 UserRepository userRepository,
+                                 BotApiClient botApiClient,
+                                 MatchmakingEngine matchmakingEngine,
+                                 GameOwnership gameOwnership,
+                                 ApplicationEventPublisher eventPublisher,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.matching.outbox.batch-size:20}") int batchSize,
+                                 @Value("${app.matching.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${app.matching.outbox.retry-backoff:2s}") Duration retryBackoff,
+                                 @Value("${app.matching.party.dispatch-threads:4}") int dispatchThreads,
+                                 @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.outboxRepository = outboxRepository;
+        this.userRepository = userRepository;
+        this.botApiClient = botApiClient;
+        this.matchmakingEngine = matchmakingEngine;
+        this.gameOwnership = gameOwnership;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.botDispatcher = WorkerThreads.newPool("party-dispatch-", dispatchThreads, virtualThreads);
+    }
+
+    /**
+     * 전송할 차례가 된 요청을 한 묶음 전송 스레드에 넘긴다. 전송이 끝나기를 기다리지 않는다
+     * (봇이 느려도 공용 스케줄러 스레드를 잡고 있지 않게).
+     *
+     * @return 이번에 새로 넘긴 요청 수
+     */
+    @Scheduled(fixedDelayString = "${app.matching.outbox.poll-ms:500}")
+    public int dispatchDue() {
+        for (String id; (id = finished.poll()) != null; ) {
+            inFlight.remove(id);
+        }
+        int capacity = batchSize - inFlight.size();
+        if (capacity <= 0) return 0;
+
+        List<PartyOutbox> due = findDue(capacity);
+        for (PartyOutbox outbox : due) {
+            inFlight.add(outbox.getId());
+            try {
+                botDispatcher.execute(() -> {
+                    try {
+                        deliver(outbox);
+                    } finally {
+                        finished.add(outbox.getId());
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(outbox.getId());    // 종료 중
+                return 0;
+            }
+        }
+        return due.size();
+    }
+
+    // 담당 게임이 아닌 요청이나 보내는 중인 요청만 앞 페이지를 채워도 내 요청이 밀리지 않게, 찰 때까지 다음 페이지를 본다
+    private List<PartyOutbox> findDue(int capacity) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PartyOutbox> due = new ArrayList<>(capacity);
+        for (int page = 0; due.size() < capacity; page++) {
+            List<PartyOutbox> rows = outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByCreatedAt(
+                    PartyOutbox.Status.PENDING, now, PageRequest.of(page, batchSize));
+            rows.stream()
+                    .filter(outbox -> gameOwnership.ownsGame(outbox.getGameId()))
+                    .filter(outbox -> !inFlight.contains(outbox.getId()))
+                    .limit(capacity - due.size())
+                    .forEach(due::add);
+            if (rows.size() < batchSize) break;
+        }
+        return due;
+    }
+
+    void deliver(PartyOutbox outbox) {
+        List<String> usernames = PartyOutboxService.split(outbox.getUsernames());
+        outbox.setAttempts(outbox.getAttempts() + 1);
+        long start = System.nanoTime();
+        try {
+            Map<?, ?> response = botApiClient.createParty(PartyOutboxService.split(outbox.getMemberIds()), outbox.getId());
+            recordBotCall("sent", start);
+            outbox.setStatus(PartyOutbox.Status.SENT);
+            outbox.setBotResponse(toJson(response));
+            outbox.setLastError(null);
+            outboxRepository.save(outbox);
+            log.info("파티 생성 완료. partyId: {}, gameId: {}, 인원: {}", outbox.getId(), outbox.getGameId(), usernames.size());
+            eventPublisher.publishEvent(new MatchingPartyEvent(outbox.getId(), outbox.getGameId(), usernames, response,
+                    memberWaitMs(outbox)));
+
+        } catch (RuntimeException e) {
+            outbox.setLastError(truncate(e.getClass().getSimpleName() + ": " + e.getMessage()));
+            if (isPermanent(e) || outbox.getAttempts() >= maxAttempts) {
+                recordBotCall("failed", start);
+                outbox.setStatus(PartyOutbox.Status.FAILED);
+                outboxRepository.save(outbox);
+                log.error("파티 생성 최종 실패, 대기열로 복귀. partyId: {}, 시도: {}", outbox.getId(), outbox.getAttempts(), e);
+                requeueMembers(outbox);
+            } else {
+                recordBotCall("retry", start);
+                outbox.setNextAttemptAt(LocalDateTime.now().plus(backoff(outbox.getAttempts())));
+                outboxRepository.save(outbox);
+                log.warn("파티 생성 실패, {}에 재시도. partyId: {}, 시도: {}, 원인: {}",
+                        outbox.getNextAttemptAt(), outbox.getId(), outbox.getAttempts(), outbox.getLastError());
+            }
+        }
+    }
+
+    // 봇 호출 1회 결과별 시간 (HTTP 수준 지연/상태코드는 outbound.requests{target=bot})
+    private void recordBotCall(String outcome, long startNanos) {
+        Timer.builder("party.bot.calls")
+                .description("파티 생성 봇 호출 (outcome: sent / retry / failed)")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // 봇이 요청 자체를 거절한 경우 (다시 보내도 같은 결과)
+    private static boolean isPermanent(RuntimeException e) {
+        if (!(e instanceof HttpClientErrorException http)) return false;
+        int status = http.getStatusCode().value();
+        return status != 408 && status != 429;
+    }
+
+    private Duration backoff(int attempts) {
+        long base = Math.min(retryBackoff.toMillis() << Math.min(attempts - 1, 20), MAX_BACKOFF.toMillis());
+        return Duration.ofMillis((long) (base * (0.5 + ThreadLocalRandom.current().nextDouble())));
+    }
+
+    // outbox에는 매칭 조건이 없어서 되돌린 인원은 조건 없이 줄을 선다.
+    // 원래 참가 시각으로 돌아가므로 대기 순서 / 대기 시간 / 만료 시각도 원래대로 (모르는 예전 행은 파티 구성 시각)
+    private void requeueMembers(PartyOutbox outbox) {
+        Map<Long, LocalDateTime> joinedAts = joinedAts(outbox);
+        List<QueueEntry> entries = userRepository.findAllById(List.copyOf(joinedAts.keySet())).stream()
+                .map(u -> new QueueEntry(0, u.getId(), outbox.getGameId(), u.getDiscordId(), u.getUsername(),
+                        u.getDisplayName(), u.getEmail(), u.getAvatarUrl(),
+                        Objects.requireNonNullElse(joinedAts.get(u.getId()), outbox.getCreatedAt())))
+                .toList();
+        matchmakingEngine.requeue(entries);
+    }
+
+    // 봇이 파티를 만든 뒤에야 매칭으로 센다. 대기 시간은 참가 ~ 파티 구성(outbox 저장) 시각.
+    // joined_ats가 없는 예전 행은 대기 시간 없이 인원만 센다.
+    private static Map<Long, Integer> memberWaitMs(PartyOutbox outbox) {
+        Map<Long, Integer> result = new LinkedHashMap<>();
+        joinedAts(outbox).forEach((userId, joinedAt) -> {
+            Integer waitMs = null;
+            if (joinedAt != null) {
+                long ms = Duration.between(joinedAt, outbox.getCreatedAt()).toMillis();
+                waitMs = (int) Math.max(0, Math.min(ms, Integer.MAX_VALUE));
+            }
+            result.put(userId, waitMs);
+        });
+        return result;
+    }
+
+    // userId → 원래 참가 시각 (모르면 null), user_ids 순서
+    private static Map<Long, LocalDateTime> joinedAts(PartyOutbox outbox) {
+        List<String> userIds = PartyOutboxService.split(outbox.getUserIds());
+        List<String> joined = PartyOutboxService.split(outbox.getJoinedAts());
+        Map<Long, LocalDateTime> result = new LinkedHashMap<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            result.put(Long.valueOf(userIds.get(i)), i < joined.size() ? LocalDateTime.parse(joined.get(i)) : null);
+        }
+        return result;
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+
+    private static String truncate(String s) {
+        return s.length() <= MAX_ERROR_LENGTH ? s : s.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        botDispatcher.shutdown();
+    }
+}
@@ -0,0 +1,84 @@
+package pbl_game_pot.game_pot.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pbl_game_pot.game_pot.db.MatchingQueueRepository;
+import pbl_game_pot.game_pot.db.PartyOutbox;
+import pbl_game_pot.game_pot.db.PartyOutboxRepository;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 파티 생성 요청을 party_outbox에 적는다. 봇 호출은 하지 않는다 ({@link PartyOutboxDispatcher}가 담당).
+ *
+ * 꺼낸 인원의 matching_queue 행 삭제와 outbox 저장을 한 트랜잭션으로 묶어서,
+ * 서버가 중간에 죽어도 "대기열에도 없고 파티 요청도 없는" 유저가 생기지 않게 한다.
+ */
+@Service
+@Slf4j
+public class PartyOutboxService {
+
+    private final PartyOutboxRepository outboxRepository;
+    private final MatchingQueueRepository matchingQueueRepository;
+    private final MatchmakingEngine matchmakingEngine;
+    private final TransactionTemplate tx;
+
+    public PartyOutboxService(PartyOutboxRepository outboxRepository,
+                              MatchingQueueRepository matchingQueueRepository,
+                              MatchmakingEngine matchmakingEngine,
+                              PlatformTransactionManager transactionManager) {
+        this.outboxRepository = outboxRepository;
+        this.matchingQueueRepository = matchingQueueRepository;
+        this.matchmakingEngine = matchmakingEngine;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 엔진에서 이미 꺼낸 파티를 outbox에 저장한다. 저장에 실패하면 인원을 대기열로 되돌리고 예외를 던진다.
+     */
+    public PartyOutbox enqueue(Long gameId, List<QueueEntry> party) {
+        PartyOutbox outbox = PartyOutbox.builder()
+                .id(UUID.randomUUID().toString())
+                .gameId(gameId)
+                .userIds(join(party.stream().map(e -> String.valueOf(e.userId()))))
+                .memberIds(join(party.stream().map(QueueEntry::discordId)))
+                .usernames(join(party.stream().map(QueueEntry::username)))
+                .joinedAts(join(party.stream().map(e -> e.createdAt().toString())))
+                .status(PartyOutbox.Status.PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+
+        try {
+            return tx.execute(status -> {
+                matchingQueueRepository.deleteAllByUserIdIn(party.stream().map(QueueEntry::userId).toList());
+                return outboxRepository.save(outbox);
+            });
+        } catch (RuntimeException e) {
+            matchmakingEngine.requeue(party);
+            throw e;
+        }
+    }
+
+    public Optional<PartyOutbox> find(String partyId) {
+        return outboxRepository.findById(partyId);
+    }
+
+    static List<String> split(String joined) {
+        if (joined == null || joined.isEmpty()) return List.of();
+        return Arrays.asList(joined.split(","));
+    }
+
+    // 디스코드 ID / username에는 쉼표가 들어갈 수 없어서 구분자로 쓴다
+    private static String join(Stream<String> values) {
+        return values.collect(Collectors.joining(","));
+    }
+}
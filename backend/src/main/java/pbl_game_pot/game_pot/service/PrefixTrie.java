@@ -0,0 +1,142 @@
+package pbl_game_pot.game_pot.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 자동완성용 불변 접두어 트라이. 노드마다 "이 접두어로 시작하는 상위 K개 게임"을 미리 계산해 두어서
+ * 조회는 입력 길이만큼 내려가는 것으로 끝난다 (키 입력마다 호출되는 경로).
+ *
+ * - 노드는 배열로 평탄화: 자식들은 연속된 구간에 글자 순으로 정렬돼 있다.
+ * - 메모리를 제한하려고 MAX_DEPTH 글자까지만 노드를 만든다. 더 긴 입력은 {@link GameIndex}의 정렬 배열 탐색으로 처리.
+ * - 순위는 entry 번호가 작을수록 높다 (인덱스에 먼저 넣은 게임 = 더 중요한 출처).
+ */
+final class PrefixTrie {
+
+    static final int MAX_DEPTH = 6;
+    static final int TOP_K = 10;
+
+    private final char[] label;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] exactOwner;   // 이 노드까지의 경로와 정확히 같은 키의 entry (-1 = 없음)
+    private final int[] top;          // 노드 i의 상위 K개: top[i*TOP_K ...], -1 = 빈칸
+
+    private PrefixTrie(char[] label, int[] firstChild, int[] childCount, int[] exactOwner, int[] top) {
+        this.label = label;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.exactOwner = exactOwner;
+        this.top = top;
+    }
+
+    int nodeCount() {
+        return label.length;
+    }
+
+    /**
+     * 접두어에 해당하는 entry 번호들 (정확히 일치하는 키가 있으면 맨 앞). key 길이는 MAX_DEPTH 이하여야 한다.
+     */
+    int[] lookup(String key) {
+        int node = 0;
+        for (int i = 0; i < key.length(); i++) {
+            node = child(node, key.charAt(i));
+            if (node < 0) return new int[0];
+        }
+
+        int[] out = new int[TOP_K + 1];
+        int n = 0;
+        if (exactOwner[node] >= 0) out[n++] = exactOwner[node];
+        for (int i = node * TOP_K; i < node * TOP_K + TOP_K && top[i] >= 0; i++) {
+            if (top[i] != exactOwner[node]) out[n++] = top[i];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private int child(int node, char c) {
+        int lo = firstChild[node];
+        int hi = lo + childCount[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (label[mid] < c) lo = mid + 1;
+            else if (label[mid] > c) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    static PrefixTrie build(String[] keys, int[] keyOwner) {
+        Node root = new Node('\0');
+        for (int k = 0; k < keys.length; k++) {
+            String key = keys[k];
+            Node node = root;
+            int depth = Math.min(key.length(), MAX_DEPTH);
+            for (int i = 0; i < depth; i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), Node::new);
+                node.offer(keyOwner[k]);
+            }
+            if (key.length() <= MAX_DEPTH) {
+                node.exact = node.exact < 0 ? keyOwner[k] : Math.min(node.exact, keyOwner[k]);
+            }
+        }
+
+        // BFS로 평탄화 (자식들이 연속 구간에 오도록)
+        List<Node> order = new ArrayList<>();
+        ArrayDeque<Node> queue = new ArrayDeque<>();
+        queue.add(root);
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            order.add(node);
+            queue.addAll(node.children.values());
+        }
+
+        int size = order.size();
+        char[] label = new char[size];
+        int[] firstChild = new int[size];
+        int[] childCount = new int[size];
+        int[] exactOwner = new int[size];
+        int[] top = new int[size * TOP_K];
+        Arrays.fill(top, -1);
+
+        int next = 1;
+        for (int i = 0; i < size; i++) {
+            Node node = order.get(i);
+            label[i] = node.c;
+            firstChild[i] = next;
+            childCount[i] = node.children.size();
+            next += node.children.size();
+            exactOwner[i] = node.exact;
+
+            System.arraycopy(node.best, 0, top, i * TOP_K, node.count);
+        }
+        return new PrefixTrie(label, firstChild, childCount, exactOwner, top);
+    }
+
+    private static final class Node {
+        final char c;
+        final Map<Character, Node> children = new TreeMap<>();
+        final int[] best = new int[TOP_K];   // 오름차순, 앞의 count개만 유효
+        int count;
+        int exact = -1;
+
+        Node(char c) {
+            this.c = c;
+        }
+
+        // 상위 K개만 유지하는 삽입 정렬 (노드마다 후보 전체를 들고 있지 않도록)
+        void offer(int owner) {
+            int pos = count;
+            while (pos > 0 && best[pos - 1] > owner) pos--;
+            if (pos > 0 && best[pos - 1] == owner) return;
+            if (pos >= TOP_K) return;
+            int moved = Math.min(count, TOP_K - 1) - pos;
+            System.arraycopy(best, pos, best, pos + 1, moved);
+            best[pos] = owner;
+            if (count < TOP_K) count++;
+        }
+    }
+}
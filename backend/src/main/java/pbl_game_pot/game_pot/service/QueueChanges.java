@@ -0,0 +1,14 @@
+package pbl_game_pot.game_pot.service;
+
+import java.util.List;
+
+/**
+ * 게임 대기열의 since 버전 이후 변경분. reset이면 joined가 현재 대기열 전체이고 받는 쪽은 목록을 통째로 바꾼다.
+ * (다른 노드에 있는 대기열도 같은 형태로 받아온다)
+ */
+public record QueueChanges(long version, List<QueueEntry> joined, List<QueueEntry> left, boolean reset, int total) {
+
+    public static QueueChanges full(long version, List<QueueEntry> entries) {
+        return new QueueChanges(version, entries, List.of(), true, entries.size());
+    }
+}
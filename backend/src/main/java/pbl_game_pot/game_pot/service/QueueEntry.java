@@ -0,0 +1,29 @@
+package pbl_game_pot.game_pot.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * 메모리 대기열의 한 칸. 현황 조회 시 DB를 다시 읽지 않도록 표시용 프로필까지 들고 있는다.
+ * seq는 엔트리마다 유일하므로 "같은 유저가 다시 들어온 경우"와 구분하는 데 쓴다.
+ */
+public record QueueEntry(
+        long seq,
+        Long userId,
+        Long gameId,
+        String discordId,
+        String username,
+        String displayName,
+        String email,
+        String avatarUrl,
+        LocalDateTime createdAt,
+        MatchAttributes attributes  // 선택 매칭 조건 (없으면 NONE)
+) {
+    public QueueEntry {
+        if (attributes == null) attributes = MatchAttributes.NONE;
+    }
+
+    public QueueEntry(long seq, Long userId, Long gameId, String discordId, String username,
+                      String displayName, String email, String avatarUrl, LocalDateTime createdAt) {
+        this(seq, userId, gameId, discordId, username, displayName, email, avatarUrl, createdAt, MatchAttributes.NONE);
+    }
+}
@@ -0,0 +1,162 @@
+package pbl_game_pot.game_pot.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import pbl_game_pot.game_pot.db.Game;
+import pbl_game_pot.game_pot.db.GameRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대기열 엔트리를 TTL이 지난 시점에 바로 빼는 스케줄러.
+ * 한 시간마다 전체를 훑는 대신, 참가할 때 만료 작업을 예약해 두고
+ * 시각이 되면 {@link MatchmakingEngine#expire}로 제거한다 (구독자에게는 EXPIRE 이벤트).
+ *
+ * - 유저당 예약은 하나. 다시 줄을 서면 예전 예약을 취소하고 바꾸며, 이탈/이동/매칭으로 빠지면 취소한다.
+ *   취소한 예약은 바로 큐에서 빠지므로(removeOnCancel) 메모리는 대기 인원만큼만 쓴다.
+ * - TTL은 games.queue_ttl_minutes, 없으면 app.matching.expiry.ttl. 게임별 값은 미리 읽어 두고 주기적으로 다시 읽는다
+ *   (이벤트 발행 스레드에서 DB를 읽지 않음).
+ */
+@Service
+@Slf4j
+public class QueueExpiryScheduler {
+
+    // seq: 예약할 때의 엔트리. 그 사이 다시 줄을 섰으면 만료시키지 않는다
+    private record Expiry(long seq, ScheduledFuture<?> task) {}
+
+    private final MatchmakingEngine matchmakingEngine;
+    private final GameRepository gameRepository;
+    private final Duration defaultTtl;
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<Long, Expiry> byUser = new ConcurrentHashMap<>();
+    private volatile Map<Long, Duration> ttls = Map.of();
+
+    public QueueExpiryScheduler(MatchmakingEngine matchmakingEngine,
+                                GameRepository gameRepository,
+                                @Value("${app.matching.expiry.ttl:2h}") Duration defaultTtl) {
+        this.matchmakingEngine = matchmakingEngine;
+        this.gameRepository = gameRepository;
+        this.defaultTtl = defaultTtl;
+        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "queue-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    @PostConstruct
+    void start() {
+        reloadTtls();
+    }
+
+    // 재시작 시 복구된 대기열은 JOIN 이벤트가 없으므로 여기서 한 번에 등록
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleRestored() {
+        int count = 0;
+        for (Long gameId : matchmakingEngine.activeGameIds()) {
+            for (QueueEntry entry : matchmakingEngine.snapshot(gameId)) {
+                schedule(entry);
+                count++;
+            }
+        }
+        log.info("대기열 만료 예약: {}건", count);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQueueEvent(MatchingQueueEvent event) {
+        if (event.type() == MatchingQueueEvent.Type.JOIN || event.type() == MatchingQueueEvent.Type.REQUEUE) {
+            // 이벤트에는 seq/참가 시각이 없으므로 엔진의 현재 엔트리 기준 (requeue는 원래 참가 시각 유지)
+            matchmakingEngine.findByUser(event.userId())
+                    .filter(entry -> entry.gameId().equals(event.gameId()))
+                    .ifPresent(this::schedule);
+        } else {
+            cancel(event.userId());
+        }
+    }
+
+    void schedule(QueueEntry entry) {
+        Duration remaining = Duration.between(LocalDateTime.now(), entry.createdAt().plus(ttlOf(entry.gameId())));
+        byUser.compute(entry.userId(), (userId, old) -> {
+            if (old != null) {
+                if (old.seq() == entry.seq()) return old;   // 같은 엔트리를 두 번 예약하지 않음
+                old.task().cancel(false);
+            }
+            ScheduledFuture<?> task = executor.schedule(() -> expire(userId, entry.seq()),
+                    Math.max(0, remaining.toNanos()), TimeUnit.NANOSECONDS);
+            return new Expiry(entry.seq(), task);
+        });
+    }
+
+    // 빠진 유저의 예약 취소. 이벤트가 늦게 와서 그 사이 다시 줄을 섰으면 새 예약은 그대로 둔다
+    private void cancel(Long userId) {
+        byUser.computeIfPresent(userId, (k, current) -> {
+            boolean stillWaiting = matchmakingEngine.findByUser(userId)
+                    .map(entry -> entry.seq() == current.seq())
+                    .orElse(false);
+            if (stillWaiting) return current;
+            current.task().cancel(false);
+            return null;
+        });
+    }
+
+    private void expire(Long userId, long seq) {
+        try {
+            byUser.computeIfPresent(userId, (k, current) -> current.seq() == seq ? null : current);
+            matchmakingEngine.findByUser(userId)
+                    .filter(entry -> entry.seq() == seq)
+                    .ifPresent(matchmakingEngine::expire);
+        } catch (Exception e) {
+            log.warn("대기열 만료 처리 실패. userId: {}", userId, e);
+        }
+    }
+
+    public Duration ttlOf(Long gameId) {
+        return ttls.getOrDefault(gameId, defaultTtl);
+    }
+
+    /**
+     * games.queue_ttl_minutes를 다시 읽는다 (관리자가 값을 바꿨을 때 반영, 이미 예약된 만료는 그대로).
+     */
+    @Scheduled(fixedDelayString = "${app.matching.expiry.ttl-reload-ms:300000}")
+    public void reloadTtls() {
+        Map<Long, Duration> loaded = new HashMap<>();
+        for (Game game : gameRepository.findByQueueTtlMinutesIsNotNull()) {
+            if (game.getQueueTtlMinutes() > 0) loaded.put(game.getId(), Duration.ofMinutes(game.getQueueTtlMinutes()));
+        }
+        ttls = Map.copyOf(loaded);
+    }
+
+    /**
+     * 어떤 게임에서든 허용되는 가장 긴 대기 시간. 이보다 오래된 테이블 행은 저널 누락분으로 본다.
+     */
+    public Duration maxTtl() {
+        Integer maxMinutes = gameRepository.findMaxQueueTtlMinutes();
+        if (maxMinutes == null || maxMinutes <= 0) return defaultTtl;
+        Duration perGame = Duration.ofMinutes(maxMinutes);
+        return perGame.compareTo(defaultTtl) > 0 ? perGame : defaultTtl;
+    }
+
+    public int pending() {
+        return byUser.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
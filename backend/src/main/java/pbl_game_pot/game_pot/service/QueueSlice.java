@@ -0,0 +1,10 @@
+package pbl_game_pot.game_pot.service;
+
+import java.util.List;
+
+/**
+ * 게임 대기열의 한 구간, 전체 인원, 대기열 버전 (다른 노드에 있는 대기열도 같은 형태로 받아온다).
+ * 버전은 대기열이 바뀔 때마다 커지므로 현황 조회의 ETag로 쓴다.
+ */
+public record QueueSlice(List<QueueEntry> entries, int total, long version) {
+}
@@ -2,32 +2,93 @@ package pbl_game_pot.game_pot.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
+import pbl_game_pot.game_pot.config.BulkheadFullException;
+import pbl_game_pot.game_pot.config.WorkerThreads;
+import pbl_game_pot.game_pot.db.GameAlias;
+import pbl_game_pot.game_pot.db.GameAliasRepository;
 
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class SteamApiService {
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final GameAliasRepository gameAliasRepository;
+    private final GameIndexService gameIndexService;
+
+    // 1차 캐시: 정규화된 입력 → 검색 결과 (못 찾음도 짧게 캐시). 같은 키 동시 요청은 로딩 1번으로 합쳐짐.
+    // 비동기 캐시를 쓰는 이유: 동기 캐시는 맵 잠금(synchronized) 안에서 스팀 HTTP 호출을 해서 가상 스레드가 고정(pinning)된다.
+    private final AsyncLoadingCache<String, Optional<SteamGameInfo>> lookupCache;
+    private final ExecutorService lookupExecutor;
+    private final String storeSearchUrl;
+    private final Counter aliasTableHits;
+    private final MeterRegistry meterRegistry;
 
     public record SteamGameInfo(Long steamAppId, String name) {}
 
+    public SteamApiService(RestTemplate steamRestTemplate,
+                           ObjectMapper objectMapper,
+                           GameAliasRepository gameAliasRepository,
+                           GameIndexService gameIndexService,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.steam.cache.max-size:10000}") long maxSize,
+                           @Value("${app.steam.cache.ttl:24h}") Duration ttl,
+                           @Value("${app.steam.cache.negative-ttl:10m}") Duration negativeTtl,
+                           @Value("${app.steam.store-search-url:https://store.steampowered.com/api/storesearch/}") String storeSearchUrl,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.restTemplate = steamRestTemplate;
+        this.objectMapper = objectMapper;
+        this.gameAliasRepository = gameAliasRepository;
+        this.gameIndexService = gameIndexService;
+        this.storeSearchUrl = storeSearchUrl;
+        this.meterRegistry = meterRegistry;
+        this.lookupExecutor = WorkerThreads.newPool("steam-lookup-", 0, virtualThreads);
+        this.lookupCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new LookupExpiry(ttl, negativeTtl))
+                .executor(lookupExecutor)
+                .recordStats()
+                .buildAsync(this::resolve);
+        CaffeineCacheMetrics.monitor(meterRegistry, lookupCache.synchronous(), "steamGameLookup");
+        this.aliasTableHits = Counter.builder("steam.lookup.alias.table.hits")
+                .description("1차 캐시 miss 후 game_aliases 테이블에서 찾은 횟수")
+                .register(meterRegistry);
+    }
+
     // === 1. [비-스팀 게임] Steam에 없지만 인기 있는 게임들 (가짜 ID 부여) ===
     // 999로 시작하는 ID는 임의의 값
     private static final Map<String, SteamGameInfo> NON_STEAM_GAMES = new HashMap<>();
@@ -83,25 +144,116 @@ public class SteamApiService {
         ALIAS_MAP.put("폴가이즈", "Fall Guys");
     }
 
+    // 게임 인덱스 재료로 쓰도록 읽기 전용으로 공개
+    static Map<String, SteamGameInfo> nonSteamGames() {
+        return Collections.unmodifiableMap(NON_STEAM_GAMES);
+    }
+
+    static Map<String, String> aliasMap() {
+        return Collections.unmodifiableMap(ALIAS_MAP);
+    }
+
+    /**
+     * @return 찾은 게임, 정말로 없으면 null
+     * @throws RestClientException 스팀 통신 실패나 호출 한도 초과({@link BulkheadFullException}).
+     *                             "없음"과 구분해야 호출한 쪽이 404 대신 잠시 후 재시도로 답할 수 있다.
+     */
     public SteamGameInfo findGameOnSteam(String userInput) {
-        String cleanInput = userInput.toLowerCase().trim();
+        String key = normalize(userInput);
+        if (key.isEmpty()) return null;
+
+        CompletableFuture<Optional<SteamGameInfo>> lookup = lookupCache.get(key);
+        try {
+            return lookup.join().orElse(null);
+        } catch (CompletionException e) {
+            // 통신 오류는 캐시하지 않음 (다음 요청에서 다시 시도)
+            lookupCache.asMap().remove(key, lookup);
+            log.warn("스팀 게임 검색 실패: {} ({})", userInput, e.getCause().toString());
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw e;
+        }
+    }
+
+    public static String normalize(String userInput) {
+        if (userInput == null) return "";
+        return userInput.toLowerCase(Locale.ROOT).trim().replaceAll("\\s+", " ");
+    }
 
+    // 1차 캐시 miss 시 실행. 비-스팀 사전 → 로컬 게임 인덱스 → game_aliases 테이블(2차 캐시) → 별명 사전 + 스팀 API 순서
+    // 어느 단계에서 결정됐는지는 steam.lookup{source, outcome} 타이머로 남긴다
+    private Optional<SteamGameInfo> resolve(String cleanInput) {
+        long start = System.nanoTime();
         // 1. [우선순위 1] 비-스팀 게임인지 먼저 확인 (롤, 발로란트 등)
         if (NON_STEAM_GAMES.containsKey(cleanInput)) {
             SteamGameInfo info = NON_STEAM_GAMES.get(cleanInput);
-            log.info("비-스팀 게임 감지: {} -> {}", userInput, info.name());
-            return info;
+            log.info("비-스팀 게임 감지: {} -> {}", cleanInput, info.name());
+            recordLookup("non_steam", "found", start);
+            return Optional.of(info);
+        }
+
+        // 2. [우선순위 2] 로컬 게임 인덱스 (내장 카탈로그 + 등록된 게임, 오타 허용). 확실할 때만 확정
+        GameIndex.Entry local = gameIndexService.resolve(cleanInput);
+        if (local != null) {
+            log.info("로컬 인덱스 감지: '{}' -> {}", cleanInput, local.name());
+            recordLookup("local_index", "found", start);
+            return Optional.of(new SteamGameInfo(local.steamAppId(), local.name()));
         }
 
-        // 2. [우선순위 2] 별명 사전에서 검색어 변환
-        String searchTerm = ALIAS_MAP.getOrDefault(cleanInput, userInput);
+        // 3. [우선순위 3] 이전에 스팀에서 찾아 저장해둔 결과
+        Optional<GameAlias> saved = gameAliasRepository.findById(cleanInput);
+        if (saved.isPresent()) {
+            aliasTableHits.increment();
+            recordLookup("alias_table", "found", start);
+            return Optional.of(new SteamGameInfo(saved.get().getSteamAppId(), saved.get().getName()));
+        }
+
+        // 4. [우선순위 4] 별명 사전에서 검색어 변환
+        String searchTerm = ALIAS_MAP.getOrDefault(cleanInput, cleanInput);
+        String source = "api";
         if (ALIAS_MAP.containsKey(cleanInput)) {
-            log.info("별명 감지: '{}' -> '{}'", userInput, searchTerm);
+            log.info("별명 감지: '{}' -> '{}'", cleanInput, searchTerm);
+            source = "alias_map";
+        }
+
+        SteamGameInfo found;
+        try {
+            found = searchSteamStore(searchTerm);
+        } catch (RuntimeException e) {
+            recordLookup(source, "error", start);
+            throw e;
         }
+        recordLookup(source, found != null ? "found" : "not_found", start);
+        if (found != null) saveAlias(cleanInput, found);
+        return Optional.ofNullable(found);
+    }
+
+    private void recordLookup(String source, String outcome, long startNanos) {
+        Timer.builder("steam.lookup")
+                .description("1차 캐시 miss 시 게임 이름 해석 시간 (source: 결정된 단계)")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void saveAlias(String alias, SteamGameInfo info) {
+        try {
+            gameAliasRepository.save(GameAlias.builder()
+                    .alias(alias)
+                    .steamAppId(info.steamAppId())
+                    .name(info.name())
+                    .build());
+        } catch (DataIntegrityViolationException e) {
+            // 다른 서버/스레드가 먼저 저장함
+            log.debug("이미 저장된 별명: {}", alias);
+        }
+    }
 
-        // 3. [우선순위 3] 스팀 API 호출
+    private SteamGameInfo searchSteamStore(String searchTerm) {
+        // 5. [우선순위 5] 스팀 API 호출
         URI uri = UriComponentsBuilder
-                .fromHttpUrl("https://store.steampowered.com/api/storesearch/")
+                .fromHttpUrl(storeSearchUrl)
                 .queryParam("term", searchTerm)
                 .queryParam("l", "korean")
                 .queryParam("cc", "kr")
@@ -141,10 +293,40 @@ public class SteamApiService {
 
         } catch (HttpClientErrorException e) {
             log.error("스팀 API 클라이언트 오류: {}", e.getMessage());
-            return null;
-        } catch (Exception e) {
+            throw e;
+        } catch (RuntimeException e) {
             log.error("스팀 API 통신 중 오류", e);
-            return null;
+            throw e;
+        } catch (Exception e) {
+            log.error("스팀 API 응답 처리 중 오류", e);
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public CacheStats cacheStats() {
+        return lookupCache.synchronous().stats();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        lookupExecutor.shutdown();
+    }
+
+    // 찾은 결과는 길게, 못 찾은 결과는 짧게 캐시
+    private record LookupExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, Optional<SteamGameInfo>> {
+        @Override
+        public long expireAfterCreate(String key, Optional<SteamGameInfo> value, long currentTime) {
+            return (value.isPresent() ? ttl : negativeTtl).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<SteamGameInfo> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<SteamGameInfo> value, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package pbl_game_pot.game_pot.service;
+
+import pbl_game_pot.game_pot.db.UserTable;
+
+/**
+ * 로그인한 디스코드 유저의 DB id와 프로필 (캐시용 불변 스냅샷).
+ */
+public record UserIdentity(Long id,
+                           String discordId,
+                           String username,
+                           String displayName,
+                           String email,
+                           String avatarUrl) {
+
+    public static UserIdentity of(UserTable user) {
+        return new UserIdentity(user.getId(), user.getDiscordId(), user.getUsername(),
+                user.getDisplayName(), user.getEmail(), user.getAvatarUrl());
+    }
+}
@@ -0,0 +1,67 @@
+package pbl_game_pot.game_pot.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import pbl_game_pot.game_pot.db.UserRepository;
+import pbl_game_pot.game_pot.db.UserTable;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 디스코드 id → {@link UserIdentity} 캐시. 요청마다 findByDiscordId를 하지 않도록
+ * 로그인 시({@link DiscordOAuth2UserService#loadUser}) 저장한 최신 프로필을 넣어 두고 그대로 쓴다.
+ *
+ * - 크기 제한 + 쓰기 후 TTL. 로그인할 때마다 프로필이 갱신되어 다시 들어간다.
+ * - 없는 유저는 캐시하지 않는다 (가입 직후 바로 조회될 수 있도록).
+ * - 여러 대로 실행하면 로그인한 서버가 {@link UserProfileChangedEvent}를 발행하고,
+ *   {@link ClusterCoordinator}가 다른 서버에 알려 그 유저를 지운다 (메시지를 놓친 서버는 TTL 동안 예전 값).
+ */
+@Service
+public class UserIdentityCache {
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<String, UserIdentity> cache;
+
+    public UserIdentityCache(UserRepository userRepository,
+                             ApplicationEventPublisher eventPublisher,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.users.cache.max-size:10000}") long maxSize,
+                             @Value("${app.users.cache.ttl:1h}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userIdentity");
+    }
+
+    public Optional<UserIdentity> find(String discordId) {
+        UserIdentity cached = cache.getIfPresent(discordId);
+        if (cached != null) return Optional.of(cached);
+
+        Optional<UserIdentity> loaded = userRepository.findByDiscordId(discordId).map(UserIdentity::of);
+        loaded.ifPresent(identity -> cache.put(discordId, identity));
+        return loaded;
+    }
+
+    // 로그인으로 프로필이 갱신됐을 때 호출 (DB 저장 직후의 값으로 교체)
+    public UserIdentity refresh(UserTable user) {
+        UserIdentity identity = UserIdentity.of(user);
+        cache.put(user.getDiscordId(), identity);
+        eventPublisher.publishEvent(new UserProfileChangedEvent(user.getDiscordId()));
+        return identity;
+    }
+
+    public void evict(String discordId) {
+        cache.invalidate(discordId);
+    }
+}
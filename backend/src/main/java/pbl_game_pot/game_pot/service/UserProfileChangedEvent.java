@@ -0,0 +1,6 @@
+package pbl_game_pot.game_pot.service;
+
+/**
+ * 로그인으로 유저 프로필이 저장됐을 때 발행. 다른 서버의 {@link UserIdentityCache}가 이 유저를 지우게 한다.
+ */
+public record UserProfileChangedEvent(String discordId) {}
@@ -0,0 +1,116 @@
+package pbl_game_pot.game_pot.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import pbl_game_pot.game_pot.config.TokenBucket;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 매칭 변경 API(POST /api/match/**) 요청 수 제한. 유저별 토큰 버킷 → 전체 토큰 버킷 순서로 검사하고,
+ * 넘으면 컨트롤러까지 가지 않고 429 + Retry-After(초)로 돌려준다.
+ * 전체 한도에 걸린 요청은 유저 토큰을 돌려준다 (몰릴 때 얌전한 유저까지 유저별 429를 받지 않게).
+ *
+ * - 유저 키는 로그인 principal 이름(디스코드 id), 로그인 전이면 접속 IP.
+ * - 유저별 버킷은 마지막 요청 후 idle-timeout이 지나면 버린다 (다시 오면 가득 찬 버킷으로 시작).
+ * - 메트릭: ratelimit.requests{scope=user|global, outcome=allowed|rejected}, ratelimit.user.buckets
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final ObjectMapper objectMapper;
+    private final double userRate;
+    private final int userBurst;
+    private final TokenBucket global;
+    private final Cache<String, TokenBucket> userBuckets;
+    private final Counter userAllowed;
+    private final Counter userRejected;
+    private final Counter globalRejected;
+
+    public RateLimitInterceptor(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.ratelimit.user.per-second:1}") double userRate,
+                                @Value("${app.ratelimit.user.burst:5}") int userBurst,
+                                @Value("${app.ratelimit.global.per-second:100}") double globalRate,
+                                @Value("${app.ratelimit.global.burst:200}") int globalBurst,
+                                @Value("${app.ratelimit.user.idle-timeout:10m}") Duration idleTimeout,
+                                @Value("${app.ratelimit.user.max-tracked:100000}") long maxTracked) {
+        this.objectMapper = objectMapper;
+        this.userRate = userRate;
+        this.userBurst = userBurst;
+        this.global = new TokenBucket(globalRate, globalBurst);
+        this.userBuckets = Caffeine.newBuilder()
+                .maximumSize(maxTracked)
+                .expireAfterAccess(idleTimeout)
+                .build();
+
+        this.userAllowed = counter(meterRegistry, "user", "allowed");
+        this.userRejected = counter(meterRegistry, "user", "rejected");
+        this.globalRejected = counter(meterRegistry, "global", "rejected");
+        Gauge.builder("ratelimit.user.buckets", userBuckets, Cache::estimatedSize)
+                .description("요청 수를 추적 중인 유저(또는 IP) 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!HttpMethod.POST.matches(request.getMethod())) return true;
+
+        TokenBucket user = userBuckets.get(clientKey(request), k -> new TokenBucket(userRate, userBurst));
+        long wait = user.tryAcquire();
+        if (wait > 0) {
+            userRejected.increment();
+            reject(response, wait, "요청이 너무 잦습니다. 잠시 후 다시 시도해주세요.");
+            return false;
+        }
+        userAllowed.increment();
+
+        wait = global.tryAcquire();
+        if (wait > 0) {
+            user.release();
+            globalRejected.increment();
+            reject(response, wait, "매칭 요청이 몰리고 있습니다. 잠시 후 다시 시도해주세요.");
+            return false;
+        }
+        return true;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "u:" + principal.getName() : "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos, String message) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+
+    private static Counter counter(MeterRegistry registry, String scope, String outcome) {
+        return Counter.builder("ratelimit.requests")
+                .tag("scope", scope)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -1,15 +1,27 @@
 package pbl_game_pot.game_pot.web;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+
     @Override
     public void addViewControllers(ViewControllerRegistry r) {
         r.addViewController("/").setViewName("forward:/index.html");
         r.addViewController("/{x:[\\w\\-]+}").setViewName("forward:/index.html");
         r.addViewController("/{x:^(?!api$).*$}/{y:[\\w\\-]+}").setViewName("forward:/index.html");
     }
-}
\ No newline at end of file
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // 매칭 시작/중단/파티 생성 (POST만 검사, 조회/SSE는 통과)
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/match/**");
+    }
+}
@@ -0,0 +1,30 @@
+package pbl_game_pot.game_pot.config;
+
+import org.junit.jupiter.api.Test;
+import pbl_game_pot.game_pot.controller.MatchingController;
+import pbl_game_pot.game_pot.service.MatchingCleanupService;
+import pbl_game_pot.game_pot.service.MatchingQueueJournal;
+import pbl_game_pot.game_pot.service.MatchingStatusBroadcaster;
+import pbl_game_pot.game_pot.service.MatchmakingEngine;
+import pbl_game_pot.game_pot.service.PartyMatcher;
+import pbl_game_pot.game_pot.service.SteamApiService;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FastStartConfigTest {
+
+    @Test
+    void backgroundWorkStaysEagerUnderLazyInitialization() {
+        assertThat(FastStartConfig.needsEagerInit(PartyMatcher.class)).isTrue();             // @Scheduled
+        assertThat(FastStartConfig.needsEagerInit(MatchingCleanupService.class)).isTrue();   // @Scheduled
+        assertThat(FastStartConfig.needsEagerInit(MatchingStatusBroadcaster.class)).isTrue(); // 이벤트 리스너
+        assertThat(FastStartConfig.needsEagerInit(MatchingQueueJournal.class)).isTrue();     // @PostConstruct 스레드
+        assertThat(FastStartConfig.needsEagerInit(MatchmakingEngine.class)).isTrue();        // 대기열 복구
+    }
+
+    @Test
+    void requestPathBeansAreCreatedOnFirstUse() {
+        assertThat(FastStartConfig.needsEagerInit(SteamApiService.class)).isFalse();
+        assertThat(FastStartConfig.needsEagerInit(MatchingController.class)).isFalse();
+    }
+}
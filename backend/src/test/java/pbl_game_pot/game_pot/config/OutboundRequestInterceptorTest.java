@@ -0,0 +1,100 @@
+package pbl_game_pot.game_pot.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OutboundRequestInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private OutboundRequestInterceptor interceptor(int maxConcurrent, int retries) {
+        return new OutboundRequestInterceptor(new OutboundTarget("test",
+                Duration.ofSeconds(1), Duration.ofSeconds(1), 4, maxConcurrent, Duration.ZERO, retries, Duration.ofMillis(1), 0),
+                registry);
+    }
+
+    private static MockClientHttpRequest request(HttpMethod method) {
+        return new MockClientHttpRequest(method, URI.create("http://localhost/api"));
+    }
+
+    @Test
+    void getIsRetriedOnUnavailableAndLatencyIsRecorded() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        ClientHttpResponse response = interceptor(4, 2).intercept(request(HttpMethod.GET), new byte[0],
+                (req, body) -> new MockClientHttpResponse(new byte[0],
+                        calls.incrementAndGet() == 1 ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(calls).hasValue(2);
+        assertThat(registry.get("outbound.requests").tag("target", "test").tag("outcome", "503").timer().count()).isEqualTo(1);
+        assertThat(registry.get("outbound.requests").tag("target", "test").tag("outcome", "200").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void postIsRetriedOnlyWhenTheRequestWasNeverSent() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        ClientHttpResponse response = interceptor(4, 1).intercept(request(HttpMethod.POST), new byte[0], (req, body) -> {
+            if (calls.incrementAndGet() == 1) throw new ConnectException("refused");
+            return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+        });
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(calls).hasValue(2);
+
+        AtomicInteger timeouts = new AtomicInteger();
+        assertThatThrownBy(() -> interceptor(4, 1).intercept(request(HttpMethod.POST), new byte[0], (req, body) -> {
+            timeouts.incrementAndGet();
+            throw new SocketTimeoutException("read timed out");
+        })).isInstanceOf(SocketTimeoutException.class);
+        assertThat(timeouts).hasValue(1);
+    }
+
+    @Test
+    void bulkheadRejectsWhenTargetIsSaturated() throws Exception {
+        OutboundRequestInterceptor bulkhead = interceptor(1, 0);
+        CountDownLatch inFlight = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<ClientHttpResponse> slow = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.intercept(request(HttpMethod.POST), new byte[0], (req, body) -> {
+                    inFlight.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return new MockClientHttpResponse(new byte[0], HttpStatus.OK);
+                });
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(inFlight.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> bulkhead.intercept(request(HttpMethod.POST), new byte[0],
+                (req, body) -> new MockClientHttpResponse(new byte[0], HttpStatus.OK)))
+                .isInstanceOf(BulkheadFullException.class);
+        assertThat(registry.get("outbound.bulkhead.rejected").counter().count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(slow.get(5, TimeUnit.SECONDS).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+}
@@ -0,0 +1,110 @@
+package pbl_game_pot.game_pot.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import pbl_game_pot.game_pot.config.InMemoryClusterBroker;
+import pbl_game_pot.game_pot.service.ClusterCoordinator;
+import pbl_game_pot.game_pot.service.MatchingQueueJournal;
+import pbl_game_pot.game_pot.service.MatchmakingEngine;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * /api/match/status 응답 크기: 기존 형식, 압축 형식(view=compact), gzip, since 변경분, 304.
+ * 현황판 한 페이지(500명)를 2초마다 폴링하는 상황 기준.
+ */
+class MatchingStatusPayloadTest {
+
+    private static final Long GAME_ID = 1L;
+    private static final int PAGE = 500;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MatchmakingEngine engine;
+    private MatchingController controller;
+
+    @BeforeEach
+    void setUp() {
+        engine = new MatchmakingEngine(mock(MatchingQueueJournal.class), event -> {});
+        for (long u = 0; u < 2_000; u++) join(u);
+        ClusterCoordinator coordinator = new ClusterCoordinator(new InMemoryClusterBroker(), engine,
+                mock(MatchingQueueJournal.class), null, null, null, objectMapper, "test",
+                1000, Duration.ofSeconds(5), Duration.ofSeconds(2), false);
+        controller = new MatchingController(null, null, coordinator, null, null, null, null, null);
+    }
+
+    @Test
+    void compactDeltaAndNotModifiedResponsesAreFarSmallerThanTheFullList() throws Exception {
+        ResponseEntity<?> full = status("full", null, null);
+        String etag = full.getHeaders().getETag();
+        long version = Long.parseLong(etag.substring(3, etag.length() - 1));
+
+        // 그 사이 3명 참가, 2명 빠짐
+        for (long u = 2_000; u < 2_003; u++) join(u);
+        engine.leave(0L);
+        engine.leave(1L);
+
+        int fullBytes = bytes(full.getBody()).length;
+        byte[] compact = bytes(status("compact", null, null).getBody());
+        int gzipBytes = gzip(compact).length;
+        ResponseEntity<?> delta = status("full", version, null);
+        int deltaBytes = bytes(delta.getBody()).length;
+
+        assertThat(compact.length).isLessThan(fullBytes * 2 / 3);
+        assertThat(gzipBytes).isLessThan(fullBytes / 5);
+        assertThat(deltaBytes).isLessThan(fullBytes / 50);
+
+        MatchingController.StatusDeltaDto body = (MatchingController.StatusDeltaDto) delta.getBody();
+        assertThat(body.reset()).isFalse();
+        assertThat(body.join()).extracting(u -> u.get(0)).containsExactly("user2000", "user2001", "user2002");
+        assertThat(body.leave()).containsExactly("user0", "user1");
+    }
+
+    @Test
+    void unchangedQueueAnswersNotModified() {
+        ResponseEntity<?> first = status("full", null, null);
+        String etag = first.getHeaders().getETag();
+        assertThat(first.getHeaders().getFirst("X-Total-Count")).isEqualTo("2000");
+
+        ResponseEntity<?> again = status("full", null, etag);
+        assertThat(again.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(again.getBody()).isNull();
+        // gzip을 거치며 약한 ETag가 된 값이나 여러 값이 와도 같은 버전이면 304
+        assertThat(MatchingController.etagMatches("\"x\", " + etag.substring(2), Long.parseLong(
+                etag.substring(3, etag.length() - 1)))).isTrue();
+
+        long version = Long.parseLong(etag.substring(3, etag.length() - 1));
+        assertThat(status("full", version, null).getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        join(5_000L);
+        assertThat(status("full", null, etag).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    private ResponseEntity<?> status(String view, Long since, String ifNoneMatch) {
+        return controller.getMatchingStatus(GAME_ID, 0, PAGE, view, since, ifNoneMatch);
+    }
+
+    private void join(long u) {
+        engine.join(u, GAME_ID, "d" + u, "user" + u, "User " + u, "u" + u + "@example.com",
+                "https://cdn.discordapp.com/avatars/" + u + "/a.png");
+    }
+
+    private byte[] bytes(Object body) throws Exception {
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    private static byte[] gzip(byte[] raw) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(raw);
+        }
+        return out.toByteArray();
+    }
+}
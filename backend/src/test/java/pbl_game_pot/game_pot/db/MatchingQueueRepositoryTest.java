@@ -0,0 +1,96 @@
+package pbl_game_pot.game_pot.db;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 로컬 application.properties(MySQL, validate)와 상관없이 내장 H2에 스키마를 만들어 돌린다
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class MatchingQueueRepositoryTest {
+
+    private static final int USERS = 50;
+    private static final LocalDateTime START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Autowired
+    private MatchingQueueRepository repository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private EntityManagerFactory emf;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Game game = Game.builder().steamAppId(730L).name("Counter-Strike 2").build();
+        em.persist(game);
+        for (int i = 0; i < USERS; i++) {
+            UserTable user = UserTable.builder()
+                    .discordId("d" + i)
+                    .username("user" + i)
+                    .displayName("User " + i)
+                    .build();
+            em.persist(user);
+            em.persist(MatchingQueue.builder().user(user).game(game).build());
+        }
+        em.flush();
+        em.clear();
+
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void replayPageIsOneStatementRegardlessOfUserCount() {
+        List<QueueReplayRow> rows = repository.findReplayPage(START, 0L, PageRequest.of(0, USERS));
+
+        assertThat(rows).hasSize(USERS);
+        assertThat(rows).extracting(QueueReplayRow::username).contains("user0", "user" + (USERS - 1));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void entityPathLoadsUsersOneByOne() {
+        // 비교용: 엔티티로 읽고 user를 건드리면 행마다 쿼리가 추가로 나간다 (N+1)
+        List<MatchingQueue> entities = repository.findAll();
+        entities.forEach(mq -> mq.getUser().getUsername());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1 + USERS);
+    }
+
+    @Test
+    void keysetPagesCoverEveryRowOnce() {
+        List<QueueReplayRow> all = new ArrayList<>();
+        LocalDateTime afterCreatedAt = START;
+        Long afterId = 0L;
+        while (true) {
+            List<QueueReplayRow> page = repository.findReplayPage(afterCreatedAt, afterId, PageRequest.of(0, 7));
+            all.addAll(page);
+            if (page.size() < 7) break;
+            afterCreatedAt = page.get(page.size() - 1).createdAt();
+            afterId = page.get(page.size() - 1).id();
+        }
+
+        assertThat(all).hasSize(USERS);
+        assertThat(all).extracting(QueueReplayRow::id).doesNotHaveDuplicates();
+        // 페이지 수(8)만큼만 쿼리
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo((USERS + 6) / 7);
+    }
+}
@@ -0,0 +1,161 @@
+package pbl_game_pot.game_pot.db;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 저널이 쓰는 upsertAll이 MySQL 문법이라 H2를 MySQL 모드로 띄운다. 스레드마다 자기 트랜잭션을 쓰므로 테스트 트랜잭션은 끈다.
+// 여기서는 정합성만 본다. upsertAll 처리량(행/초, 행마다 upsert 대비)은 load 태그의 BatchInsertLoadTest에서 잰다.
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:upsert;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MatchingQueueUpsertConcurrencyTest {
+
+    private static final int USERS = 200;
+    private static final int GAMES = 7;
+    private static final int JOINS = 5000;
+    private static final int BATCH = 10;
+
+    @Autowired
+    private MatchingQueueRepository repository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void parallelJournalBatchesLeaveExactlyOneRowPerUser() throws Exception {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            userIds.add(userRepository.save(UserTable.builder()
+                    .discordId("d" + i).username("user" + i).build()).getId());
+        }
+        List<Long> gameIds = new ArrayList<>();
+        for (int g = 0; g < GAMES; g++) {
+            gameIds.add(gameRepository.save(Game.builder().steamAppId(1000L + g).name("game" + g).build()).getId());
+        }
+
+        // 노드 여러 대의 저널 writer처럼 묶음 단위로 같은 유저들을 동시에 upsert (묶음 안은 user_id 순서라 교착 없음)
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch done = new CountDownLatch(JOINS / BATCH);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+        for (int from = 0; from < JOINS; from += BATCH) {
+            List<QueueUpsertRow> rows = new ArrayList<>(BATCH);
+            for (int i = from; i < from + BATCH; i++) {
+                rows.add(new QueueUpsertRow(userIds.get(i % USERS), gameIds.get((i / USERS + i) % GAMES),
+                        LocalDateTime.now(), null, null, null, null));
+            }
+            rows.sort(Comparator.comparing(QueueUpsertRow::userId));
+            pool.execute(() -> {
+                try {
+                    tx.executeWithoutResult(s -> repository.upsertAll(rows));
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        pool.shutdown();
+
+        assertThat(failures).isEmpty();
+        Map<Long, Long> rowsPerUser = repository.findAll().stream()
+                .collect(Collectors.groupingBy(mq -> mq.getUser().getId(), Collectors.counting()));
+        assertThat(rowsPerUser).hasSize(USERS);
+        assertThat(rowsPerUser.values()).containsOnly(1L);
+    }
+
+    @Test
+    void batchUpsertMovesExistingRowsAndBulkDeleteRemovesThem() {
+        List<Long> userIds = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            userIds.add(userRepository.save(UserTable.builder()
+                    .discordId("batch" + i).username("batch" + i).build()).getId());
+        }
+        Long first = gameRepository.save(Game.builder().steamAppId(2000L).name("batch-a").build()).getId();
+        Long second = gameRepository.save(Game.builder().steamAppId(2001L).name("batch-b").build()).getId();
+        LocalDateTime now = LocalDateTime.now();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        tx.executeWithoutResult(s -> repository.upsertAll(userIds.stream()
+                .map(id -> new QueueUpsertRow(id, first, now, null, null, null, null)).toList()));
+        // 같은 user_id로 다시 넣으면 기존 행이 새 게임/조건으로 바뀐다
+        tx.executeWithoutResult(s -> repository.upsertAll(List.of(
+                new QueueUpsertRow(userIds.get(0), second, now, 7, "kr", "ko", 5))));
+        tx.executeWithoutResult(s -> repository.deleteAllByUserIdIn(List.of(userIds.get(1))));
+
+        MatchingQueue moved = rowOf(userIds.get(0)).orElseThrow();
+        assertThat(moved.getGame().getId()).isEqualTo(second);
+        assertThat(moved.getRankBand()).isEqualTo(7);
+        assertThat(moved.getRegion()).isEqualTo("kr");
+        assertThat(rowOf(userIds.get(1))).isEmpty();
+        assertThat(rowOf(userIds.get(2)).orElseThrow().getGame().getId()).isEqualTo(first);
+
+        // 다른 테스트의 행 수 검사에 섞이지 않도록 정리
+        tx.executeWithoutResult(s -> repository.deleteAllByUserIdIn(userIds));
+    }
+
+    @Test
+    void lateWritesFromThePreviousNodeKeepTheNewerRow() {
+        Long userId = userRepository.save(UserTable.builder().discordId("late").username("late").build()).getId();
+        Long oldGame = gameRepository.save(Game.builder().steamAppId(3000L).name("late-a").build()).getId();
+        Long newGame = gameRepository.save(Game.builder().steamAppId(3001L).name("late-b").build()).getId();
+        LocalDateTime joinedOld = LocalDateTime.now().withNano(0).minusSeconds(5);
+        LocalDateTime joinedNew = joinedOld.plusSeconds(3);
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // 새 게임 담당 노드가 먼저 반영하고, 예전 게임 노드의 참가/이탈 기록이 늦게 도착
+        tx.executeWithoutResult(s -> repository.upsertAll(List.of(
+                new QueueUpsertRow(userId, newGame, joinedNew, null, null, null, null))));
+        tx.executeWithoutResult(s -> repository.upsertAll(List.of(
+                new QueueUpsertRow(userId, oldGame, joinedOld, 3, null, null, null))));
+        tx.executeWithoutResult(s -> repository.deleteAllInGame(List.of(new QueueLeaveRow(userId, oldGame))));
+
+        MatchingQueue row = rowOf(userId).orElseThrow();
+        assertThat(row.getGame().getId()).isEqualTo(newGame);
+        assertThat(row.getCreatedAt()).isEqualTo(joinedNew);
+        assertThat(row.getRankBand()).isNull();
+
+        tx.executeWithoutResult(s -> repository.deleteAllInGame(List.of(new QueueLeaveRow(userId, newGame))));
+        assertThat(rowOf(userId)).isEmpty();
+    }
+
+    private Optional<MatchingQueue> rowOf(Long userId) {
+        return repository.findAll().stream()
+                .filter(mq -> mq.getUser().getId().equals(userId))
+                .findFirst();
+    }
+}
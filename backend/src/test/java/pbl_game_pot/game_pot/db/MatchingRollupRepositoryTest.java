@@ -0,0 +1,98 @@
+package pbl_game_pot.game_pot.db;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import pbl_game_pot.game_pot.db.MatchingRollupId.Granularity;
+import pbl_game_pot.game_pot.service.MatchingAnalyticsService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 증분 upsert가 MySQL 문법이라 H2를 MySQL 모드로 띄운다
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rollup;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class MatchingRollupRepositoryTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2026, 3, 2, 0, 0);
+
+    @Autowired
+    private MatchingRollupRepository rollupRepository;
+
+    @Autowired
+    private MatchingEventRepository eventRepository;
+
+    @Test
+    void deltasAreAddedToExistingBuckets() {
+        rollupRepository.addAll(List.of(delta(1L, Granularity.HOUR, DAY.withHour(21), 3, 2, 1, 60_000)));
+        rollupRepository.addAll(List.of(
+                delta(1L, Granularity.HOUR, DAY.withHour(21), 1, 1, 0, 30_000),
+                delta(1L, Granularity.HOUR, DAY.withHour(22), 5, 0, 0, 0),
+                delta(2L, Granularity.HOUR, DAY.withHour(21), 9, 9, 9, 9)));
+
+        List<MatchingRollup> rows = rollupRepository.findRange(1L, Granularity.HOUR, DAY, DAY.plusDays(1));
+
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).getArrivals()).isEqualTo(4);
+        assertThat(rows.get(0).getMatched()).isEqualTo(3);
+        assertThat(rows.get(0).getWaitSumMs()).isEqualTo(90_000);
+        assertThat(rows.get(1).getId().getBucketStart()).isEqualTo(DAY.withHour(22));
+    }
+
+    @Test
+    void peakHoursAverageOverDaysFromRollupsOnly() {
+        rollupRepository.addAll(List.of(
+                delta(1L, Granularity.HOUR, DAY.withHour(21), 10, 4, 1, 40_000),
+                delta(1L, Granularity.HOUR, DAY.plusDays(1).withHour(21), 20, 6, 4, 120_000),
+                delta(1L, Granularity.HOUR, DAY.plusDays(1).withHour(9), 2, 0, 2, 0)));
+
+        List<MatchingAnalyticsService.HourOfDay> hours = new MatchingAnalyticsService(rollupRepository)
+                .peakHours(1L, 2, DAY.plusDays(1).withHour(23).withMinute(30));
+
+        assertThat(hours).hasSize(24);
+        MatchingAnalyticsService.HourOfDay evening = hours.get(21);
+        assertThat(evening.avgArrivals()).isEqualTo(15.0);
+        assertThat(evening.avgWaitMs()).isEqualTo(16_000L);      // 160000ms / 매칭 10명
+        assertThat(evening.matchRate()).isEqualTo(10.0 / 15.0);  // 매칭 10 / 빠짐 15
+        assertThat(hours.get(9).matchRate()).isEqualTo(0.0);
+        assertThat(hours.get(3).avgWaitMs()).isNull();
+    }
+
+    @Test
+    void eventsAreAppendedInBatchAndPurgedByAge() {
+        eventRepository.appendAll(List.of(
+                event(MatchingEvent.Type.JOIN, DAY.minusDays(40)),
+                event(MatchingEvent.Type.MATCHED, DAY.minusDays(40)),
+                event(MatchingEvent.Type.JOIN, DAY)));
+
+        assertThat(eventRepository.count()).isEqualTo(3);
+        assertThat(eventRepository.deleteBatchOccurredBefore(DAY.minusDays(30), 1)).isEqualTo(1);
+        assertThat(eventRepository.deleteBatchOccurredBefore(DAY.minusDays(30), 1)).isEqualTo(1);
+        assertThat(eventRepository.deleteBatchOccurredBefore(DAY.minusDays(30), 1)).isZero();
+        assertThat(eventRepository.count()).isEqualTo(1);
+    }
+
+    // 빠짐 = matched + left (만료 0)
+    private static MatchingRollup delta(Long gameId, Granularity g, LocalDateTime bucket,
+                                        int arrivals, int matched, int left, long waitSumMs) {
+        return MatchingRollup.builder()
+                .id(new MatchingRollupId(gameId, g, bucket))
+                .arrivals(arrivals)
+                .matched(matched)
+                .leftCount(left)
+                .waitSumMs(waitSumMs)
+                .build();
+    }
+
+    private static MatchingEvent event(MatchingEvent.Type type, LocalDateTime at) {
+        return MatchingEvent.builder().type(type).gameId(1L).userId(3L).waitMs(type == MatchingEvent.Type.JOIN ? null : 5_000)
+                .occurredAt(at).build();
+    }
+}
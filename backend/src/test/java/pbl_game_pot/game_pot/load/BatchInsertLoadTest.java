@@ -0,0 +1,163 @@
+package pbl_game_pot.game_pot.load;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import pbl_game_pot.game_pot.db.Game;
+import pbl_game_pot.game_pot.db.MatchingQueueRepository;
+import pbl_game_pot.game_pot.db.QueueUpsertRow;
+import pbl_game_pot.game_pot.db.UserTable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 10만 행 쓰기 처리량(행/초), 행마다 왕복 vs JDBC batch.
+ * - games: 행마다 flush (IDENTITY일 때처럼 insert 1건 = 왕복 1번) vs id_sequences에서 50개씩 받은 id + batch 50
+ * - matching_queue 저널: 행마다 네이티브 upsert vs upsertAll (JDBC batch 1번)
+ *
+ * DB는 H2(MySQL 모드). 네트워크 왕복과 rewriteBatchedStatements 효과까지 보려면 MySQL로:
+ * ./gradlew loadTest --tests '*BatchInsertLoadTest' -Dload.db.url=jdbc:mysql://127.0.0.1:3307/game_pot -Dload.db.password=load
+ */
+@Tag("load")
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:batch;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        // 운영 기본값(GamePotApplication)과 같게
+        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+        "spring.jpa.properties.hibernate.order_inserts=true",
+        "spring.jpa.properties.hibernate.order_updates=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BatchInsertLoadTest {
+
+    private static final int ROWS = Integer.getInteger("load.batch.rows", 100_000);
+    private static final int TX_ROWS = 1_000;        // 게임/유저: 트랜잭션 1개에 넣는 행 수
+    private static final int JOURNAL_BATCH = 200;    // 저널: app.matching.journal.batch-size 기본값
+    private static final int JDBC_BATCH = 50;
+
+    @DynamicPropertySource
+    static void mysql(DynamicPropertyRegistry registry) {
+        String dbUrl = System.getProperty("load.db.url");
+        if (dbUrl == null) return;
+        registry.add("spring.datasource.url", () -> dbUrl);
+        registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+        registry.add("spring.datasource.username", () -> System.getProperty("load.db.username", "root"));
+        registry.add("spring.datasource.password", () -> System.getProperty("load.db.password", ""));
+        registry.add("spring.datasource.hikari.data-source-properties.rewriteBatchedStatements", () -> "true");
+    }
+
+    record Result(String target, String mode, int rows, long elapsedMs) {
+        double rowsPerSecond() {
+            return rows * 1000.0 / Math.max(1, elapsedMs);
+        }
+    }
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MatchingQueueRepository repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void batchedWritesOutrunRowByRow() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        Result gamesRowByRow = insertGames(tx, "row-by-row", 0, 1);
+        Result gamesBatched = insertGames(tx, "batch " + JDBC_BATCH, ROWS, JDBC_BATCH);
+
+        List<Long> userIds = new ArrayList<>(ROWS);
+        Result users = insertUsers(tx, userIds);
+        Long gameId = tx.execute(s -> em.createQuery("select min(g.id) from Game g", Long.class).getSingleResult());
+
+        Result journalRowByRow = writeJournal(tx, userIds, gameId, false);
+        tx.executeWithoutResult(s -> em.createQuery("delete from MatchingQueue").executeUpdate());
+        Result journalBatched = writeJournal(tx, userIds, gameId, true);
+
+        System.out.printf("%-14s %-12s %8s %10s %10s%n", "table", "mode", "rows", "ms", "rows/s");
+        for (Result r : List.of(gamesRowByRow, gamesBatched, users, journalRowByRow, journalBatched)) {
+            System.out.printf("%-14s %-12s %8d %10d %10.0f%n",
+                    r.target(), r.mode(), r.rows(), r.elapsedMs(), r.rowsPerSecond());
+        }
+
+        assertThat(repository.count()).isEqualTo(ROWS);
+        assertThat(gamesBatched.rowsPerSecond()).isGreaterThan(gamesRowByRow.rowsPerSecond());
+        assertThat(journalBatched.rowsPerSecond()).isGreaterThan(journalRowByRow.rowsPerSecond());
+    }
+
+    private Result insertGames(TransactionTemplate tx, String mode, int offset, int flushEvery) {
+        long start = System.nanoTime();
+        for (int from = 0; from < ROWS; from += TX_ROWS) {
+            int first = from;
+            tx.executeWithoutResult(s -> {
+                for (int i = first; i < Math.min(first + TX_ROWS, ROWS); i++) {
+                    em.persist(Game.builder().steamAppId(10_000_000L + offset + i).name("bench-" + (offset + i)).build());
+                    if ((i + 1) % flushEvery == 0) {
+                        em.flush();
+                        em.clear();
+                    }
+                }
+            });
+        }
+        return new Result("games", mode, ROWS, elapsedMs(start));
+    }
+
+    private Result insertUsers(TransactionTemplate tx, List<Long> ids) {
+        long start = System.nanoTime();
+        for (int from = 0; from < ROWS; from += TX_ROWS) {
+            int first = from;
+            tx.executeWithoutResult(s -> {
+                for (int i = first; i < Math.min(first + TX_ROWS, ROWS); i++) {
+                    UserTable user = UserTable.builder().discordId("bench" + i).username("bench" + i).build();
+                    em.persist(user);
+                    ids.add(user.getId());
+                    if ((i + 1) % JDBC_BATCH == 0) {
+                        em.flush();
+                        em.clear();
+                    }
+                }
+            });
+        }
+        return new Result("users", "batch " + JDBC_BATCH, ROWS, elapsedMs(start));
+    }
+
+    private Result writeJournal(TransactionTemplate tx, List<Long> userIds, Long gameId, boolean batched) {
+        LocalDateTime now = LocalDateTime.now();
+        long start = System.nanoTime();
+        for (int from = 0; from < userIds.size(); from += JOURNAL_BATCH) {
+            List<QueueUpsertRow> rows = userIds.subList(from, Math.min(from + JOURNAL_BATCH, userIds.size())).stream()
+                    .map(id -> new QueueUpsertRow(id, gameId, now, null, null, null, null))
+                    .toList();
+            tx.executeWithoutResult(s -> {
+                if (batched) {
+                    repository.upsertAll(rows);
+                } else {
+                    rows.forEach(r -> repository.upsertAll(List.of(r)));
+                }
+            });
+        }
+        return new Result("matching_queue", batched ? "upsertAll" : "row-by-row",
+                userIds.size(), elapsedMs(start));
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
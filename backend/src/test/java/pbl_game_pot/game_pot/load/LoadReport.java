@@ -0,0 +1,69 @@
+package pbl_game_pot.game_pot.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 엔드포인트별 요청 수, 처리량, p50/p99 응답 시간(클라이언트 기준), 상태 코드, 요청당 SQL 수.
+ * 콘솔 표와 JSON 파일(실행마다 비교용)로 남긴다.
+ */
+final class LoadReport {
+
+    record Row(String endpoint, long requests, long serverErrors, double perSecond, double p50Ms, double p99Ms,
+               long queries, double queriesPerRequest, Map<Integer, Long> statuses) {}
+
+    private record Sample(int status, long nanos) {}
+
+    private final Map<String, Queue<Sample>> samples = new ConcurrentHashMap<>();
+
+    void record(String endpoint, int status, long nanos) {
+        samples.computeIfAbsent(endpoint, k -> new ConcurrentLinkedQueue<>()).add(new Sample(status, nanos));
+    }
+
+    List<Row> rows(Duration elapsed, Map<String, Long> queries) {
+        List<Row> rows = new ArrayList<>();
+        for (String endpoint : new TreeMap<>(samples).keySet()) {
+            List<Sample> list = new ArrayList<>(samples.get(endpoint));
+            long[] nanos = list.stream().mapToLong(Sample::nanos).sorted().toArray();
+            Map<Integer, Long> statuses = new TreeMap<>();
+            list.forEach(s -> statuses.merge(s.status(), 1L, Long::sum));
+            long serverErrors = list.stream().filter(s -> s.status() >= 500).count();
+            long q = queries.getOrDefault(endpoint, 0L);
+            rows.add(new Row(endpoint, nanos.length, serverErrors, nanos.length / (elapsed.toNanos() / 1e9),
+                    percentileMs(nanos, 0.50), percentileMs(nanos, 0.99), q, (double) q / nanos.length, statuses));
+        }
+        return rows;
+    }
+
+    static void print(List<Row> rows, Map<String, Long> queries) {
+        System.out.printf("%-34s %8s %8s %9s %9s %9s %8s  %s%n",
+                "endpoint", "requests", "req/s", "p50(ms)", "p99(ms)", "5xx", "SQL/req", "status");
+        for (Row r : rows) {
+            System.out.printf("%-34s %8d %8.0f %9.1f %9.1f %9d %8.2f  %s%n", r.endpoint(), r.requests(),
+                    r.perSecond(), r.p50Ms(), r.p99Ms(), r.serverErrors(), r.queriesPerRequest(), r.statuses());
+        }
+        System.out.printf("SQL (요청 밖: 저널/디스패처/스케줄러): %d%n", queries.getOrDefault(QueryCounter.BACKGROUND, 0L));
+    }
+
+    static void write(Path file, Map<String, Object> summary) throws IOException {
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), summary);
+    }
+
+    private static double percentileMs(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+}
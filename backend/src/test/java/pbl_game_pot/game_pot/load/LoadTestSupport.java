@@ -0,0 +1,86 @@
+package pbl_game_pot.game_pot.load;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.core.user.DefaultOAuth2User;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * 부하 테스트 전용 빈.
+ * - GET /load-test/login?discordId=… : 디스코드 로그인을 마친 것과 같은 세션(OAuth2AuthenticationToken)을 만들어 쿠키로 돌려준다.
+ *   이후 요청은 실제 보안 필터 체인을 그대로 탄다.
+ * - 요청마다 엔드포인트 이름을 {@link QueryCounter}에 알려 SQL 수를 엔드포인트별로 센다.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+class LoadTestSupport {
+
+    static final String LOGIN_PATH = "/load-test/login";
+
+    // 경로의 숫자 id, partyId(UUID) → {id}
+    private static final Pattern ID_SEGMENT = Pattern.compile("/(\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F-]{27})(?=/|$)");
+
+    @Bean
+    QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer countStatements(QueryCounter queryCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+    }
+
+    @Bean
+    FilterRegistrationBean<OncePerRequestFilter> loadTestFilter(QueryCounter queryCounter) {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest req, HttpServletResponse res, FilterChain chain)
+                    throws ServletException, IOException {
+                if (LOGIN_PATH.equals(req.getRequestURI())) {
+                    login(req.getParameter("discordId"), req);
+                    res.setStatus(HttpServletResponse.SC_NO_CONTENT);
+                    return;
+                }
+                queryCounter.begin(endpointOf(req));
+                try {
+                    chain.doFilter(req, res);
+                } finally {
+                    queryCounter.end();
+                }
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> bean = new FilterRegistrationBean<>(filter);
+        // 스프링 시큐리티 필터 체인보다 먼저
+        bean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return bean;
+    }
+
+    static String endpointOf(HttpServletRequest req) {
+        return req.getMethod() + " " + ID_SEGMENT.matcher(req.getRequestURI()).replaceAll("/{id}");
+    }
+
+    // DiscordOAuth2UserService가 만드는 principal과 같은 모양 (name 속성 = 디스코드 id)
+    private static void login(String discordId, HttpServletRequest req) {
+        var authorities = AuthorityUtils.createAuthorityList("ROLE_USER");
+        DefaultOAuth2User user = new DefaultOAuth2User(authorities, Map.of("id", discordId), "id");
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new OAuth2AuthenticationToken(user, authorities, "discord"));
+        req.getSession(true).setAttribute(HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY, context);
+    }
+}
@@ -0,0 +1,246 @@
+package pbl_game_pot.game_pot.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import pbl_game_pot.game_pot.db.UserRepository;
+import pbl_game_pot.game_pot.db.UserTable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 실제 앱(내장 Tomcat, 보안 필터, JPA)을 띄우고 가상 유저 여럿이 /api/match/* 를 호출한다.
+ * 유저 1명 = 라운드마다 매칭 시작 → 현황 폴링(since) → (일부) 파티 생성 + 상태 조회 → 매칭 중단.
+ *
+ * - 스팀 검색 / 디스코드 봇은 {@link StubServer} (지연, 실패 비율 설정)
+ * - DB는 H2(MySQL 모드). 실제 MySQL로 돌리려면 -Dload.db.url=jdbc:mysql://… -Dload.db.username= -Dload.db.password=
+ * - 로그인은 {@link LoadTestSupport}가 만든 OAuth2 세션 쿠키
+ * - 결과: 콘솔 표 + build/reports/load/matching.json (엔드포인트별 req/s, p50/p99, 상태 코드, 요청당 SQL 수)
+ *
+ * 실행: ./gradlew loadTest --tests '*MatchingLoadTest' -Dload.users=500 -Dload.bot.failure-rate=0.2
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:load;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.security.oauth2.client.registration.discord.client-id=load-test",
+        "spring.security.oauth2.client.registration.discord.client-secret=load-test",
+        "spring.security.oauth2.client.registration.discord.authorization-grant-type=authorization_code",
+        "spring.security.oauth2.client.registration.discord.redirect-uri={baseUrl}/login/oauth2/code/{registrationId}",
+        "spring.security.oauth2.client.registration.discord.scope=identify,email",
+        "spring.security.oauth2.client.provider.discord.authorization-uri=http://127.0.0.1/oauth2/authorize",
+        "spring.security.oauth2.client.provider.discord.token-uri=http://127.0.0.1/api/oauth2/token",
+        "spring.security.oauth2.client.provider.discord.user-info-uri=http://127.0.0.1/api/users/@me",
+        "spring.security.oauth2.client.provider.discord.user-name-attribute=id",
+        "server.servlet.session.cookie.secure=false",
+        "app.frontend.origins=http://localhost:5173",
+        "app.frontend.success-redirect=http://localhost:5173/index.html",
+        // 한 인스턴스가 버티는 양을 재는 것이므로 유저별 요청 제한은 사실상 끈다
+        "app.ratelimit.user.per-second=1000",
+        "app.ratelimit.user.burst=1000",
+        "app.ratelimit.global.per-second=100000",
+        "app.ratelimit.global.burst=100000",
+        "app.http.steam.max-per-second=0"
+})
+@Import(LoadTestSupport.class)
+class MatchingLoadTest {
+
+    // -Dload.*로 바꿈 (./gradlew loadTest가 넘겨준다)
+    private static final int USERS = Integer.getInteger("load.users", 200);
+    private static final int ROUNDS = Integer.getInteger("load.rounds", 5);
+    private static final int POLLS = Integer.getInteger("load.polls", 3);
+    private static final int GAMES = Integer.getInteger("load.games", 20);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(Long.getLong("load.poll-interval-ms", 500));
+    private static final double PARTY_RATE = Double.parseDouble(System.getProperty("load.party-rate", "0.3"));
+    private static final Duration STEAM_LATENCY = Duration.ofMillis(Long.getLong("load.steam.latency-ms", 150));
+    private static final double STEAM_FAILURE_RATE = Double.parseDouble(System.getProperty("load.steam.failure-rate", "0"));
+    private static final Duration BOT_LATENCY = Duration.ofMillis(Long.getLong("load.bot.latency-ms", 300));
+    private static final double BOT_FAILURE_RATE = Double.parseDouble(System.getProperty("load.bot.failure-rate", "0.1"));
+
+    private static StubServer steam;
+    private static StubServer bot;
+
+    @DynamicPropertySource
+    static void stubsAndDatabase(DynamicPropertyRegistry registry) {
+        try {
+            steam = StubServer.steam(STEAM_LATENCY, STEAM_FAILURE_RATE);
+            bot = StubServer.bot(BOT_LATENCY, BOT_FAILURE_RATE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        registry.add("app.steam.store-search-url", () -> steam.url() + "storesearch/");
+        registry.add("app.steam.appdetails-url", () -> steam.url() + "appdetails");
+        registry.add("app.bot.api-url", bot::url);
+
+        String dbUrl = System.getProperty("load.db.url");
+        if (dbUrl != null) {
+            registry.add("spring.datasource.url", () -> dbUrl);
+            registry.add("spring.datasource.driver-class-name", () -> "com.mysql.cj.jdbc.Driver");
+            registry.add("spring.datasource.username", () -> System.getProperty("load.db.username", "root"));
+            registry.add("spring.datasource.password", () -> System.getProperty("load.db.password", ""));
+        }
+    }
+
+    @AfterAll
+    static void stopStubs() {
+        steam.close();
+        bot.close();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final LoadReport report = new LoadReport();
+
+    @Test
+    void matchingScenario() throws Exception {
+        List<String> cookies = signIn();
+        queryCounter.reset();
+
+        long start = System.nanoTime();
+        List<Future<?>> users = new ArrayList<>(USERS);
+        try (ExecutorService vus = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int u = 0; u < USERS; u++) {
+                String cookie = cookies.get(u);
+                users.add(vus.submit(() -> {
+                    play(cookie);
+                    return null;
+                }));
+            }
+        }
+        for (Future<?> f : users) f.get();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        Map<String, Long> queries = queryCounter.snapshot();
+        List<LoadReport.Row> rows = report.rows(elapsed, queries);
+        System.out.printf("가상 유저 %d명 x %d라운드, %.1f초 (스팀 %dms/%.0f%% 실패, 봇 %dms/%.0f%% 실패)%n",
+                USERS, ROUNDS, elapsed.toMillis() / 1000.0, STEAM_LATENCY.toMillis(), STEAM_FAILURE_RATE * 100,
+                BOT_LATENCY.toMillis(), BOT_FAILURE_RATE * 100);
+        LoadReport.print(rows, queries);
+        System.out.printf("stub 호출: 스팀 %d건(실패 %d), 봇 %d건(실패 %d)%n",
+                steam.calls(), steam.failures(), bot.calls(), bot.failures());
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("users", USERS);
+        summary.put("rounds", ROUNDS);
+        summary.put("elapsedMs", elapsed.toMillis());
+        summary.put("stubs", Map.of("steamLatencyMs", STEAM_LATENCY.toMillis(), "steamFailureRate", STEAM_FAILURE_RATE,
+                "botLatencyMs", BOT_LATENCY.toMillis(), "botFailureRate", BOT_FAILURE_RATE,
+                "steamCalls", steam.calls(), "botCalls", bot.calls()));
+        summary.put("endpoints", rows);
+        summary.put("backgroundQueries", queries.getOrDefault(QueryCounter.BACKGROUND, 0L));
+        LoadReport.write(Path.of("build/reports/load/matching.json"), summary);
+
+        // 스팀 실패를 주입하지 않았으면 서버 오류가 없어야 한다
+        if (STEAM_FAILURE_RATE == 0) {
+            assertThat(rows).allSatisfy(r -> assertThat(r.serverErrors()).as(r.endpoint()).isZero());
+        }
+    }
+
+    private List<String> signIn() throws Exception {
+        List<String> cookies = new ArrayList<>(USERS);
+        for (int u = 0; u < USERS; u++) {
+            String discordId = "load-" + u;
+            if (userRepository.findByDiscordId(discordId).isEmpty()) {
+                userRepository.save(UserTable.builder().discordId(discordId).username("load" + u)
+                        .displayName("Load " + u).build());
+            }
+            HttpResponse<Void> res = http.send(HttpRequest.newBuilder(
+                    uri(LoadTestSupport.LOGIN_PATH + "?discordId=" + discordId)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+            String cookie = res.headers().firstValue("Set-Cookie").orElseThrow();
+            cookies.add(cookie.substring(0, cookie.indexOf(';')));
+        }
+        return cookies;
+    }
+
+    private void play(String cookie) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int round = 0; round < ROUNDS; round++) {
+            String body = "{\"gameName\":\"loadgame-" + random.nextInt(GAMES) + "\"}";
+            HttpResponse<String> started = send("POST /api/match/start", cookie,
+                    post("/api/match/start", body));
+            if (started.statusCode() != 200) continue;
+            long gameId = json(started).path("gameId").asLong();
+
+            long version = 0;
+            for (int p = 0; p < POLLS; p++) {
+                Thread.sleep(POLL_INTERVAL.toMillis() / 2 + random.nextLong(POLL_INTERVAL.toMillis() + 1));
+                HttpResponse<String> status = send("GET /api/match/status/{id}", cookie,
+                        HttpRequest.newBuilder(uri("/api/match/status/" + gameId + "?since=" + version)).GET());
+                if (status.statusCode() == 200) version = json(status).path("v").asLong();
+            }
+
+            if (random.nextDouble() < PARTY_RATE) {
+                HttpResponse<String> party = send("POST /api/match/party", cookie,
+                        post("/api/match/party", "{\"gameId\":" + gameId + "}"));
+                if (party.statusCode() == 202) {
+                    send("GET /api/match/party/{id}", cookie, HttpRequest.newBuilder(
+                            uri("/api/match/party/" + json(party).path("partyId").asText())).GET());
+                }
+            }
+            send("POST /api/match/stop", cookie, post("/api/match/stop", ""));
+        }
+    }
+
+    private HttpResponse<String> send(String endpoint, String cookie, HttpRequest.Builder request) throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<String> res = http.send(request.header("Cookie", cookie).timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.ofString());
+        report.record(endpoint, res.statusCode(), System.nanoTime() - start);
+        return res;
+    }
+
+    private HttpRequest.Builder post(String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + port + path);
+    }
+
+    private JsonNode json(HttpResponse<String> res) throws IOException {
+        return objectMapper.readTree(res.body());
+    }
+}
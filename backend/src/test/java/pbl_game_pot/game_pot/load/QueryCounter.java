@@ -0,0 +1,45 @@
+package pbl_game_pot.game_pot.load;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hibernate가 실행하는 SQL 수를 요청 엔드포인트별로 센다 (네이티브 쿼리 포함).
+ * 요청 스레드 밖(대기열 저널, 파티 디스패처, 스케줄러)에서 나간 SQL은 BACKGROUND로 모은다.
+ */
+public class QueryCounter implements StatementInspector {
+
+    static final String BACKGROUND = "(background)";
+
+    private final ThreadLocal<String> endpoint = new ThreadLocal<>();
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public String inspect(String sql) {
+        String current = endpoint.get();
+        counts.computeIfAbsent(current != null ? current : BACKGROUND, k -> new LongAdder()).increment();
+        return sql;
+    }
+
+    void begin(String name) {
+        endpoint.set(name);
+    }
+
+    void end() {
+        endpoint.remove();
+    }
+
+    void reset() {
+        counts.clear();
+    }
+
+    Map<String, Long> snapshot() {
+        Map<String, Long> out = new TreeMap<>();
+        counts.forEach((k, v) -> out.put(k, v.sum()));
+        return out;
+    }
+}
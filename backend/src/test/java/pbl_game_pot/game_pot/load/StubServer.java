@@ -0,0 +1,96 @@
+package pbl_game_pot.game_pot.load;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 외부 서버(스팀 검색/게임 정보, 디스코드 봇) 대신 띄우는 로컬 HTTP 서버. 응답 지연과 실패 비율(503)을 실행 중에도 바꿀 수 있다.
+ */
+final class StubServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final String path;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private volatile Duration latency;
+    private volatile double failureRate;
+
+    private StubServer(String path, Duration latency, double failureRate, Function<HttpExchange, String> responder)
+            throws IOException {
+        this.path = path;
+        this.latency = latency;
+        this.failureRate = failureRate;
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext(path, exchange -> {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(this.latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            boolean fail = ThreadLocalRandom.current().nextDouble() < this.failureRate;
+            if (fail) failures.incrementAndGet();
+            byte[] body = (fail ? "{\"error\":\"stub failure\"}" : responder.apply(exchange))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(fail ? 503 : 200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    // store.steampowered.com/api/: storesearch는 검색어를 그대로 게임 이름으로, 해시를 app id로.
+    // appdetails는 고정된 헤더 이미지 / 장르
+    static StubServer steam(Duration latency, double failureRate) throws IOException {
+        return new StubServer("/api/", latency, failureRate, exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            if (exchange.getRequestURI().getPath().startsWith("/api/appdetails")) {
+                String appId = query.replaceAll(".*appids=([^&]*).*", "$1");
+                return "{\"" + appId + "\":{\"success\":true,\"data\":{\"header_image\":"
+                        + "\"https://example.invalid/" + appId + "/header.jpg\",\"genres\":[{\"id\":\"1\",\"description\":\"액션\"}]}}}";
+            }
+            String term = query.replaceAll(".*term=([^&]*).*", "$1");
+            long id = 1_000_000L + Math.abs((long) term.hashCode() % 1_000_000L);
+            return "{\"total\":1,\"items\":[{\"id\":" + id + ",\"name\":\"" + term + "\"}]}";
+        });
+    }
+
+    // 봇 서버 /api/create-party
+    static StubServer bot(Duration latency, double failureRate) throws IOException {
+        return new StubServer("/api/create-party", latency, failureRate,
+                exchange -> "{\"inviteLink\":\"https://discord.gg/load-test\"}");
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    void configure(Duration latency, double failureRate) {
+        this.latency = latency;
+        this.failureRate = failureRate;
+    }
+
+    int calls() {
+        return calls.get();
+    }
+
+    int failures() {
+        return failures.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
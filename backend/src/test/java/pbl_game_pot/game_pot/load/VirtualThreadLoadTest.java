@@ -0,0 +1,132 @@
+package pbl_game_pot.game_pot.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import pbl_game_pot.game_pot.config.AppConfig;
+import pbl_game_pot.game_pot.db.GameAliasRepository;
+import pbl_game_pot.game_pot.service.GameIndexService;
+import pbl_game_pot.game_pot.service.SteamApiService;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 느린 스팀(stub, 응답 150ms)을 상대로 플랫폼 스레드 모드와 가상 스레드 모드의 처리량 / p99를 비교한다.
+ * 요청 스레드는 Tomcat 기본값(200개) 고정 풀 vs 요청마다 가상 스레드. 스팀 호출은 실제 steamRestTemplate(커넥션 풀 + bulkhead)을 탄다.
+ *
+ * 실행: ./gradlew loadTest  (기본 test 태스크에서는 제외)
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final int REQUESTS = 3_000;
+    private static final int TOMCAT_THREADS = 200;
+    private static final int STEAM_DELAY_MS = 150;
+
+    private static HttpServer steam;
+    private static final AtomicInteger steamCalls = new AtomicInteger();
+
+    record Result(String mode, double throughput, long p50Ms, long p99Ms) {}
+
+    @BeforeAll
+    static void startSteamStub() throws Exception {
+        steam = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        steam.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        steam.createContext("/api/storesearch/", exchange -> {
+            steamCalls.incrementAndGet();
+            try {
+                Thread.sleep(STEAM_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            int id = Math.abs(exchange.getRequestURI().getRawQuery().hashCode());
+            byte[] body = ("{\"total\":1,\"items\":[{\"id\":" + id + ",\"name\":\"Game " + id + "\"}]}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        steam.start();
+    }
+
+    @AfterAll
+    static void stopSteamStub() {
+        steam.stop(0);
+    }
+
+    @Test
+    void virtualThreadsKeepThroughputUnderSlowSteam() throws Exception {
+        Result platform = run("platform", Executors.newFixedThreadPool(TOMCAT_THREADS), false);
+        Result virtual = run("virtual", Executors.newVirtualThreadPerTaskExecutor(), true);
+
+        System.out.printf("%-8s %10s %8s %8s%n", "mode", "req/s", "p50(ms)", "p99(ms)");
+        for (Result r : List.of(platform, virtual)) {
+            System.out.printf("%-8s %10.0f %8d %8d%n", r.mode(), r.throughput(), r.p50Ms(), r.p99Ms());
+        }
+
+        assertThat(virtual.throughput()).isGreaterThan(platform.throughput());
+        assertThat(virtual.p99Ms()).isLessThan(platform.p99Ms());
+    }
+
+    private Result run(String mode, ExecutorService requestThreads, boolean virtualThreads) throws Exception {
+        MockEnvironment env = new MockEnvironment()
+                .withProperty("app.http.steam.max-connections", "1000")
+                .withProperty("app.http.steam.max-concurrent", "1000")
+                .withProperty("app.http.steam.acquire-timeout", "10s")
+                .withProperty("app.http.steam.read-timeout", "10s")
+                .withProperty("app.http.steam.retries", "0");
+        AppConfig http = new AppConfig();
+        GameAliasRepository aliases = mock(GameAliasRepository.class);
+        when(aliases.findById(anyString())).thenReturn(Optional.empty());
+        SteamApiService service = new SteamApiService(
+                http.steamRestTemplate(env, new SimpleMeterRegistry()), new ObjectMapper(), aliases,
+                mock(GameIndexService.class), new SimpleMeterRegistry(), 100_000, Duration.ofHours(1), Duration.ofMinutes(1),
+                "http://127.0.0.1:" + steam.getAddress().getPort() + "/api/storesearch/", virtualThreads);
+
+        long[] latencies = new long[REQUESTS];
+        List<Future<?>> futures = new ArrayList<>(REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            int n = i;
+            long submitted = System.nanoTime();
+            futures.add(requestThreads.submit(() -> {
+                // 매번 다른 게임 이름 → 캐시 miss → 스팀 호출
+                assertThat(service.findGameOnSteam(mode + "-game-" + n)).isNotNull();
+                latencies[n] = System.nanoTime() - submitted;
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        long elapsed = System.nanoTime() - start;
+
+        requestThreads.shutdown();
+        service.shutdown();
+        http.closeClients();
+
+        Arrays.sort(latencies);
+        return new Result(mode,
+                REQUESTS / (elapsed / 1e9),
+                latencies[REQUESTS / 2] / 1_000_000,
+                latencies[(int) (REQUESTS * 0.99)] / 1_000_000);
+    }
+}
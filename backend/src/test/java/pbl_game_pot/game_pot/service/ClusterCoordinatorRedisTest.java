@@ -0,0 +1,131 @@
+package pbl_game_pot.game_pot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import pbl_game_pot.game_pot.config.RedisClusterBroker;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+
+/**
+ * {@link ClusterCoordinatorTest}와 같은 흐름을 실제 Redis pub/sub({@link RedisClusterBroker})으로 돌린다.
+ * 노드마다 브로커(Redis 연결)를 따로 둔다. Docker가 없으면 건너뛰고, -PskipRedis로 뺄 수 있다.
+ */
+@Tag("redis")
+@Testcontainers(disabledWithoutDocker = true)
+class ClusterCoordinatorRedisTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(10);
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    // 테스트마다 채널을 나눠 앞 테스트의 늦은 메시지가 섞이지 않게
+    private final String channel = "game-pot:test:" + UUID.randomUUID();
+    private final List<Node> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(n -> {
+            n.coordinator.shutdown();
+            n.broker.close();
+        });
+    }
+
+    @Test
+    void joinsMovesAndReadsGoThroughTheOwnerOverRedis() {
+        Node a = startNode("node-a");
+        Node b = startNode("node-b");
+        awaitMembers(2);
+
+        long gameOnA = gameOwnedBy(a);
+        long gameOnB = gameOwnedBy(b);
+
+        join(a, 1L, gameOnA);
+        join(b, 2L, gameOnA);
+        await().atMost(WAIT).until(() -> a.engine.size(gameOnA) == 2);
+        assertThat(b.engine.size(gameOnA)).isZero();
+
+        // 요청/응답도 Redis를 거친다
+        QueueSlice slice = b.coordinator.snapshot(gameOnA, 0, 10);
+        assertThat(slice.entries()).extracting(QueueEntry::userId).containsExactly(1L, 2L);
+
+        join(a, 1L, gameOnB);
+        await().atMost(WAIT).until(() -> b.engine.size(gameOnB) == 1 && a.engine.size(gameOnA) == 1);
+        assertThat(a.engine.findByUser(1L)).isEmpty();
+    }
+
+    @Test
+    void queuesMoveToNewOwnerWhenNodeJoinsOverRedis() {
+        Node a = startNode("node-a");
+        for (long u = 1; u <= 40; u++) {
+            join(a, u, 100L + (u % 8));
+        }
+
+        Node b = startNode("node-b");
+        awaitMembers(2);
+
+        await().atMost(WAIT).until(() -> a.engine.totalWaiting() + b.engine.totalWaiting() == 40
+                && a.engine.activeGameIds().stream().allMatch(a.coordinator::ownsGame)
+                && b.engine.activeGameIds().stream().allMatch(b.coordinator::ownsGame));
+        assertThat(b.engine.totalWaiting()).isPositive();
+    }
+
+    private Node startNode(String nodeId) {
+        Node node = new Node(nodeId);
+        node.coordinator.start();
+        nodes.add(node);
+        return node;
+    }
+
+    private void awaitMembers(int expected) {
+        for (Node n : nodes) {
+            n.coordinator.heartbeat();
+        }
+        await().atMost(WAIT).until(() -> nodes.stream().allMatch(n -> n.coordinator.members().size() == expected));
+    }
+
+    private long gameOwnedBy(Node node) {
+        long gameId = 1;
+        while (!node.coordinator.ownsGame(gameId)) gameId++;
+        return gameId;
+    }
+
+    private static void join(Node node, long userId, long gameId) {
+        node.coordinator.join(userId, gameId, "d" + userId, "u" + userId, "U" + userId, null, null);
+    }
+
+    private final class Node {
+        final RedisClusterBroker broker;
+        final MatchmakingEngine engine;
+        final ClusterCoordinator coordinator;
+        private ClusterCoordinator self;
+
+        Node(String nodeId) {
+            this.broker = new RedisClusterBroker(
+                    "redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379), channel);
+            MatchingQueueJournal journal = mock(MatchingQueueJournal.class);
+            this.engine = new MatchmakingEngine(journal, event -> {
+                if (self != null && event instanceof MatchingQueueEvent e) self.onQueueEvent(e);
+            });
+            this.coordinator = new ClusterCoordinator(broker, engine, journal, mock(PartyMatcher.class),
+                    mock(MatchingStatusBroadcaster.class), mock(UserIdentityCache.class), objectMapper, nodeId,
+                    1000, Duration.ofSeconds(30), Duration.ofSeconds(2), false);
+            this.self = coordinator;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package pbl_game_pot.game_pot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import pbl_game_pot.game_pot.config.InMemoryClusterBroker;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 한 JVM 안에 노드 여러 개를 띄우고 같은 브로커(로컬 대체)로 묶어서 클러스터 동작을 확인한다.
+ */
+class ClusterCoordinatorTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private final InMemoryClusterBroker broker = new InMemoryClusterBroker();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<Node> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(n -> n.coordinator.shutdown());
+        broker.close();
+    }
+
+    @Test
+    void usersJoiningThroughDifferentNodesEndUpInTheSameParty() {
+        Node a = startNode("node-a");
+        Node b = startNode("node-b");
+        awaitMembers(a, b);
+
+        long gameId = 100L;
+        Node owner = a.coordinator.ownsGame(gameId) ? a : b;
+        Node other = owner == a ? b : a;
+
+        join(owner, 1L, gameId);
+        join(other, 2L, gameId);
+        join(other, 3L, gameId);
+        join(owner, 4L, gameId);
+
+        await().atMost(WAIT).until(() -> owner.engine.size(gameId) == 4);
+        assertThat(other.engine.size(gameId)).isZero();
+
+        List<QueueEntry> party = owner.engine.pollParty(gameId, 4);
+        assertThat(party).extracting(QueueEntry::userId).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void nonOwnerReadsQueueFromOwnerAndSwitchingGamesLeavesOldQueue() {
+        Node a = startNode("node-a");
+        Node b = startNode("node-b");
+        awaitMembers(a, b);
+
+        long gameOnA = gameOwnedBy(a);
+        long gameOnB = gameOwnedBy(b);
+
+        join(a, 1L, gameOnA);
+        join(b, 2L, gameOnA);
+        await().atMost(WAIT).until(() -> a.engine.size(gameOnA) == 2);
+
+        QueueSlice slice = b.coordinator.snapshot(gameOnA, 0, 10);
+        assertThat(slice.total()).isEqualTo(2);
+        assertThat(slice.entries()).extracting(QueueEntry::userId).containsExactly(1L, 2L);
+
+        // 유저 1이 B 담당 게임으로 옮기면 A의 대기열에서는 빠져야 한다
+        join(a, 1L, gameOnB);
+        await().atMost(WAIT).until(() -> b.engine.size(gameOnB) == 1 && a.engine.size(gameOnA) == 1);
+        assertThat(a.engine.findByUser(1L)).isEmpty();
+        // 옮겨 간 쪽은 저널 행을 지우지 않고(새 담당 노드가 덮어씀) 이탈로도 세지 않는다
+        verify(a.journal, never()).recordLeave(anyLong(), anyLong());
+        assertThat(a.events).filteredOn(e -> e.userId() == 1L).extracting(MatchingQueueEvent::type)
+                .containsExactly(MatchingQueueEvent.Type.JOIN, MatchingQueueEvent.Type.MOVED);
+
+        // 변경분도 담당 노드(A)에서 받아 온다
+        QueueChanges changes = b.coordinator.changesSince(gameOnA, slice.version());
+        assertThat(changes.reset()).isFalse();
+        assertThat(changes.left()).extracting(QueueEntry::userId).containsExactly(1L);
+    }
+
+    @Test
+    void queuesMoveToNewOwnerWhenNodeJoins() {
+        Node a = startNode("node-a");
+        for (long u = 1; u <= 40; u++) {
+            join(a, u, 100L + (u % 8));
+        }
+        assertThat(a.engine.totalWaiting()).isEqualTo(40);
+
+        Node b = startNode("node-b");
+        awaitMembers(a, b);
+
+        await().atMost(WAIT).until(() -> a.engine.totalWaiting() + b.engine.totalWaiting() == 40
+                && a.engine.activeGameIds().stream().allMatch(a.coordinator::ownsGame)
+                && b.engine.activeGameIds().stream().allMatch(b.coordinator::ownsGame));
+        assertThat(b.engine.totalWaiting()).isPositive();
+    }
+
+    @Test
+    void profileRefreshedOnOneNodeIsEvictedFromTheOthers() {
+        Node a = startNode("node-a");
+        Node b = startNode("node-b");
+        awaitMembers(a, b);
+
+        a.coordinator.onUserProfileChanged(new UserProfileChangedEvent("d1"));
+
+        await().atMost(WAIT).untilAsserted(() -> verify(b.userIdentityCache).evict("d1"));
+        verify(a.userIdentityCache, never()).evict(anyString());
+    }
+
+    private Node startNode(String nodeId) {
+        Node node = new Node(nodeId);
+        node.coordinator.start();
+        nodes.add(node);
+        return node;
+    }
+
+    private void awaitMembers(Node... expected) {
+        for (Node n : nodes) {
+            n.coordinator.heartbeat();
+        }
+        await().atMost(WAIT).until(() -> nodes.stream().allMatch(n -> n.coordinator.members().size() == expected.length));
+    }
+
+    private long gameOwnedBy(Node node) {
+        long gameId = 1;
+        while (!node.coordinator.ownsGame(gameId)) gameId++;
+        return gameId;
+    }
+
+    private static void join(Node node, long userId, long gameId) {
+        node.coordinator.join(userId, gameId, "d" + userId, "u" + userId, "U" + userId, null, null);
+    }
+
+    private final class Node {
+        final MatchingQueueJournal journal = mock(MatchingQueueJournal.class);
+        final UserIdentityCache userIdentityCache = mock(UserIdentityCache.class);
+        final List<MatchingQueueEvent> events = new CopyOnWriteArrayList<>();
+        final MatchmakingEngine engine;
+        final ClusterCoordinator coordinator;
+        private ClusterCoordinator self;
+
+        Node(String nodeId) {
+            // 스프링처럼 엔진 이벤트를 코디네이터에 전달 (다른 노드 SSE로 퍼뜨리는 경로)
+            this.engine = new MatchmakingEngine(journal, event -> {
+                if (!(event instanceof MatchingQueueEvent e)) return;
+                events.add(e);
+                if (self != null) self.onQueueEvent(e);
+            });
+            this.coordinator = new ClusterCoordinator(broker, engine, journal, mock(PartyMatcher.class),
+                    mock(MatchingStatusBroadcaster.class), userIdentityCache, objectMapper, nodeId,
+                    1000, Duration.ofSeconds(30), Duration.ofSeconds(2), false);
+            this.self = coordinator;
+        }
+    }
+}
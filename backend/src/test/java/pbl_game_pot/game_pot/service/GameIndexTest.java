@@ -0,0 +1,79 @@
+package pbl_game_pot.game_pot.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameIndexTest {
+
+    private final GameIndex index = GameIndex.builder()
+            .add(578080L, "PUBG: BATTLEGROUNDS", "배그", "배틀그라운드")
+            .add(1245620L, "ELDEN RING", "엘든링")
+            .add(1966720L, "Lethal Company", "리썰", "리썰컴퍼니")
+            .add(1517290L, "Battlefield 2042", "배필", "배틀필드")
+            .add(999002L, "VALORANT", "발로란트", "발로")
+            .build();
+
+    @Test
+    void exactKoreanAliasAndSpacingVariantsResolve() {
+        assertThat(index.resolve("배그").steamAppId()).isEqualTo(578080L);
+        assertThat(index.resolve("리썰 컴퍼니").steamAppId()).isEqualTo(1966720L);
+        assertThat(index.resolve("pubg battlegrounds").steamAppId()).isEqualTo(578080L);
+    }
+
+    @Test
+    void shortPrefixIsOnlySuggestedButCloseTypoResolves() {
+        assertThat(index.resolve("leth")).isNull();
+        assertThat(index.resolve("eld")).isNull();
+        assertThat(index.suggest("leth", 3).get(0).entry().steamAppId()).isEqualTo(1966720L);
+
+        assertThat(index.resolve("lethal companny").steamAppId()).isEqualTo(1966720L);
+    }
+
+    @Test
+    void typoIsToleratedForSuggestions() {
+        assertThat(index.search("elden rnig", 3))
+                .extracting(h -> h.entry().steamAppId())
+                .first().isEqualTo(1245620L);
+        assertThat(index.search("리썰컴퍼ㄴ", 3))
+                .extracting(h -> h.entry().steamAppId())
+                .contains(1966720L);
+    }
+
+    @Test
+    void prefixReturnsRankedSuggestions() {
+        assertThat(index.search("배", 5))
+                .extracting(h -> h.entry().steamAppId())
+                .containsExactlyInAnyOrder(578080L, 1517290L);
+        assertThat(index.search("발로", 5).get(0).score()).isEqualTo(1.0);
+    }
+
+    @Test
+    void ambiguousOrUnknownInputIsNotResolved() {
+        assertThat(index.resolve("배틀필드 1")).isNull();
+        assertThat(index.resolve("minecraft dungeons")).isNull();
+        assertThat(index.search("", 5)).isEmpty();
+    }
+
+    @Test
+    void suggestUsesPrecomputedTopKWithExactMatchFirst() {
+        assertThat(index.suggest("배", 5))
+                .extracting(h -> h.entry().steamAppId())
+                .containsExactly(578080L, 1517290L);
+        assertThat(index.suggest("배필", 5).get(0).entry().steamAppId()).isEqualTo(1517290L);
+        assertThat(index.suggest("배필", 5).get(0).score()).isEqualTo(1.0);
+        assertThat(index.suggest("x", 5)).isEmpty();
+    }
+
+    @Test
+    void suggestFallsBackToFuzzyAndLongPrefixSearch() {
+        // 트라이 깊이보다 긴 입력
+        assertThat(index.suggest("lethal comp", 3))
+                .extracting(h -> h.entry().steamAppId())
+                .first().isEqualTo(1966720L);
+        // 접두어로는 없고 오타 허용으로만 찾는 입력
+        assertThat(index.suggest("eldn", 3))
+                .extracting(h -> h.entry().steamAppId())
+                .contains(1245620L);
+    }
+}
@@ -0,0 +1,143 @@
+package pbl_game_pot.game_pot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import pbl_game_pot.game_pot.db.GameMetadata;
+import pbl_game_pot.game_pot.db.GameMetadataRepository;
+import pbl_game_pot.game_pot.db.GameRepository;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GameMetadataServiceTest {
+
+    private static final String PUBG_JSON = "{\"578080\":{\"success\":true,\"data\":{"
+            + "\"header_image\":\"https://cdn.example/578080/header.jpg\","
+            + "\"genres\":[{\"id\":\"1\",\"description\":\"액션\"},{\"id\":\"25\",\"description\":\"어드벤처\"}]}}}";
+    private static final String PUBG_JSON_V2 = PUBG_JSON.replace("어드벤처", "대규모 멀티플레이어");
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final GameMetadataRepository metadataRepository = mock(GameMetadataRepository.class);
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private GameMetadataService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) service.shutdown();
+    }
+
+    @Test
+    void nonSteamGameUsesBundledFile() {
+        service = newService(Duration.ofHours(6));
+
+        GameMetadataService.GameMeta lol = awaitMeta(999001L);
+
+        assertThat(lol.maxPartySize()).isEqualTo(5);
+        assertThat(lol.genres()).contains("MOBA");
+        verify(restTemplate, never()).exchange(any(URI.class), any(HttpMethod.class), any(HttpEntity.class), eq(String.class));
+        verify(metadataRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void fetchesFromSteamOnceAndStoresGenresInOneColumn() {
+        service = newService(Duration.ofHours(6));
+        when(metadataRepository.findById(578080L)).thenReturn(Optional.empty());
+        stubSteam(PUBG_JSON);
+
+        GameMetadataService.GameMeta meta = awaitMeta(578080L);
+        assertThat(service.peek(578080L)).isEqualTo(meta);
+
+        assertThat(meta.headerImage()).isEqualTo("https://cdn.example/578080/header.jpg");
+        assertThat(meta.genres()).containsExactly("액션", "어드벤처");
+        ArgumentCaptor<GameMetadata> saved = ArgumentCaptor.forClass(GameMetadata.class);
+        verify(metadataRepository).save(saved.capture());
+        assertThat(saved.getValue().getGenres()).isEqualTo("액션|어드벤처");
+        verifySteamCalls(1);
+    }
+
+    @Test
+    void staleRowIsServedWhenSteamFails() {
+        service = newService(Duration.ofHours(6));
+        when(metadataRepository.findById(578080L)).thenReturn(Optional.of(GameMetadata.builder()
+                .steamAppId(578080L)
+                .headerImage("https://cdn.example/old.jpg")
+                .genres("액션")
+                .fetchedAt(LocalDateTime.now().minusDays(3))
+                .build()));
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("timeout"));
+
+        GameMetadataService.GameMeta meta = awaitMeta(578080L);
+
+        assertThat(meta.headerImage()).isEqualTo("https://cdn.example/old.jpg");
+        verify(metadataRepository, never()).save(any());
+    }
+
+    @Test
+    void refreshesAheadWhileServingPreviousValue() throws InterruptedException {
+        service = newService(Duration.ofMillis(50));
+        when(metadataRepository.findById(578080L)).thenReturn(Optional.empty());
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok(PUBG_JSON))
+                .thenReturn(ResponseEntity.ok(PUBG_JSON_V2));
+
+        assertThat(awaitMeta(578080L).genres()).contains("어드벤처");
+        Thread.sleep(100);
+
+        // 갱신 시점이 지난 첫 조회도 이전 값을 바로 받는다
+        assertThat(service.peek(578080L).genres()).contains("어드벤처");
+        long deadline = System.currentTimeMillis() + 2_000;
+        while (!service.peek(578080L).genres().contains("대규모 멀티플레이어")
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(service.peek(578080L).genres()).containsExactly("액션", "대규모 멀티플레이어");
+        verify(restTemplate, times(2)).exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class));
+    }
+
+    private GameMetadataService newService(Duration refreshAfter) {
+        return new GameMetadataService(restTemplate, new ObjectMapper(), metadataRepository, gameRepository,
+                new SimpleMeterRegistry(), 100, refreshAfter, Duration.ofHours(24), Duration.ofMinutes(10),
+                "https://store.steampowered.com/api/appdetails", false);
+    }
+
+    // 첫 조회는 로딩만 걸고 null일 수 있으므로 준비될 때까지 다시 본다
+    private GameMetadataService.GameMeta awaitMeta(Long steamAppId) {
+        long deadline = System.currentTimeMillis() + 2_000;
+        GameMetadataService.GameMeta meta;
+        while ((meta = service.peek(steamAppId)) == null && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(meta).isNotNull();
+        return meta;
+    }
+
+    private void stubSteam(String json) {
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok(json));
+    }
+
+    private void verifySteamCalls(int times) {
+        verify(restTemplate, times(times)).exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class));
+    }
+}
@@ -0,0 +1,128 @@
+package pbl_game_pot.game_pot.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameQueueTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 1, 12, 0);
+    private static final MatchPolicy POLICY = new MatchPolicy(1, Duration.ofSeconds(30), 10, 64);
+
+    private final GameQueue queue = new GameQueue();
+    private long seq;
+
+    @Test
+    void withoutAttributesPartiesAreFormedInJoinOrder() {
+        for (long u = 1; u <= 5; u++) add(u, MatchAttributes.NONE, T0);
+
+        assertThat(queue.pollGroup(2, POLICY, T0)).extracting(QueueEntry::userId).containsExactly(1L, 2L);
+        assertThat(queue.pollGroup(2, POLICY, T0)).extracting(QueueEntry::userId).containsExactly(3L, 4L);
+        assertThat(queue.pollGroup(2, POLICY, T0)).isEmpty();
+        assertThat(queue.values()).extracting(QueueEntry::userId).containsExactly(5L);
+    }
+
+    @Test
+    void regionAndLanguageMustAgreeAndWildcardsTakeTheFirstConcreteValue() {
+        add(1L, new MatchAttributes(null, "KR", "ko", null), T0);
+        add(2L, new MatchAttributes(null, "na", "en", null), T0);
+        add(3L, MatchAttributes.NONE, T0);
+        add(4L, new MatchAttributes(null, "kr", null, null), T0);
+
+        // 1(kr/ko) + 3(상관없음) + 4(kr/상관없음). 2(na/en)는 남는다
+        assertThat(queue.pollGroup(3, POLICY, T0)).extracting(QueueEntry::userId).containsExactly(1L, 3L, 4L);
+        assertThat(queue.pollGroup(2, POLICY, T0)).isEmpty();
+        assertThat(queue.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rankWindowWidensWithWaitTime() {
+        add(1L, new MatchAttributes(2, null, null, null), T0);
+        add(2L, new MatchAttributes(6, null, null, null), T0);
+
+        // 처음에는 ±1이라 2와 6은 안 맞고, 60초 기다려도 ±3
+        assertThat(queue.pollGroup(2, POLICY, T0.plusSeconds(10))).isEmpty();
+        assertThat(queue.pollGroup(2, POLICY, T0.plusSeconds(60))).isEmpty();
+        // 90초부터 ±4까지 넓어져서 매칭
+        assertThat(queue.pollGroup(2, POLICY, T0.plusSeconds(90)))
+                .extracting(QueueEntry::userId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void partySizePreferenceOnlyGroupsWithSameSizeOrNoPreference() {
+        add(1L, new MatchAttributes(null, null, null, 2), T0);
+        add(2L, new MatchAttributes(null, null, null, 5), T0);
+        add(3L, MatchAttributes.NONE, T0);
+
+        // 1번 기준 2인 파티: 5인 희망(2번)은 빼고 3번과
+        assertThat(queue.pollGroup(5, POLICY, T0)).extracting(QueueEntry::userId).containsExactly(1L, 3L);
+        assertThat(queue.pollGroup(5, POLICY, T0)).isEmpty();
+    }
+
+    @Test
+    void removedEntriesAreDroppedFromTheIndex() {
+        QueueEntry first = add(1L, new MatchAttributes(3, "kr", null, null), T0);
+        add(2L, new MatchAttributes(3, "kr", null, null), T0);
+
+        assertThat(queue.remove(1L, first)).isTrue();
+        assertThat(queue.pollGroup(2, POLICY, T0)).isEmpty();
+
+        add(3L, new MatchAttributes(4, "kr", null, null), T0);
+        assertThat(queue.pollGroup(2, POLICY, T0)).extracting(QueueEntry::userId).containsExactly(2L, 3L);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    void requeuedEntryGoesBackToItsOriginalPlace() {
+        add(1L, MatchAttributes.NONE, T0.plusSeconds(10));
+        add(2L, MatchAttributes.NONE, T0.plusSeconds(30));
+        add(3L, MatchAttributes.NONE, T0.plusSeconds(20));     // 파티 생성에 실패해 되돌아온 유저
+
+        assertThat(queue.values()).extracting(QueueEntry::userId).containsExactly(1L, 3L, 2L);
+        assertThat(queue.pollGroup(2, POLICY, T0.plusMinutes(1))).extracting(QueueEntry::userId)
+                .containsExactly(1L, 3L);
+    }
+
+    @Test
+    void changesSinceReportsNetJoinsAndLeaves() {
+        QueueEntry first = add(1L, MatchAttributes.NONE, T0);
+        add(2L, MatchAttributes.NONE, T0);
+        long since = queue.version();
+
+        QueueEntry third = add(3L, MatchAttributes.NONE, T0);
+        queue.remove(1L, first);
+        add(4L, MatchAttributes.NONE, T0);
+        queue.remove(3L, third);   // since 이후에 들어왔다 나감 → 보내지 않음
+
+        QueueChanges changes = queue.changesSince(since);
+        assertThat(changes.reset()).isFalse();
+        assertThat(changes.version()).isEqualTo(queue.version());
+        assertThat(changes.joined()).extracting(QueueEntry::userId).containsExactly(4L);
+        assertThat(changes.left()).extracting(QueueEntry::userId).containsExactly(1L);
+        assertThat(changes.total()).isEqualTo(2);
+
+        QueueChanges none = queue.changesSince(queue.version());
+        assertThat(none.joined()).isEmpty();
+        assertThat(none.left()).isEmpty();
+    }
+
+    @Test
+    void changesSinceNeedsResetOnceTheLogNoLongerCoversTheVersion() {
+        long since = queue.version();
+        for (long u = 1; u <= GameQueue.CHANGE_LOG_SIZE + 1; u++) add(u, MatchAttributes.NONE, T0);
+
+        assertThat(queue.changesSince(since)).isNull();
+        assertThat(queue.changesSince(queue.version() + 1)).isNull();
+        assertThat(queue.changesSince(queue.version() - 1).joined()).hasSize(1);
+    }
+
+    private QueueEntry add(Long userId, MatchAttributes attributes, LocalDateTime createdAt) {
+        QueueEntry entry = new QueueEntry(++seq, userId, 100L, "d" + userId, "user" + userId,
+                "User " + userId, null, null, createdAt, attributes);
+        queue.add(entry);
+        return entry;
+    }
+}
@@ -0,0 +1,53 @@
+package pbl_game_pot.game_pot.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotGamesRankingTest {
+
+    @Test
+    void ranksByWaitingThenGameId() {
+        HotGamesRanking ranking = new HotGamesRanking();
+        ranking.update(1L, 3);
+        ranking.update(2L, 5);
+        ranking.update(3L, 3);
+        ranking.update(2L, 1);
+
+        assertThat(ranking.top(10)).containsExactly(new HotGame(1L, 3), new HotGame(3L, 3), new HotGame(2L, 1));
+
+        ranking.update(1L, 0);
+        assertThat(ranking.top(10)).containsExactly(new HotGame(3L, 3), new HotGame(2L, 1));
+        assertThat(ranking.tracked()).isEqualTo(2);
+    }
+
+    @Test
+    void boundedRankingEvictsTheTailOnlyForBiggerGames() {
+        HotGamesRanking ranking = new HotGamesRanking(2);
+        ranking.update(1L, 5);
+        ranking.update(2L, 2);
+
+        ranking.update(3L, 1);          // 꼴찌(2명)보다 적음 → 추적 안 함
+        assertThat(ranking.top(10)).containsExactly(new HotGame(1L, 5), new HotGame(2L, 2));
+
+        ranking.update(3L, 4);          // 인원이 바뀌면 다시 비교 → 꼴찌를 내보냄
+        assertThat(ranking.top(10)).containsExactly(new HotGame(1L, 5), new HotGame(3L, 4));
+        assertThat(ranking.tracked()).isEqualTo(2);
+
+        ranking.update(2L, 0);          // 이미 빠진 게임이 0이 돼도 문제없음
+        assertThat(ranking.tracked()).isEqualTo(2);
+    }
+
+    @Test
+    void remoteSizesAreMergedIntoOneTopList() {
+        List<HotGame> nodeA = HotGamesRanking.topOf(Map.of(1L, 9, 2L, 1, 3L, 4, 4L, 0), 2);
+        assertThat(nodeA).containsExactly(new HotGame(1L, 9), new HotGame(3L, 4));
+
+        List<HotGame> nodeB = List.of(new HotGame(5L, 6), new HotGame(3L, 7)); // 3번은 담당 노드 이동 중
+        assertThat(HotGamesRanking.merge(List.of(nodeA, nodeB), 3))
+                .containsExactly(new HotGame(1L, 9), new HotGame(3L, 7), new HotGame(5L, 6));
+    }
+}
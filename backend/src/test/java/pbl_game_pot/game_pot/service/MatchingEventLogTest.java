@@ -0,0 +1,55 @@
+package pbl_game_pot.game_pot.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import pbl_game_pot.game_pot.db.MatchingEvent;
+import pbl_game_pot.game_pot.db.MatchingEventRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class MatchingEventLogTest {
+
+    private final MatchingRollupAggregator aggregator = mock(MatchingRollupAggregator.class);
+    private final MatchingEventLog eventLog = new MatchingEventLog(mock(MatchingEventRepository.class), aggregator,
+            mock(PlatformTransactionManager.class), new SimpleMeterRegistry(), 100, 10, Duration.ofDays(30), 1000);
+    private final MatchmakingEngine engine = new MatchmakingEngine(mock(MatchingQueueJournal.class),
+            event -> {
+                if (event instanceof MatchingQueueEvent e) eventLog.onQueueEvent(e);
+            });
+
+    @Test
+    void failedPartyIsNotCountedAsMatchOrSecondArrival() {
+        join(1L);
+        join(2L);
+        engine.requeue(engine.pollParty(100L, 2));     // 봇이 거절해서 되돌아옴
+        engine.pollParty(100L, 2);
+        eventLog.onPartyEvent(new MatchingPartyEvent("p1", 100L, List.of("u1", "u2"), null,
+                Map.of(1L, 30_000, 2L, 10_000)));
+
+        ArgumentCaptor<MatchingEvent> recorded = ArgumentCaptor.forClass(MatchingEvent.class);
+        verify(aggregator, atLeastOnce()).record(recorded.capture());
+        assertThat(recorded.getAllValues()).extracting(MatchingEvent::getType, MatchingEvent::getUserId)
+                .containsExactlyInAnyOrder(
+                        tuple(MatchingEvent.Type.JOIN, 1L),
+                        tuple(MatchingEvent.Type.JOIN, 2L),
+                        tuple(MatchingEvent.Type.MATCHED, 1L),
+                        tuple(MatchingEvent.Type.MATCHED, 2L),
+                        tuple(MatchingEvent.Type.PARTY, null));
+        assertThat(recorded.getAllValues()).filteredOn(e -> e.getType() == MatchingEvent.Type.MATCHED)
+                .extracting(MatchingEvent::getWaitMs).containsExactlyInAnyOrder(30_000, 10_000);
+    }
+
+    private void join(long userId) {
+        engine.join(userId, 100L, "d" + userId, "u" + userId, "U" + userId, null, null);
+    }
+}
@@ -0,0 +1,81 @@
+package pbl_game_pot.game_pot.service;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import pbl_game_pot.game_pot.db.MatchingEvent;
+import pbl_game_pot.game_pot.db.MatchingRollup;
+import pbl_game_pot.game_pot.db.MatchingRollupRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class MatchingRollupAggregatorTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2026, 3, 2, 21, 14, 30);
+
+    private final MatchingRollupRepository repository = mock(MatchingRollupRepository.class);
+    private final MatchingRollupAggregator aggregator = new MatchingRollupAggregator(repository,
+            mock(PlatformTransactionManager.class), Duration.ofDays(7), 1000);
+
+    @Test
+    void eventsAreAddedToMinuteAndHourBuckets() {
+        aggregator.record(event(MatchingEvent.Type.JOIN, T, null));
+        aggregator.record(event(MatchingEvent.Type.JOIN, T.plusSeconds(10), null));
+        aggregator.record(event(MatchingEvent.Type.MATCHED, T.plusMinutes(1), 60_000));
+        aggregator.record(event(MatchingEvent.Type.MATCHED, T.plusMinutes(1), 20_000));
+        aggregator.record(event(MatchingEvent.Type.EXPIRE, T.plusMinutes(1), 90_000));
+
+        assertThat(aggregator.flush()).isEqualTo(3); // 21:14, 21:15, 21시
+
+        Map<String, MatchingRollup> rows = flushedRows(1);
+        MatchingRollup first = rows.get("MINUTE 2026-03-02T21:14");
+        assertThat(first.getArrivals()).isEqualTo(2);
+        assertThat(first.getMatched()).isZero();
+        MatchingRollup second = rows.get("MINUTE 2026-03-02T21:15");
+        assertThat(second.getMatched()).isEqualTo(2);
+        assertThat(second.getExpired()).isEqualTo(1);
+        assertThat(second.getWaitSumMs()).isEqualTo(80_000); // 만료는 평균 대기에 넣지 않음
+        MatchingRollup hour = rows.get("HOUR 2026-03-02T21:00");
+        assertThat(hour.getArrivals()).isEqualTo(2);
+        assertThat(hour.getMatched()).isEqualTo(2);
+
+        assertThat(aggregator.flush()).isZero();
+    }
+
+    @Test
+    void failedFlushIsMergedIntoNextOne() {
+        doThrow(new IllegalStateException("db down")).doNothing().when(repository).addAll(anyList());
+
+        aggregator.record(event(MatchingEvent.Type.JOIN, T, null));
+        assertThat(aggregator.flush()).isZero();
+        aggregator.record(event(MatchingEvent.Type.JOIN, T, null));
+
+        assertThat(aggregator.flush()).isEqualTo(2);
+        assertThat(flushedRows(2).get("MINUTE 2026-03-02T21:14").getArrivals()).isEqualTo(2);
+        assertThat(aggregator.pendingBuckets()).isZero();
+    }
+
+    // 마지막 addAll 호출에 넘어간 행 ("단위 구간시작" → 행)
+    private Map<String, MatchingRollup> flushedRows(int calls) {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<MatchingRollup>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(calls)).addAll(captor.capture());
+        return captor.getValue().stream().collect(Collectors.toMap(
+                r -> r.getId().getGranularity() + " " + r.getId().getBucketStart(), r -> r));
+    }
+
+    private static MatchingEvent event(MatchingEvent.Type type, LocalDateTime at, Integer waitMs) {
+        return MatchingEvent.builder().type(type).gameId(1L).userId(7L).waitMs(waitMs).occurredAt(at).build();
+    }
+}
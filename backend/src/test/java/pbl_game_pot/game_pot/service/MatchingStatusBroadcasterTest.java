@@ -0,0 +1,125 @@
+package pbl_game_pot.game_pot.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * 로컬 클라이언트 하네스: 실제 HTTP 연결 대신 전송 내용을 기록하는 emitter를 꽂아서
+ * 팬아웃 / 느린 클라이언트 차단 / heartbeat 동작을 확인한다.
+ */
+class MatchingStatusBroadcasterTest {
+
+    private final MatchingStatusBroadcaster broadcaster = new MatchingStatusBroadcaster(4, 60_000, 2);
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void fansOutJoinAndLeaveToEverySubscriberOfGame() {
+        RecordingEmitter a = new RecordingEmitter();
+        RecordingEmitter b = new RecordingEmitter();
+        RecordingEmitter other = new RecordingEmitter();
+        broadcaster.register(1L, a, List::of);
+        broadcaster.register(1L, b, List::of);
+        broadcaster.register(2L, other, List::of);
+
+        broadcaster.onQueueEvent(MatchingQueueEvent.of(MatchingQueueEvent.Type.JOIN, 1L, 10L, "kim", "Kim", null));
+        broadcaster.onQueueEvent(MatchingQueueEvent.of(MatchingQueueEvent.Type.LEAVE, 1L, 10L, "kim", "Kim", null));
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> a.events().size() == 3 && b.events().size() == 3);
+        assertThat(a.events().get(0)).contains("event:snapshot");
+        assertThat(a.events().get(1)).contains("event:join").contains("kim");
+        assertThat(a.events().get(2)).contains("event:leave");
+        assertThat(other.events()).hasSize(1);
+    }
+
+    @Test
+    void changesWhileSnapshotIsReadArriveAfterTheSnapshot() {
+        RecordingEmitter a = new RecordingEmitter();
+        // 스냅샷을 읽는 사이에 다른 유저가 참가
+        broadcaster.register(1L, a, () -> {
+            broadcaster.onQueueEvent(MatchingQueueEvent.of(MatchingQueueEvent.Type.JOIN, 1L, 11L, "lee", "Lee", null));
+            return List.of();
+        });
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> a.events().size() == 2);
+        assertThat(a.events().get(0)).contains("event:snapshot");
+        assertThat(a.events().get(1)).contains("event:join").contains("lee");
+    }
+
+    @Test
+    void heartbeatReachesAllSubscribers() {
+        RecordingEmitter a = new RecordingEmitter();
+        broadcaster.register(1L, a, List::of);
+
+        broadcaster.heartbeat();
+
+        await().atMost(2, TimeUnit.SECONDS).until(() -> a.events().size() == 2);
+        assertThat(a.events().get(1)).contains(":heartbeat");
+    }
+
+    @Test
+    void slowClientIsDisconnectedWhenBufferOverflows() {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter other = new RecordingEmitter();
+        broadcaster.register(1L, slow, List::of);
+        broadcaster.register(2L, other, List::of);
+
+        for (int i = 0; i < 10; i++) {
+            broadcaster.publish(1L, "join", "user" + i);
+        }
+        assertThat(broadcaster.subscriberCount(1L)).isZero();
+
+        // 느린 구독자가 디스패치 스레드 하나를 잡고 있어도 다른 게임 구독자는 계속 받는다
+        broadcaster.publish(2L, "join", "someone");
+        await().atMost(2, TimeUnit.SECONDS).until(() -> other.events().size() == 2);
+        release.countDown();
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch gate) {
+            super(60_000L);
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            sent.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining()));
+        }
+
+        List<String> events() {
+            return sent;
+        }
+    }
+}
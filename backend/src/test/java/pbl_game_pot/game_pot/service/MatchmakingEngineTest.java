@@ -0,0 +1,154 @@
+package pbl_game_pot.game_pot.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class MatchmakingEngineTest {
+
+    private final MatchingQueueJournal journal = mock(MatchingQueueJournal.class);
+    private final List<MatchingQueueEvent> events = new ArrayList<>();
+    private final ApplicationEventPublisher publisher = e -> {
+        synchronized (events) {
+            events.add((MatchingQueueEvent) e);
+        }
+    };
+    private final MatchmakingEngine engine = new MatchmakingEngine(journal, publisher);
+
+    @Test
+    void joiningAnotherGameMovesUserOutOfPreviousQueue() {
+        join(1L, 100L);
+        join(2L, 100L);
+        join(1L, 200L);
+
+        assertThat(engine.snapshot(100L)).extracting(QueueEntry::userId).containsExactly(2L);
+        assertThat(engine.snapshot(200L)).extracting(QueueEntry::userId).containsExactly(1L);
+        assertThat(events).extracting(MatchingQueueEvent::type).containsExactly(
+                MatchingQueueEvent.Type.JOIN, MatchingQueueEvent.Type.JOIN,
+                MatchingQueueEvent.Type.MOVED, MatchingQueueEvent.Type.JOIN);
+        verify(journal, never()).recordLeave(anyLong(), anyLong());
+    }
+
+    @Test
+    void requeuedMembersArePublishedAsRequeueNotJoin() {
+        join(1L, 100L);
+        join(2L, 100L);
+        List<QueueEntry> party = engine.pollParty(100L, 2);
+
+        engine.requeue(party);
+
+        assertThat(engine.snapshot(100L)).extracting(QueueEntry::userId).containsExactly(1L, 2L);
+        assertThat(events).extracting(MatchingQueueEvent::type).containsExactly(
+                MatchingQueueEvent.Type.JOIN, MatchingQueueEvent.Type.JOIN,
+                MatchingQueueEvent.Type.MATCHED, MatchingQueueEvent.Type.MATCHED,
+                MatchingQueueEvent.Type.REQUEUE, MatchingQueueEvent.Type.REQUEUE);
+    }
+
+    @Test
+    void pagedSnapshotKeepsQueueOrder() {
+        for (long u = 1; u <= 5; u++) join(u, 100L);
+
+        assertThat(engine.snapshot(100L, 0, 2)).extracting(QueueEntry::userId).containsExactly(1L, 2L);
+        assertThat(engine.snapshot(100L, 4, 2)).extracting(QueueEntry::userId).containsExactly(5L);
+        assertThat(engine.snapshot(100L, 5, 2)).isEmpty();
+        assertThat(engine.snapshot(999L, 0, 2)).isEmpty();
+    }
+
+    @Test
+    void versionKeepsGrowingAcrossAnEmptiedQueue() {
+        join(1L, 100L);
+        long joined = engine.slice(100L, 0, 10).version();
+
+        engine.leave(1L);
+        QueueChanges afterLeave = engine.changesSince(100L, joined);
+        assertThat(afterLeave.version()).isGreaterThan(joined);
+        assertThat(afterLeave.reset()).isFalse();
+        assertThat(afterLeave.left()).extracting(QueueEntry::userId).containsExactly(1L);
+        assertThat(engine.changesSince(100L, afterLeave.version()).left()).isEmpty();
+
+        // 비었다가 다시 생긴 대기열도 예전 버전을 이어서 쓴다
+        join(2L, 100L);
+        QueueChanges afterRejoin = engine.changesSince(100L, afterLeave.version());
+        assertThat(afterRejoin.version()).isGreaterThan(afterLeave.version());
+        assertThat(afterRejoin.joined()).extracting(QueueEntry::userId).containsExactly(2L);
+    }
+
+    @Test
+    void hotGamesFollowJoinsLeavesAndParties() {
+        for (long u = 1; u <= 3; u++) join(u, 100L);
+        for (long u = 4; u <= 5; u++) join(u, 200L);
+        join(6L, 300L);
+        assertThat(engine.hotGames(10)).containsExactly(
+                new HotGame(100L, 3), new HotGame(200L, 2), new HotGame(300L, 1));
+
+        join(1L, 300L);                 // 100 → 300 이동
+        engine.leave(4L);
+        engine.pollParty(100L, 2);      // 100 대기열 비움
+        assertThat(engine.hotGames(10)).containsExactly(new HotGame(300L, 2), new HotGame(200L, 1));
+        assertThat(engine.hotGames(1)).containsExactly(new HotGame(300L, 2));
+
+        engine.handOff(300L);
+        assertThat(engine.hotGames(10)).containsExactly(new HotGame(200L, 1));
+    }
+
+    @Test
+    void leaveRemovesUserAndIsIdempotent() {
+        join(1L, 100L);
+
+        assertThat(engine.leave(1L)).isPresent();
+        assertThat(engine.leave(1L)).isEmpty();
+        assertThat(engine.size(100L)).isZero();
+        assertThat(engine.activeGameIds()).isEmpty();
+    }
+
+    @Test
+    void removeIgnoresStaleEntryAfterRejoin() {
+        QueueEntry first = join(1L, 100L);
+        join(1L, 100L);
+
+        assertThat(engine.remove(first)).isFalse();
+        assertThat(engine.size(100L)).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentJoinsKeepEachUserInExactlyOneQueue() throws Exception {
+        int users = 200;
+        int joinsPerUser = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch done = new CountDownLatch(users * joinsPerUser);
+
+        for (int i = 0; i < users * joinsPerUser; i++) {
+            long userId = i % users;
+            long gameId = 1 + (i % 7);
+            pool.execute(() -> {
+                join(userId, gameId);
+                done.countDown();
+            });
+        }
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        pool.shutdown();
+
+        int total = 0;
+        for (Long gameId : engine.activeGameIds()) {
+            total += engine.size(gameId);
+        }
+        assertThat(total).isEqualTo(users);
+        assertThat(engine.totalWaiting()).isEqualTo(users);
+    }
+
+    private QueueEntry join(long userId, long gameId) {
+        return engine.join(userId, gameId, "d" + userId, "u" + userId, "U" + userId, null, null);
+    }
+}
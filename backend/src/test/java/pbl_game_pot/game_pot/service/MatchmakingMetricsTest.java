@@ -0,0 +1,61 @@
+package pbl_game_pot.game_pot.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MatchmakingMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MatchmakingMetrics metrics;
+    private final MatchmakingEngine engine = new MatchmakingEngine(mock(MatchingQueueJournal.class),
+            event -> metrics.onQueueEvent((MatchingQueueEvent) event));
+
+    MatchmakingMetricsTest() {
+        metrics = new MatchmakingMetrics(registry, engine, mock(MatchingQueueJournal.class),
+                mock(QueueExpiryScheduler.class));
+    }
+
+    @Test
+    void countsQueueEventsAndTracksDepthPerGame() {
+        join(1L, 100L);
+        join(2L, 100L);
+        join(3L, 200L);
+        engine.leave(2L);
+
+        assertThat(registry.get("matching.queue.events").tags("type", "join", "game", "100").counter().count())
+                .isEqualTo(2);
+        assertThat(registry.get("matching.queue.events").tags("type", "leave", "game", "100").counter().count())
+                .isEqualTo(1);
+        assertThat(registry.get("matching.queue.depth").tag("game", "100").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("matching.queue.depth").tag("game", "200").gauge().value()).isEqualTo(1);
+        assertThat(registry.get("matching.queue.waiting").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void recordsTimeToMatchWhenPartyIsPolled() {
+        join(1L, 100L);
+        join(2L, 100L);
+
+        List<QueueEntry> party = engine.pollParty(100L, 2);
+
+        assertThat(party).hasSize(2);
+        assertThat(registry.get("matching.time_to_match").tag("game", "100").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void countsPartiesPerGame() {
+        metrics.onPartyEvent(new MatchingPartyEvent("p1", 100L, List.of("a", "b"), null, Map.of()));
+
+        assertThat(registry.get("matching.parties").tag("game", "100").counter().count()).isEqualTo(1);
+    }
+
+    private void join(long userId, long gameId) {
+        engine.join(userId, gameId, "d" + userId, "u" + userId, "U" + userId, null, null);
+    }
+}
@@ -0,0 +1,102 @@
+package pbl_game_pot.game_pot.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pbl_game_pot.game_pot.db.Game;
+import pbl_game_pot.game_pot.db.GameRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * outbox 저장을 가짜로 바꿔서 파티 매칭(꺼내기)만 돌려본다. 봇 전송은 PartyOutboxDispatcherTest.
+ */
+class PartyMatcherTest {
+
+    private final MatchmakingEngine engine = new MatchmakingEngine(mock(MatchingQueueJournal.class), e -> {});
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private final PartyOutboxService outbox = mock(PartyOutboxService.class);
+    private final ConcurrentLinkedQueue<List<QueueEntry>> enqueued = new ConcurrentLinkedQueue<>();
+    private final PartyMatcher matcher = new PartyMatcher(engine, gameRepository, outbox, 4, 1_000);
+
+    @BeforeEach
+    void setUp() {
+        when(outbox.enqueue(anyLong(), anyList())).thenAnswer(inv -> {
+            enqueued.add(inv.getArgument(1));
+            return null;
+        });
+    }
+
+    @Test
+    void formsOnlyCompletePartiesUsingPerGameSize() {
+        stubGame(1L, "VALORANT", null);
+        stubGame(2L, "Lethal Company", null);
+        joinMany(1L, 0, 12);   // 5명 파티 2개 + 2명 남음
+        joinMany(2L, 100, 9);  // 4명 파티 2개 + 1명 남음
+
+        assertThat(matcher.tick()).isEqualTo(4);
+
+        assertThat(enqueued).extracting(List::size).containsExactlyInAnyOrder(5, 5, 4, 4);
+        assertThat(engine.size(1L)).isEqualTo(2);
+        assertThat(engine.size(2L)).isEqualTo(1);
+    }
+
+    @Test
+    void outboxFailureStopsThatGameForThisTick() {
+        stubGame(1L, "Some Game", 3);
+        doThrow(new IllegalStateException("db down")).when(outbox).enqueue(anyLong(), anyList());
+        joinMany(1L, 0, 6);
+
+        assertThat(matcher.tick()).isZero();
+        verify(outbox, times(1)).enqueue(anyLong(), anyList());
+    }
+
+    @Test
+    void oneTickDrainsEveryGame() {
+        int games = 2_000;
+        int playersPerGame = 20;
+        when(gameRepository.findById(anyLong())).thenReturn(Optional.empty()); // 기본 4명
+        for (long g = 1; g <= games; g++) {
+            joinMany(g, g * 1_000, playersPerGame);
+        }
+
+        int formed = matcher.tick();
+
+        assertThat(formed).isEqualTo(games * playersPerGame / 4);
+        assertThat(enqueued).hasSize(formed);
+        assertThat(engine.totalWaiting()).isZero();
+    }
+
+    @Test
+    void changedPartySizeIsPickedUpAfterReload() {
+        stubGame(1L, "Some Game", 3);
+        assertThat(matcher.partySizeOf(1L)).isEqualTo(3);
+
+        stubGame(1L, "Some Game", 6);
+        assertThat(matcher.partySizeOf(1L)).isEqualTo(3);
+
+        matcher.reloadPartySizes();
+        assertThat(matcher.partySizeOf(1L)).isEqualTo(6);
+    }
+
+    private void stubGame(Long id, String name, Integer partySize) {
+        when(gameRepository.findById(id)).thenReturn(Optional.of(
+                Game.builder().id(id).steamAppId(id).name(name).partySize(partySize).build()));
+    }
+
+    private void joinMany(long gameId, long firstUserId, int count) {
+        for (long u = firstUserId; u < firstUserId + count; u++) {
+            engine.join(u, gameId, "d" + u, "u" + u, "U" + u, null, null);
+        }
+    }
+}
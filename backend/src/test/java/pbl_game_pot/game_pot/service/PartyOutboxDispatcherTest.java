@@ -0,0 +1,174 @@
+package pbl_game_pot.game_pot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import pbl_game_pot.game_pot.db.PartyOutbox;
+import pbl_game_pot.game_pot.db.PartyOutboxRepository;
+import pbl_game_pot.game_pot.db.UserRepository;
+import pbl_game_pot.game_pot.db.UserTable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PartyOutboxDispatcherTest {
+
+    private static final LocalDateTime FORMED = LocalDateTime.of(2026, 3, 2, 21, 0);
+
+    private final PartyOutboxRepository repository = mock(PartyOutboxRepository.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final BotApiClient bot = mock(BotApiClient.class);
+    private final MatchmakingEngine engine = new MatchmakingEngine(mock(MatchingQueueJournal.class), e -> {});
+    private final List<Object> events = new CopyOnWriteArrayList<>();
+    private final PartyOutboxDispatcher dispatcher = new PartyOutboxDispatcher(repository, userRepository, bot, engine,
+            gameId -> true, events::add, new ObjectMapper(), new SimpleMeterRegistry(), 20, 3, Duration.ofSeconds(2), 4, false);
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void deliversWithIdempotencyKeyAndPublishesParty() {
+        PartyOutbox outbox = pending("p-1");
+        when(bot.createParty(List.of("d1", "d2"), "p-1")).thenReturn(Map.of("inviteLink", "https://discord.gg/x"));
+
+        dispatcher.deliver(outbox);
+
+        assertThat(outbox.getStatus()).isEqualTo(PartyOutbox.Status.SENT);
+        assertThat(outbox.getBotResponse()).contains("discord.gg/x");
+        assertThat(events).singleElement()
+                .isInstanceOfSatisfying(MatchingPartyEvent.class, e -> {
+                    assertThat(e.partyId()).isEqualTo("p-1");
+                    assertThat(e.usernames()).containsExactly("u1", "u2");
+                    assertThat(e.memberWaitMs()).containsExactly(Map.entry(1L, 60_000), Map.entry(2L, 20_000));
+                });
+    }
+
+    @Test
+    void transientFailureIsRescheduledWithBackoff() {
+        PartyOutbox outbox = pending("p-2");
+        when(bot.createParty(anyList(), anyString())).thenThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE));
+
+        dispatcher.deliver(outbox);
+
+        assertThat(outbox.getStatus()).isEqualTo(PartyOutbox.Status.PENDING);
+        assertThat(outbox.getAttempts()).isEqualTo(1);
+        assertThat(outbox.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void rejectedOrExhaustedRequestFailsAndRequeuesMembers() {
+        when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(user(1L), user(2L)));
+        when(bot.createParty(anyList(), anyString())).thenThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+        PartyOutbox outbox = pending("p-3");
+        engine.join(3L, 7L, "d3", "u3", "U3", null, null);     // 파티가 실패하기 전에 새로 줄 선 유저
+
+        dispatcher.deliver(outbox);
+
+        assertThat(outbox.getStatus()).isEqualTo(PartyOutbox.Status.FAILED);
+        // 원래 참가 시각으로 돌아가서 나중에 온 유저보다 앞에 선다
+        assertThat(engine.snapshot(7L)).extracting(QueueEntry::userId).containsExactly(1L, 2L, 3L);
+        assertThat(engine.findByUser(1L)).map(QueueEntry::createdAt).contains(FORMED.minusSeconds(60));
+    }
+
+    @Test
+    void dispatchDueSendsTheWholeBatch() {
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByCreatedAt(eq(PartyOutbox.Status.PENDING), any(), any()))
+                .thenReturn(List.of(pending("a"), pending("b"), pending("c")));
+        when(bot.createParty(anyList(), anyString())).thenReturn(Map.of());
+
+        assertThat(dispatcher.dispatchDue()).isEqualTo(3);
+        verify(bot, timeout(2000).times(3)).createParty(anyList(), anyString());
+    }
+
+    @Test
+    void pagesPastRequestsOwnedByOtherNodes() {
+        PartyOutboxDispatcher owner7 = new PartyOutboxDispatcher(repository, userRepository, bot, engine,
+                gameId -> gameId == 7L, events::add, new ObjectMapper(), new SimpleMeterRegistry(), 2, 3,
+                Duration.ofSeconds(2), 4, false);
+        PartyOutbox other1 = pending("other-1");
+        PartyOutbox other2 = pending("other-2");
+        other1.setGameId(8L);
+        other2.setGameId(8L);
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByCreatedAt(eq(PartyOutbox.Status.PENDING), any(),
+                eq(PageRequest.of(0, 2)))).thenReturn(List.of(other1, other2));
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByCreatedAt(eq(PartyOutbox.Status.PENDING), any(),
+                eq(PageRequest.of(1, 2)))).thenReturn(List.of(pending("mine")));
+        when(bot.createParty(anyList(), anyString())).thenReturn(Map.of());
+
+        try {
+            assertThat(owner7.dispatchDue()).isEqualTo(1);
+            verify(bot, timeout(2000)).createParty(anyList(), eq("mine"));
+            verify(bot, never()).createParty(anyList(), eq("other-1"));
+        } finally {
+            owner7.shutdown();
+        }
+    }
+
+    @Test
+    void requestStillBeingSentIsNotPickedUpAgain() throws InterruptedException {
+        PartyOutbox outbox = pending("slow");
+        when(repository.findByStatusAndNextAttemptAtLessThanEqualOrderByCreatedAt(eq(PartyOutbox.Status.PENDING), any(), any()))
+                .thenReturn(List.of(outbox));
+        CountDownLatch release = new CountDownLatch(1);
+        when(bot.createParty(anyList(), anyString())).thenAnswer(inv -> {
+            release.await();
+            return Map.of();
+        });
+
+        assertThat(dispatcher.dispatchDue()).isEqualTo(1);     // 봇 응답을 기다리지 않고 돌아옴
+        assertThat(dispatcher.dispatchDue()).isZero();
+
+        release.countDown();
+        verify(bot, timeout(2000)).createParty(anyList(), eq("slow"));
+        await().atMost(2, TimeUnit.SECONDS).until(() -> outbox.getStatus() == PartyOutbox.Status.SENT);
+        verify(bot, times(1)).createParty(anyList(), anyString());
+    }
+
+    private static PartyOutbox pending(String id) {
+        return PartyOutbox.builder()
+                .id(id)
+                .gameId(7L)
+                .userIds("1,2")
+                .memberIds("d1,d2")
+                .usernames("u1,u2")
+                .joinedAts(FORMED.minusSeconds(60) + "," + FORMED.minusSeconds(20))
+                .status(PartyOutbox.Status.PENDING)
+                .nextAttemptAt(LocalDateTime.now())
+                .createdAt(FORMED)
+                .build();
+    }
+
+    private static UserTable user(Long id) {
+        UserTable u = new UserTable();
+        u.setId(id);
+        u.setDiscordId("d" + id);
+        u.setUsername("u" + id);
+        return u;
+    }
+}
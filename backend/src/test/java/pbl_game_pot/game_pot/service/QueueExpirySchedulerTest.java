@@ -0,0 +1,100 @@
+package pbl_game_pot.game_pot.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pbl_game_pot.game_pot.db.Game;
+import pbl_game_pot.game_pot.db.GameRepository;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueueExpirySchedulerTest {
+
+    private static final Duration DEFAULT_TTL = Duration.ofMillis(300);
+
+    private final List<MatchingQueueEvent> events = new CopyOnWriteArrayList<>();
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private QueueExpiryScheduler scheduler;
+    // 엔진이 발행한 이벤트를 실제 스프링처럼 스케줄러에도 전달
+    private final MatchmakingEngine engine = new MatchmakingEngine(mock(MatchingQueueJournal.class), event -> {
+        MatchingQueueEvent e = (MatchingQueueEvent) event;
+        events.add(e);
+        scheduler.onQueueEvent(e);
+    });
+
+    @BeforeEach
+    void setUp() {
+        when(gameRepository.findByQueueTtlMinutesIsNotNull()).thenReturn(List.of(
+                Game.builder().id(200L).steamAppId(1L).name("slow").queueTtlMinutes(60).build()));
+        scheduler = new QueueExpiryScheduler(engine, gameRepository, DEFAULT_TTL);
+        scheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    void expiresEntryAfterItsGameTtlAndPublishesExpire() {
+        join(1L, 100L);
+        join(2L, 200L);
+
+        await().atMost(Duration.ofSeconds(3)).until(() -> engine.size(100L) == 0);
+
+        assertThat(engine.size(200L)).isEqualTo(1);
+        assertThat(events).extracting(MatchingQueueEvent::type).containsExactly(
+                MatchingQueueEvent.Type.JOIN, MatchingQueueEvent.Type.JOIN, MatchingQueueEvent.Type.EXPIRE);
+        assertThat(events.get(2).userId()).isEqualTo(1L);
+    }
+
+    @Test
+    void rejoinedUserIsNotExpiredByOldDeadline() throws Exception {
+        join(1L, 100L);
+        Thread.sleep(200);
+        join(1L, 100L);   // 새 만료 시각은 지금부터 300ms
+
+        Thread.sleep(200);  // 첫 만료 시각은 지났지만 seq가 달라서 무시돼야 함
+        assertThat(engine.findByUser(1L)).isPresent();
+
+        await().atMost(Duration.ofSeconds(3)).until(() -> engine.findByUser(1L).isEmpty());
+        assertThat(events).filteredOn(e -> e.type() == MatchingQueueEvent.Type.EXPIRE).hasSize(1);
+    }
+
+    @Test
+    void keepsOneDeadlinePerWaitingUser() {
+        for (int i = 0; i < 50; i++) {
+            join(1L, 200L + (i % 2));   // 재참가 / 게임 이동을 반복해도 예약은 1건
+        }
+        join(2L, 200L);
+        assertThat(scheduler.pending()).isEqualTo(2);
+
+        engine.leave(1L);
+        engine.pollUpTo(200L, 5);
+        assertThat(scheduler.pending()).isZero();
+        verify(gameRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void maxTtlTakesLongestOfDefaultAndPerGame() {
+        when(gameRepository.findMaxQueueTtlMinutes()).thenReturn(null);
+        assertThat(scheduler.maxTtl()).isEqualTo(DEFAULT_TTL);
+
+        when(gameRepository.findMaxQueueTtlMinutes()).thenReturn(90);
+        assertThat(scheduler.maxTtl()).isEqualTo(Duration.ofMinutes(90));
+    }
+
+    private void join(long userId, long gameId) {
+        engine.join(userId, gameId, "d" + userId, "u" + userId, "U" + userId, null, null);
+    }
+}
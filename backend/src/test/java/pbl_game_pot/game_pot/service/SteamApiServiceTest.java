@@ -0,0 +1,149 @@
+package pbl_game_pot.game_pot.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+import pbl_game_pot.game_pot.config.BulkheadFullException;
+import pbl_game_pot.game_pot.db.GameAlias;
+import pbl_game_pot.game_pot.db.GameAliasRepository;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SteamApiServiceTest {
+
+    private static final String PUBG_JSON = "{\"total\":1,\"items\":[{\"id\":578080,\"name\":\"PUBG: BATTLEGROUNDS\"}]}";
+    private static final String EMPTY_JSON = "{\"total\":0,\"items\":[]}";
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final GameAliasRepository aliasRepository = mock(GameAliasRepository.class);
+    private final GameIndexService gameIndexService = mock(GameIndexService.class);
+    private final SteamApiService service = new SteamApiService(restTemplate, new ObjectMapper(), aliasRepository,
+            gameIndexService, new SimpleMeterRegistry(), 1_000, Duration.ofHours(1), Duration.ofMinutes(1),
+            "https://store.steampowered.com/api/storesearch/", false);
+
+    @Test
+    void sameNormalizedInputHitsSteamOnce() {
+        when(aliasRepository.findById(anyString())).thenReturn(Optional.empty());
+        stubSteam(PUBG_JSON);
+
+        assertThat(service.findGameOnSteam("배그").steamAppId()).isEqualTo(578080L);
+        assertThat(service.findGameOnSteam("  배그 ").steamAppId()).isEqualTo(578080L);
+
+        verifySteamCalls(1);
+        verify(aliasRepository).save(any(GameAlias.class));
+        assertThat(service.cacheStats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void notFoundIsCachedNegatively() {
+        when(aliasRepository.findById(anyString())).thenReturn(Optional.empty());
+        stubSteam(EMPTY_JSON);
+
+        assertThat(service.findGameOnSteam("없는게임")).isNull();
+        assertThat(service.findGameOnSteam("없는게임")).isNull();
+
+        verifySteamCalls(1);
+        verify(aliasRepository, never()).save(any());
+    }
+
+    @Test
+    void communicationErrorIsNotCached() {
+        when(aliasRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new ResourceAccessException("timeout"))
+                .thenReturn(ResponseEntity.ok(PUBG_JSON));
+
+        assertThatThrownBy(() -> service.findGameOnSteam("pubg")).isInstanceOf(ResourceAccessException.class);
+        assertThat(service.findGameOnSteam("pubg")).isNotNull();
+    }
+
+    @Test
+    void steamRateLimitIsReportedInsteadOfNotFound() {
+        when(aliasRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+                .thenThrow(new BulkheadFullException("steam", "초당 요청 한도 초과"));
+
+        assertThatThrownBy(() -> service.findGameOnSteam("배그")).isInstanceOf(BulkheadFullException.class);
+        assertThatThrownBy(() -> service.findGameOnSteam("배그")).isInstanceOf(BulkheadFullException.class);
+        verifySteamCalls(2);
+    }
+
+    @Test
+    void aliasTableAnswersWithoutCallingSteam() {
+        when(aliasRepository.findById("배그")).thenReturn(Optional.of(
+                GameAlias.builder().alias("배그").steamAppId(578080L).name("PUBG: BATTLEGROUNDS").build()));
+
+        assertThat(service.findGameOnSteam("배그").name()).isEqualTo("PUBG: BATTLEGROUNDS");
+
+        verifySteamCalls(0);
+    }
+
+    @Test
+    void concurrentLookupsForSameTermAreCoalesced() throws Exception {
+        when(aliasRepository.findById(anyString())).thenReturn(Optional.empty());
+        CountDownLatch release = new CountDownLatch(1);
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+                .thenAnswer(inv -> {
+                    release.await();
+                    return ResponseEntity.ok(PUBG_JSON);
+                });
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        List<Future<SteamApiService.SteamGameInfo>> results = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            results.add(pool.submit(() -> service.findGameOnSteam("PUBG")));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        for (Future<SteamApiService.SteamGameInfo> f : results) {
+            assertThat(f.get().steamAppId()).isEqualTo(578080L);
+        }
+        pool.shutdown();
+
+        verifySteamCalls(1);
+    }
+
+    @Test
+    void localIndexAnswersWithoutCallingSteam() {
+        when(gameIndexService.resolve("엘든링")).thenReturn(new GameIndex.Entry(1245620L, "ELDEN RING"));
+
+        assertThat(service.findGameOnSteam("엘든링").steamAppId()).isEqualTo(1245620L);
+
+        verifySteamCalls(0);
+        verify(aliasRepository, never()).findById(anyString());
+    }
+
+    private void stubSteam(String body) {
+        when(restTemplate.exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class)))
+                .thenReturn(ResponseEntity.ok(body));
+    }
+
+    private void verifySteamCalls(int times) {
+        verify(restTemplate, times(times))
+                .exchange(any(URI.class), eq(HttpMethod.GET), any(HttpEntity.class), eq(String.class));
+    }
+}
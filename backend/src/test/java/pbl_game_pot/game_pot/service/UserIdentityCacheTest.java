@@ -0,0 +1,61 @@
+package pbl_game_pot.game_pot.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import pbl_game_pot.game_pot.db.UserRepository;
+import pbl_game_pot.game_pot.db.UserTable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserIdentityCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final List<Object> events = new ArrayList<>();
+    private final UserIdentityCache cache = new UserIdentityCache(userRepository, events::add,
+            new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+
+    @Test
+    void repeatedLookupsHitDatabaseOnce() {
+        when(userRepository.findByDiscordId("d1")).thenReturn(Optional.of(user(1L, "d1", "kim")));
+
+        assertThat(cache.find("d1")).map(UserIdentity::id).contains(1L);
+        assertThat(cache.find("d1")).map(UserIdentity::id).contains(1L);
+
+        verify(userRepository, times(1)).findByDiscordId("d1");
+    }
+
+    @Test
+    void refreshedProfileIsServedWithoutLookup() {
+        cache.refresh(user(1L, "d1", "kim-renamed"));
+
+        assertThat(cache.find("d1")).map(UserIdentity::username).contains("kim-renamed");
+        verify(userRepository, never()).findByDiscordId(anyString());
+        // 다른 서버 캐시를 지우라는 알림
+        assertThat(events).containsExactly(new UserProfileChangedEvent("d1"));
+    }
+
+    @Test
+    void unknownUserIsNotCached() {
+        when(userRepository.findByDiscordId("d2")).thenReturn(Optional.empty());
+
+        assertThat(cache.find("d2")).isEmpty();
+        assertThat(cache.find("d2")).isEmpty();
+
+        verify(userRepository, times(2)).findByDiscordId("d2");
+    }
+
+    private static UserTable user(Long id, String discordId, String username) {
+        return UserTable.builder().id(id).discordId(discordId).username(username).build();
+    }
+}
@@ -0,0 +1,75 @@
+package pbl_game_pot.game_pot.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    // 유저당 초당 0.1개(버스트 2), 전체 초당 0.1개(버스트 3)
+    private final RateLimitInterceptor interceptor = new RateLimitInterceptor(new ObjectMapper(), registry,
+            0.1, 2, 0.1, 3, Duration.ofMinutes(10), 1000);
+
+    @Test
+    void rejectsPerUserWithRetryAfterAndLetsOtherUsersThrough() throws Exception {
+        assertThat(post("alice").getStatus()).isEqualTo(200);
+        assertThat(post("alice").getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse limited = post("alice");
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("10");
+        assertThat(limited.getContentAsString()).contains("error");
+
+        assertThat(post("bob").getStatus()).isEqualTo(200);
+        assertThat(registry.get("ratelimit.requests").tag("scope", "user").tag("outcome", "rejected")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void globalBucketCapsAllUsersTogether() throws Exception {
+        assertThat(post("a").getStatus()).isEqualTo(200);
+        assertThat(post("b").getStatus()).isEqualTo(200);
+        assertThat(post("c").getStatus()).isEqualTo(200);
+        assertThat(post("d").getStatus()).isEqualTo(429);
+        assertThat(registry.get("ratelimit.requests").tag("scope", "global").tag("outcome", "rejected")
+                .counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void globalRejectionDoesNotSpendTheUsersToken() throws Exception {
+        assertThat(post("a").getStatus()).isEqualTo(200);
+        assertThat(post("b").getStatus()).isEqualTo(200);
+        assertThat(post("c").getStatus()).isEqualTo(200);
+
+        // 유저 버스트(2)보다 많이 보내도 전체 한도에만 걸린다
+        for (int i = 0; i < 3; i++) {
+            assertThat(post("alice").getContentAsString()).contains("몰리고");
+        }
+        assertThat(registry.get("ratelimit.requests").tag("scope", "user").tag("outcome", "rejected")
+                .counter().count()).isZero();
+    }
+
+    @Test
+    void readsAreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/match/status/1");
+            request.setUserPrincipal(() -> "alice");
+            assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), new Object())).isTrue();
+        }
+    }
+
+    private MockHttpServletResponse post(String user) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/match/start");
+        request.setUserPrincipal(() -> user);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        if (interceptor.preHandle(request, response, new Object())) response.setStatus(200);
+        return response;
+    }
+}
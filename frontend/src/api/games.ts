@@ -0,0 +1,25 @@
+import { API_ENDPOINTS } from "@/config/constants";
+import type { GameMeta, GameSuggestion } from "@/types";
+
+export const suggestGames = async (q: string, signal?: AbortSignal): Promise<GameSuggestion[]> => {
+  const res = await fetch(API_ENDPOINTS.GAME_SUGGEST(q), {
+    credentials: "include",
+    signal,
+  });
+
+  if (!res.ok) {
+    throw new Error("게임 검색 실패");
+  }
+
+  return res.json();
+};
+
+export const getGameMeta = async (gameId: number): Promise<GameMeta> => {
+  const res = await fetch(API_ENDPOINTS.GAME_META(gameId), { credentials: "include" });
+
+  if (!res.ok) {
+    throw new Error("게임 정보 조회 실패");
+  }
+
+  return res.json();
+};
@@ -1,12 +1,15 @@
 import { API_ENDPOINTS } from "@/config/constants";
-import type { GameMatchStartResponse, WaitingUser } from "@/types";
+import type { GameMatchStartResponse, MatchOptions, PartyStatus, QueueDelta, StatusDelta, WaitingUser } from "@/types";
 
-export const startMatching = async (gameName: string): Promise<GameMatchStartResponse> => {
+export const startMatching = async (
+  gameName: string,
+  options: MatchOptions = {},
+): Promise<GameMatchStartResponse> => {
   const res = await fetch(API_ENDPOINTS.MATCH_START, {
     method: "POST",
     credentials: "include",
     headers: { "Content-Type": "application/json" },
-    body: JSON.stringify({ gameName }),
+    body: JSON.stringify({ gameName, ...options }),
   });
 
   if (!res.ok) {
@@ -29,6 +32,42 @@ export const getMatchStatus = async (gameId: number): Promise<WaitingUser[]> =>
   return res.json();
 };
 
+// since 버전 이후의 참가/빠짐만 받는다. since=0이면 전체 목록(reset), 바뀐 게 없으면 null(304)
+export const getMatchStatusChanges = async (gameId: number, since: number): Promise<StatusDelta | null> => {
+  const res = await fetch(`${API_ENDPOINTS.MATCH_STATUS(gameId)}?since=${since}`, {
+    credentials: "include",
+    cache: "no-store",
+  });
+
+  if (res.status === 304) return null;
+  if (!res.ok) {
+    throw new Error("매칭 상태 조회 실패");
+  }
+
+  return res.json();
+};
+
+// 대기열 변경을 SSE로 구독. 첫 이벤트(snapshot)로 전체 목록, 이후에는 join/leave/expire만 받는다.
+export const subscribeMatchStatus = (
+  gameId: number,
+  handlers: {
+    onSnapshot: (users: WaitingUser[]) => void;
+    onDelta: (delta: QueueDelta) => void;
+    onError: () => void;
+  }
+): EventSource => {
+  const source = new EventSource(API_ENDPOINTS.MATCH_STREAM(gameId), { withCredentials: true });
+
+  source.addEventListener("snapshot", (e) => handlers.onSnapshot(JSON.parse((e as MessageEvent).data)));
+  source.addEventListener("join", (e) => handlers.onDelta(JSON.parse((e as MessageEvent).data)));
+  source.addEventListener("leave", (e) => handlers.onDelta(JSON.parse((e as MessageEvent).data)));
+  // 대기 시간 초과로 빠진 유저 (목록에서는 leave와 똑같이 제거)
+  source.addEventListener("expire", (e) => handlers.onDelta(JSON.parse((e as MessageEvent).data)));
+  source.onerror = () => handlers.onError();
+
+  return source;
+};
+
 export const stopMatching = async (): Promise<void> => {
   const res = await fetch(API_ENDPOINTS.MATCH_STOP, {
     method: "POST",
@@ -40,6 +79,10 @@ export const stopMatching = async (): Promise<void> => {
   }
 };
 
+const PARTY_POLL_INTERVAL_MS = 1000;
+const PARTY_POLL_TIMEOUT_MS = 90_000;
+
+// 파티 생성은 서버가 바로 202(partyId)로 응답하고 봇 호출은 백그라운드에서 진행됨 → 완료될 때까지 상태 조회
 export const createParty = async (gameId: number): Promise<{ inviteLink: string }> => {
   const res = await fetch(API_ENDPOINTS.MATCH_PARTY, {
     method: "POST",
@@ -53,5 +96,23 @@ export const createParty = async (gameId: number): Promise<{ inviteLink: string
     throw new Error(errorData.error || "파티 생성 실패");
   }
 
-  return res.json();
+  const accepted: PartyStatus = await res.json();
+  const deadline = Date.now() + PARTY_POLL_TIMEOUT_MS;
+
+  while (Date.now() < deadline) {
+    await new Promise((resolve) => setTimeout(resolve, PARTY_POLL_INTERVAL_MS));
+
+    const statusRes = await fetch(API_ENDPOINTS.MATCH_PARTY_STATUS(accepted.partyId), { credentials: "include" });
+    if (!statusRes.ok) continue;
+
+    const party: PartyStatus = await statusRes.json();
+    if (party.status === "SENT") {
+      return { inviteLink: party.botResponse?.inviteLink ?? "" };
+    }
+    if (party.status === "FAILED") {
+      throw new Error(party.error || "파티 생성 실패 (대기열로 돌아갑니다)");
+    }
+  }
+
+  throw new Error("파티 생성이 지연되고 있습니다. 잠시 후 다시 확인해주세요.");
 };
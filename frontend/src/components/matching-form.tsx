@@ -3,7 +3,9 @@ import { Card, CardContent } from "@/components/ui/card";
 import { Button } from "@/components/ui/button";
 import { Input } from "@/components/ui/input";
 import { Badge } from "@/components/ui/badge";
+import { useEffect, useState } from "react";
 import type { MatchType } from "@/hooks/use-matching";
+import { suggestGames } from "@/api/games";
 
 const GAMES = [
   "League of Legends",
@@ -48,7 +50,38 @@ export function MatchingForm({
   onPlayerCountChange: _onPlayerCountChange,
   onStartMatching,
 }: MatchingFormProps) {
-  const filteredGames = GAMES.filter((game) => game.toLowerCase().includes(gameSearch.toLowerCase()));
+  const [suggestions, setSuggestions] = useState<string[] | null>(null);
+  const [waitingByGame, setWaitingByGame] = useState<Record<string, number>>({});
+
+  // 입력할 때마다 서버 자동완성 조회 (이전 요청은 취소). 실패하면 기본 목록에서 필터링
+  useEffect(() => {
+    const q = gameSearch.trim();
+    if (!q) {
+      setSuggestions(null);
+      return;
+    }
+
+    const controller = new AbortController();
+    const timer = setTimeout(() => {
+      suggestGames(q, controller.signal)
+        .then((games) => {
+          setSuggestions(games.map((g) => g.name));
+          setWaitingByGame(Object.fromEntries(games.map((g) => [g.name, g.waiting])));
+        })
+        .catch((e) => {
+          if (e instanceof DOMException && e.name === "AbortError") return;
+          setSuggestions(null);
+        });
+    }, 100);
+
+    return () => {
+      clearTimeout(timer);
+      controller.abort();
+    };
+  }, [gameSearch]);
+
+  const filteredGames =
+    suggestions ?? GAMES.filter((game) => game.toLowerCase().includes(gameSearch.toLowerCase()));
 
   const handleGameSelect = (game: string) => {
     onGameSelect(game);
@@ -103,6 +136,9 @@ export function MatchingForm({
                       >
                         <Gamepad2 className="w-4 h-4 text-muted-foreground" />
                         <span>{game}</span>
+                        {suggestions && waitingByGame[game] > 0 && (
+                          <span className="ml-auto text-xs text-muted-foreground">{waitingByGame[game]}명 대기 중</span>
+                        )}
                       </button>
                     ))}
                   </div>
@@ -3,9 +3,10 @@ import { Card, CardContent } from "@/components/ui/card";
 import { Button } from "@/components/ui/button";
 import { Navigation } from "./navigation";
 import { Badge } from "@/components/ui/badge";
-import { useState } from "react";
+import { useEffect, useState } from "react";
 import { createParty } from "@/api/match";
-import type { WaitingUser } from "@/types";
+import { getGameMeta } from "@/api/games";
+import type { GameMeta, WaitingUser } from "@/types";
 
 interface MatchingScreenProps {
   gameName: string;
@@ -15,6 +16,7 @@ interface MatchingScreenProps {
 }
 
 const INITIAL_DISPLAY_COUNT = 3; // 처음에 보여줄 플레이어 수
+const META_RETRY_MS = 3000; // 서버가 게임 정보를 아직 가져오는 중일 때 다시 묻는 간격
 
 export function MatchingScreen({ gameName, gameId, waitingUsers, onCancel }: MatchingScreenProps) {
   const waitingCount = waitingUsers.length;
@@ -22,6 +24,30 @@ export function MatchingScreen({ gameName, gameId, waitingUsers, onCancel }: Mat
   const [isCreatingParty, setIsCreatingParty] = useState(false);
   const [partyError, setPartyError] = useState<string | null>(null);
   const [isExpanded, setIsExpanded] = useState(false);
+  const [meta, setMeta] = useState<GameMeta | null>(null);
+
+  // 헤더 이미지 / 장르는 없어도 화면은 그대로 동작하므로 실패는 무시
+  useEffect(() => {
+    let cancelled = false;
+    let timer: ReturnType<typeof setTimeout> | undefined;
+    const load = async (retries: number) => {
+      try {
+        const result = await getGameMeta(gameId);
+        if (cancelled) return;
+        setMeta(result);
+        if (!result.ready && retries > 0) {
+          timer = setTimeout(() => load(retries - 1), META_RETRY_MS);
+        }
+      } catch {
+        // 무시
+      }
+    };
+    load(3);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [gameId]);
 
   const handleCreateParty = async () => {
     if (!confirm("현재 대기 중인 모든 유저를 위한 디스코드 음성 채널을 생성할까요?")) {
@@ -63,12 +89,29 @@ export function MatchingScreen({ gameName, gameId, waitingUsers, onCancel }: Mat
           <Card className="shadow-lg border-0 bg-card">
             <CardContent className="p-8">
               <div className="text-center mb-8">
-                <div className="w-20 h-20 bg-primary/10 rounded-full flex items-center justify-center mx-auto mb-4 animate-pulse">
-                  <Users className="w-10 h-10 text-primary" />
-                </div>
+                {meta?.headerImage ? (
+                  <img
+                    src={meta.headerImage}
+                    alt={gameName}
+                    className="w-full max-w-sm aspect-[460/215] object-cover rounded-lg mx-auto mb-4"
+                  />
+                ) : (
+                  <div className="w-20 h-20 bg-primary/10 rounded-full flex items-center justify-center mx-auto mb-4 animate-pulse">
+                    <Users className="w-10 h-10 text-primary" />
+                  </div>
+                )}
                 <h2 className="text-3xl font-bold mb-2">{gameName}</h2>
+                {meta && meta.genres.length > 0 && (
+                  <div className="flex flex-wrap justify-center gap-1 mb-2">
+                    {meta.genres.map((genre) => (
+                      <Badge key={genre} variant="outline" className="text-xs">
+                        {genre}
+                      </Badge>
+                    ))}
+                  </div>
+                )}
                 <Badge variant="secondary" className="text-sm">
-                  매칭 중...
+                  매칭 중...{meta && ` (${meta.partySize}인 파티)`}
                 </Badge>
               </div>
 
@@ -81,7 +124,7 @@ export function MatchingScreen({ gameName, gameId, waitingUsers, onCancel }: Mat
                 <div className="bg-muted/50 rounded-lg p-4 text-center">
                   <div className="flex items-center justify-center space-x-2 text-sm text-muted-foreground">
                     <Clock className="w-4 h-4" />
-                    <span className="text-2xl font-bold">2초</span>
+                    <span className="text-2xl font-bold">실시간</span>
                   </div>
                   <div className="text-sm text-muted-foreground mt-1">갱신 주기</div>
                 </div>
@@ -113,7 +156,7 @@ export function MatchingScreen({ gameName, gameId, waitingUsers, onCancel }: Mat
                     <div className="space-y-2">
                       {displayedUsers.map((user, index) => (
                         <div
-                          key={index}
+                          key={user.username ?? index}
                           className="flex items-center gap-3 p-3 bg-muted/30 rounded-lg hover:bg-muted/50 transition-all duration-200 animate-in fade-in slide-in-from-left-4"
                           style={{ animationDelay: `${index * 50}ms` }}
                         >
@@ -211,7 +254,7 @@ export function MatchingScreen({ gameName, gameId, waitingUsers, onCancel }: Mat
                   <div className="text-sm">
                     <p className="font-medium text-foreground mb-1">매칭 안내</p>
                     <p className="text-muted-foreground">
-                      평균 대기시간은 2-5분입니다. 대기 중인 플레이어 목록은 2초마다 자동으로 갱신됩니다.
+                      평균 대기시간은 2-5분입니다. 대기 중인 플레이어 목록은 실시간으로 갱신됩니다.
                     </p>
                   </div>
                 </div>
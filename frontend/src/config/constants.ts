@@ -11,6 +11,13 @@ export const API_ENDPOINTS = {
   // 매칭
   MATCH_START: `${BACKEND_URL}/api/match/start`,
   MATCH_STATUS: (gameId: number) => `${BACKEND_URL}/api/match/status/${gameId}`,
+  MATCH_STREAM: (gameId: number) => `${BACKEND_URL}/api/match/stream/${gameId}`,
   MATCH_STOP: `${BACKEND_URL}/api/match/stop`,
   MATCH_PARTY: `${BACKEND_URL}/api/match/party`,
+  MATCH_PARTY_STATUS: (partyId: string) => `${BACKEND_URL}/api/match/party/${partyId}`,
+
+  // 게임
+  GAME_SUGGEST: (q: string, limit = 8) =>
+    `${BACKEND_URL}/api/games/suggest?q=${encodeURIComponent(q)}&limit=${limit}`,
+  GAME_META: (gameId: number) => `${BACKEND_URL}/api/games/${gameId}/meta`,
 } as const;
@@ -1,6 +1,6 @@
 import { useState, useEffect, useRef, useCallback } from "react";
-import { startMatching, getMatchStatus, stopMatching } from "@/api/match";
-import type { WaitingUser } from "@/types";
+import { startMatching, getMatchStatusChanges, stopMatching, subscribeMatchStatus } from "@/api/match";
+import type { QueueDelta, StatusDelta, WaitingUser } from "@/types";
 
 export type MatchType = "join" | "create" | "";
 
@@ -19,6 +19,13 @@ export interface MatchingState {
   error: string | null;
 }
 
+function applyStatusDelta(prev: WaitingUser[], delta: StatusDelta): WaitingUser[] {
+  const joined = delta.join.map(([username, displayName]) => ({ username, displayName }));
+  if (delta.reset) return joined;
+  const gone = new Set([...delta.leave, ...joined.map((u) => u.username)]);
+  return [...prev.filter((u) => !u.username || !gone.has(u.username)), ...joined];
+}
+
 export function useMatching() {
   // 폼 입력 상태
   const [selectedGame, setSelectedGame] = useState("");
@@ -34,42 +41,80 @@ export function useMatching() {
   const [error, setError] = useState<string | null>(null);
 
   const pollIntervalRef = useRef<NodeJS.Timeout | null>(null);
+  const streamRef = useRef<EventSource | null>(null);
 
-  // 폴링 시작
+  // 폴링 시작 (SSE 연결이 불가능할 때의 대체 경로)
   const startPolling = useCallback((gameId: number) => {
     // 기존 폴링 정리
     if (pollIntervalRef.current) {
       clearInterval(pollIntervalRef.current);
     }
 
-    // 즉시 한 번 조회
-    getMatchStatus(gameId)
-      .then((users) => {
-        setWaitingUsers(users);
-      })
-      .catch((e) => {
-        console.error("매칭 상태 조회 실패:", e);
-      });
-
-    // 5초마다 폴링
-    pollIntervalRef.current = setInterval(async () => {
+    // 처음(since=0)에는 전체 목록, 이후에는 마지막으로 받은 버전 이후 변경분만
+    let version = 0;
+    const poll = async () => {
       try {
-        const users = await getMatchStatus(gameId);
-        setWaitingUsers(users);
+        const delta = await getMatchStatusChanges(gameId, version);
+        if (!delta) return;
+        version = delta.v;
+        setWaitingUsers((prev) => applyStatusDelta(prev, delta));
       } catch (e) {
         console.error("매칭 상태 조회 실패:", e);
       }
-    }, 2000);
+    };
+
+    // 즉시 한 번 조회 후 2초마다 폴링
+    poll();
+    pollIntervalRef.current = setInterval(poll, 2000);
   }, []);
 
-  // 폴링 정리
+  // 폴링/스트림 정리
   const stopPolling = useCallback(() => {
     if (pollIntervalRef.current) {
       clearInterval(pollIntervalRef.current);
       pollIntervalRef.current = null;
     }
+    if (streamRef.current) {
+      streamRef.current.close();
+      streamRef.current = null;
+    }
   }, []);
 
+  // SSE 구독 시작. 서버가 연결을 닫으면(느린 클라이언트 등) 브라우저가 재접속하며 스냅샷을 다시 받는다.
+  const startStream = useCallback(
+    (gameId: number) => {
+      stopPolling();
+
+      if (typeof EventSource === "undefined") {
+        startPolling(gameId);
+        return;
+      }
+
+      const applyDelta = (delta: QueueDelta) => {
+        setWaitingUsers((prev) => {
+          const rest = prev.filter((u) => u.username !== delta.username);
+          return delta.type === "join"
+            ? [...rest, { username: delta.username, displayName: delta.displayName }]
+            : rest;
+        });
+      };
+
+      const source = subscribeMatchStatus(gameId, {
+        onSnapshot: (users) => setWaitingUsers(users),
+        onDelta: applyDelta,
+        onError: () => {
+          // 재접속도 포기한 상태(CLOSED)면 폴링으로 전환
+          if (source.readyState === EventSource.CLOSED) {
+            streamRef.current = null;
+            startPolling(gameId);
+          }
+        },
+      });
+      streamRef.current = source;
+    },
+    [startPolling, stopPolling]
+  );
+
   // 매칭 시작
   const handleStartMatching = useCallback(async () => {
     // 유효성 검사 - 게임만 선택하면 됨
@@ -93,15 +138,15 @@ export function useMatching() {
       setMatchedGameName(data.gameName);
       setMatchedGameId(data.gameId);
 
-      // 폴링 시작
-      startPolling(data.gameId);
+      // 실시간 구독 시작
+      startStream(data.gameId);
     } catch (err) {
       const errorMessage = err instanceof Error ? err.message : "매칭 시작 실패";
       setError(errorMessage);
       setIsMatching(false);
       alert(errorMessage);
     }
-  }, [selectedGame, startPolling]);
+  }, [selectedGame, startStream]);
 
   // 매칭 취소
   const handleCancelMatching = useCallback(async () => {
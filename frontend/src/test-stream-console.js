@@ -0,0 +1,34 @@
+/**
+ * 대기열 SSE 스트림(/api/match/stream/{gameId}) 확인용 콘솔 하네스
+ *
+ * 사용법:
+ * 1. 로그인한 상태에서 개발자 도구(F12) 열기
+ * 2. Console 탭에서 아래 코드를 붙여넣고 Enter
+ * 3. 다른 브라우저/계정으로 같은 게임 매칭을 시작/취소하면 join/leave 이벤트가 찍힘
+ *
+ * 구독 종료: window.__gamePotStream.close()
+ */
+
+(function watchStream(gameId = 1) {
+  const BACKEND_URL = "https://gamepot.azurewebsites.net";
+  const startedAt = Date.now();
+  const elapsed = () => `${((Date.now() - startedAt) / 1000).toFixed(1)}s`;
+
+  const source = new EventSource(`${BACKEND_URL}/api/match/stream/${gameId}`, { withCredentials: true });
+  window.__gamePotStream = source;
+
+  source.onopen = () => console.log(`[${elapsed()}] ✅ 스트림 연결됨 (gameId: ${gameId})`);
+
+  source.addEventListener("snapshot", (e) => {
+    const users = JSON.parse(e.data);
+    console.log(`[${elapsed()}] 📋 snapshot: ${users.length}명`, users);
+  });
+  source.addEventListener("join", (e) => console.log(`[${elapsed()}] ➕ join`, JSON.parse(e.data)));
+  source.addEventListener("leave", (e) => console.log(`[${elapsed()}] ➖ leave`, JSON.parse(e.data)));
+  source.addEventListener("expire", (e) => console.log(`[${elapsed()}] ⏰ expire`, JSON.parse(e.data)));
+
+  source.onerror = () => {
+    const state = ["CONNECTING", "OPEN", "CLOSED"][source.readyState];
+    console.warn(`[${elapsed()}] ⚠️ 스트림 오류 (상태: ${state}) - 브라우저가 자동 재접속을 시도합니다`);
+  };
+})();
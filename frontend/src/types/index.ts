@@ -13,6 +13,66 @@ export interface GameMatchStartResponse {
     status: string;
 }
 
+// 매칭 시작 시 선택 조건 (비우면 상관없음)
+export interface MatchOptions {
+    rank?: number;       // 랭크 구간 0~20
+    region?: string;     // 서버 지역 (예: "kr")
+    language?: string;   // 음성 채팅 언어 (예: "ko")
+    partySize?: number;  // 희망 파티 인원 2~10
+}
+
 export interface WaitingUser {
+    username?: string;
     displayName: string;
-}
\ No newline at end of file
+}
+
+// GET /api/match/status/{gameId}?since= 응답. 유저 1명 = [username, displayName, avatarUrl]
+// reset이면 join이 대기열 전체 (목록을 통째로 교체)
+export interface StatusDelta {
+    v: number;
+    reset: boolean;
+    total: number;
+    join: [string, string, string | null][];
+    leave: string[];
+}
+
+// SSE(/api/match/stream) join/leave/expire 이벤트
+export interface QueueDelta {
+    type: "join" | "leave" | "matched" | "expire";
+    gameId: number;
+    username: string;
+    displayName: string;
+    avatarUrl?: string;
+}
+
+// 게임 이름 자동완성 결과
+export interface GameSuggestion {
+    steamAppId: number;
+    gameId: number | null;
+    name: string;
+    score: number;
+    waiting: number;
+}
+
+// 대기열 화면용 게임 정보 (ready=false면 서버가 아직 가져오는 중)
+export interface GameMeta {
+    gameId: number;
+    steamAppId: number;
+    name: string;
+    headerImage: string | null;
+    genres: string[];
+    maxPartySize: number | null;
+    partySize: number;
+    ready: boolean;
+}
+
+// 파티 생성 요청 상태 (POST /api/match/party 는 202 + 이 형태를 바로 돌려줌)
+export interface PartyStatus {
+    partyId: string;
+    gameId: number;
+    status: "PENDING" | "SENT" | "FAILED";
+    usernames: string[];
+    attempts: number;
+    botResponse?: { inviteLink?: string } | null;
+    error?: string | null;
+}